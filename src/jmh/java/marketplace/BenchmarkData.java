@@ -0,0 +1,46 @@
+package marketplace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.bson.types.ObjectId;
+
+/**
+ * Data sintetis yang dipakai bersama oleh benchmark. Seed tetap supaya hasil
+ * antar-rilis bisa dibandingkan.
+ */
+final class BenchmarkData {
+    private static final String[] SKILLS = {
+        "Java", "Python", "UI/UX Design", "Data Science", "Android", "Go", "React", "DevOps"
+    };
+    private static final String[] COMPANIES = {
+        "PT Maju Jaya", "CV Sentosa", "Startup Digital", "Toko Online", "Bank Nusantara"
+    };
+
+    private BenchmarkData() {
+    }
+
+    static List<Freelancer> freelancers(int count) {
+        Random random = new Random(42);
+        List<Freelancer> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new Freelancer(new ObjectId(), "Freelancer " + i,
+                    SKILLS[random.nextInt(SKILLS.length)],
+                    50_000 + random.nextInt(200_000), 1 + random.nextInt(40) / 10.0));
+        }
+        return result;
+    }
+
+    static List<Project> projects(int count) {
+        Random random = new Random(42);
+        List<Project> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new Project(new ObjectId(), "Proyek " + i,
+                    "Butuh bantuan " + SKILLS[random.nextInt(SKILLS.length)] + " untuk sistem internal",
+                    1_000_000 + random.nextInt(50_000_000),
+                    COMPANIES[random.nextInt(COMPANIES.length)]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+package marketplace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * CRUD end-to-end lewat interface MarketplaceRepository, sama seperti yang dipakai GUI.
+ * Server MongoDB tidak tersedia saat benchmark, jadi yang diukur adalah engine lokal
+ * in-process: "memory" (MemoryTable) dan "file" (EmbeddedStore).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrudBenchmark {
+    private static final int PRELOADED = 10_000;
+
+    @Param({"memory", "file"})
+    public String store;
+
+    private Path directory;
+    private MarketplaceRepository repository;
+    private List<Freelancer> existing;
+    private int cursor;
+
+    @Setup
+    public void setup() throws IOException {
+        if (store.equals("file")) {
+            directory = Files.createTempDirectory("marketplace-bench");
+            repository = LocalRepository.embedded(directory.resolve("bench.db"));
+        } else {
+            repository = LocalRepository.inMemory();
+        }
+        existing = new ArrayList<>(BenchmarkData.freelancers(PRELOADED));
+        repository.insertFreelancerBatch(existing);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        repository.close();
+        if (directory != null) {
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private Freelancer next() {
+        Freelancer freelancer = existing.get(cursor);
+        cursor = (cursor + 1) % existing.size();
+        return freelancer;
+    }
+
+    @Benchmark
+    public Freelancer findById() {
+        return repository.findFreelancerById(next().getId());
+    }
+
+    @Benchmark
+    public Freelancer update() {
+        int index = cursor;
+        Freelancer freelancer = next();
+        Freelancer updated = repository.updateFreelancer(freelancer, freelancer.getName(), freelancer.getSkill(),
+                freelancer.getRatePerHour() + 1, freelancer.getRating());
+        // Versi baru dipakai untuk update berikutnya agar tidak dianggap konflik
+        existing.set(index, updated);
+        return updated;
+    }
+
+    @Benchmark
+    public boolean insertFindDelete() {
+        Freelancer inserted = repository.insertFreelancer(
+                new Freelancer("Benchmark", "Java", 100_000, 4.5));
+        repository.findFreelancerById(inserted.getId());
+        return repository.deleteFreelancer(inserted.getId());
+    }
+
+    @Benchmark
+    public List<Freelancer> firstPage() {
+        return repository.freelancerPages(new FreelancerFilter(null, null, null, null)).fetchPage(0, 100, null);
+    }
+}
@@ -0,0 +1,119 @@
+package marketplace;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Membandingkan decode hasil query lewat Document perantara (cara lama di
+ * DatabaseManager) dengan decode langsung oleh FreelancerCodec/ProjectCodec.
+ * Input berupa byte BSON mentah, sama seperti yang diterima driver dari server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private final DecoderContext decoderContext = DecoderContext.builder().build();
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private final FreelancerCodec freelancerCodec = new FreelancerCodec();
+    private final ProjectCodec projectCodec = new ProjectCodec();
+
+    private List<byte[]> freelancerBytes;
+    private List<byte[]> projectBytes;
+
+    @Setup
+    public void setup() {
+        freelancerBytes = encodeAll(BenchmarkData.freelancers(size), freelancerCodec);
+        projectBytes = encodeAll(BenchmarkData.projects(size), projectCodec);
+    }
+
+    private static <T> List<byte[]> encodeAll(List<T> rows, Codec<T> codec) {
+        List<byte[]> result = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            BasicOutputBuffer buffer = new BasicOutputBuffer();
+            try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+                codec.encode(writer, row, EncoderContext.builder().build());
+            }
+            result.add(buffer.toByteArray());
+        }
+        return result;
+    }
+
+    private static BsonBinaryReader reader(byte[] bytes) {
+        return new BsonBinaryReader(ByteBuffer.wrap(bytes));
+    }
+
+    @Benchmark
+    public List<Freelancer> freelancerViaDocument() {
+        List<Freelancer> result = new ArrayList<>(size);
+        for (byte[] bytes : freelancerBytes) {
+            try (BsonBinaryReader reader = reader(bytes)) {
+                Document doc = documentCodec.decode(reader, decoderContext);
+                result.add(new Freelancer(
+                        doc.getObjectId("_id"),
+                        doc.getString("name"),
+                        doc.getString("skill"),
+                        doc.getDouble("ratePerHour"),
+                        doc.getDouble("rating")));
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Freelancer> freelancerViaCodec() {
+        List<Freelancer> result = new ArrayList<>(size);
+        for (byte[] bytes : freelancerBytes) {
+            try (BsonBinaryReader reader = reader(bytes)) {
+                result.add(freelancerCodec.decode(reader, decoderContext));
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Project> projectViaDocument() {
+        List<Project> result = new ArrayList<>(size);
+        for (byte[] bytes : projectBytes) {
+            try (BsonBinaryReader reader = reader(bytes)) {
+                Document doc = documentCodec.decode(reader, decoderContext);
+                result.add(new Project(
+                        doc.getObjectId("_id"),
+                        doc.getString("title"),
+                        doc.getString("description"),
+                        doc.getDouble("budget"),
+                        doc.getString("companyName")));
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Project> projectViaCodec() {
+        List<Project> result = new ArrayList<>(size);
+        for (byte[] bytes : projectBytes) {
+            try (BsonBinaryReader reader = reader(bytes)) {
+                result.add(projectCodec.decode(reader, decoderContext));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+package marketplace;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.DefaultListModel;
+import javax.swing.JList;
+import javax.swing.SwingUtilities;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Membandingkan refreshFreelancers() versi lama (kosongkan DefaultListModel lalu
+ * addElement satu per satu) dengan PagedListModel: reload yang hanya memuat
+ * halaman pertama, serta update delta satu baris.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ListModelBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Freelancer> rows;
+    private DefaultListModel<Freelancer> defaultModel;
+    private PagedListModel<Freelancer> pagedModel;
+    private int replaceIndex;
+
+    @Setup
+    public void setup() throws Exception {
+        rows = BenchmarkData.freelancers(size);
+
+        // JList dipasang supaya listener UI ikut menerima event seperti di aplikasi
+        defaultModel = new DefaultListModel<>();
+        new JList<>(defaultModel);
+
+        pagedModel = new PagedListModel<>(new ListPageSource<>(rows), PAGE_SIZE, 20,
+                Runnable::run, Freelancer::getId);
+        new JList<>(pagedModel);
+        loadFirstPage();
+    }
+
+    private void loadFirstPage() throws Exception {
+        pagedModel.reload().join();
+        SwingUtilities.invokeAndWait(() -> pagedModel.getElementAt(0));
+        // Hasil fetch dikirim lewat invokeLater, tunggu sampai selesai diproses
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+
+    @Benchmark
+    public int defaultListModelRebuild() {
+        defaultModel.clear();
+        for (Freelancer freelancer : rows) {
+            defaultModel.addElement(freelancer);
+        }
+        return defaultModel.getSize();
+    }
+
+    @Benchmark
+    public int pagedListModelReload() throws Exception {
+        loadFirstPage();
+        return pagedModel.getSize();
+    }
+
+    @Benchmark
+    public boolean pagedListModelReplace() throws Exception {
+        Freelancer current = rows.get(replaceIndex);
+        replaceIndex = (replaceIndex + 1) % Math.min(PAGE_SIZE, size);
+        Freelancer updated = new Freelancer(current.getId(), current.getName(), current.getSkill(),
+                current.getRatePerHour() + 1, current.getRating());
+        boolean[] replaced = new boolean[1];
+        SwingUtilities.invokeAndWait(() -> replaced[0] = pagedModel.replace(updated));
+        return replaced[0];
+    }
+}
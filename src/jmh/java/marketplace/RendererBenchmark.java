@@ -0,0 +1,76 @@
+package marketplace;
+
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JList;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Throughput getListCellRendererComponent untuk FreelancerRenderer dan
+ * ProjectRenderer (dan satu kali paint), dipanggil untuk baris berbeda seperti saat JList di-scroll.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RendererBenchmark {
+    private static final int ROWS = 1024;
+
+    private List<Freelancer> freelancers;
+    private List<Project> projects;
+    private JList<Freelancer> freelancerList;
+    private JList<Project> projectList;
+    private FreelancerRenderer freelancerRenderer;
+    private ProjectRenderer projectRenderer;
+    private BufferedImage canvas;
+    private Graphics2D graphics;
+    private int index;
+
+    @Setup
+    public void setup() {
+        freelancers = BenchmarkData.freelancers(ROWS);
+        projects = BenchmarkData.projects(ROWS);
+        freelancerList = new JList<>();
+        projectList = new JList<>();
+        freelancerRenderer = new FreelancerRenderer();
+        projectRenderer = new ProjectRenderer();
+        canvas = new BufferedImage(400, 60, BufferedImage.TYPE_INT_RGB);
+        graphics = canvas.createGraphics();
+        freelancerRenderer.setSize(400, freelancerRenderer.getPreferredSize().height);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public Component freelancerRenderer() {
+        int i = index++ & (ROWS - 1);
+        return freelancerRenderer.getListCellRendererComponent(
+                freelancerList, freelancers.get(i), i, (i & 7) == 0, false);
+    }
+
+    @Benchmark
+    public Component projectRenderer() {
+        int i = index++ & (ROWS - 1);
+        return projectRenderer.getListCellRendererComponent(
+                projectList, projects.get(i), i, (i & 7) == 0, false);
+    }
+
+    @Benchmark
+    public BufferedImage freelancerPaint() {
+        int i = index++ & (ROWS - 1);
+        freelancerRenderer.getListCellRendererComponent(
+                freelancerList, freelancers.get(i), i, (i & 7) == 0, false);
+        freelancerRenderer.paint(graphics);
+        return canvas;
+    }
+}
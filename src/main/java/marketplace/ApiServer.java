@@ -0,0 +1,519 @@
+package marketplace;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonParseException;
+import org.bson.json.JsonWriterSettings;
+import org.bson.types.ObjectId;
+
+/**
+ * Mode tanpa GUI: data marketplace disajikan sebagai JSON lewat HttpServer bawaan JDK.
+ * Setiap request dijalankan di virtual thread sendiri, sehingga ribuan request yang
+ * menunggu MongoDB tidak menghabiskan thread platform. Engine penyimpanan dipilih
+ * dengan cara yang sama seperti GUI (lihat Repositories).
+ *
+ * Endpoint (sama untuk /projects):
+ * - GET    /freelancers?q=&amp;minRate=&amp;maxRate=&amp;minRating=&amp;sort=rating:desc,name&amp;limit=&amp;after=
+ *          satu halaman {"items": [...], "next": id}; "next" dipakai sebagai after untuk halaman berikutnya
+ * - GET    /freelancers/stream?...  semua hasil sebagai JSON-lines, dikirim bertahap
+ * - GET    /freelancers/count?...   {"count": n}
+ * - GET    /freelancers/{id}
+ * - POST   /freelancers             membuat baru, 201
+ * - PUT    /freelancers/{id}        mengubah field yang dikirim; "version" opsional untuk cek konflik (409)
+ * - DELETE /freelancers/{id}        204
+ * - GET    /stats, GET /metrics
+ *
+ * Dijalankan dengan: java -cp ... marketplace.ApiServer
+ * (port -Dmarketplace.api.port, default 8080).
+ */
+public final class ApiServer {
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+    private static final int STREAM_PAGE_SIZE = 1000;
+    private static final JsonWriterSettings JSON = JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+
+    private final MarketplaceRepository repository;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ApiServer(MarketplaceRepository repository, InetSocketAddress address, int backlog) throws IOException {
+        this.repository = repository;
+        this.server = HttpServer.create(address, backlog);
+        server.setExecutor(executor);
+        Route freelancers = freelancers();
+        Route projects = projects();
+        server.createContext("/freelancers", exchange -> handle(exchange, freelancers));
+        server.createContext("/projects", exchange -> handle(exchange, projects));
+        server.createContext("/stats", exchange -> handle(exchange, this::stats));
+        server.createContext("/metrics", exchange -> handle(exchange, this::metrics));
+    }
+
+    public static void main(String[] args) throws IOException {
+        Metrics.start();
+        MarketplaceRepository repository = Repositories.open();
+        if (!repository.isAvailable()) {
+            System.err.println("Engine penyimpanan belum dikonfigurasi (lihat marketplace.mongo.uri atau -Dmarketplace.store).");
+            System.exit(1);
+        }
+
+        int port = Integer.getInteger("marketplace.api.port", 8080);
+        int backlog = Integer.getInteger("marketplace.api.backlog", 1024);
+        ApiServer api = new ApiServer(repository, new InetSocketAddress(port), backlog);
+        Runtime.getRuntime().addShutdownHook(new Thread(api::stop, "api-shutdown"));
+        api.start();
+        System.err.println("API marketplace berjalan di port " + api.getPort());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Berhenti menerima koneksi, menunggu request yang berjalan (paling lama 5 detik), lalu menutup repository.
+     */
+    public void stop() {
+        server.stop(5);
+        executor.shutdown();
+        repository.close();
+    }
+
+    // --- Routing ---
+
+    /**
+     * Handler yang menghasilkan status dan isi respons; pengecualian diubah menjadi status error.
+     */
+    private interface Route {
+        void serve(HttpExchange exchange) throws IOException;
+    }
+
+    private static void handle(HttpExchange exchange, Route route) throws IOException {
+        String name = "http." + exchange.getRequestMethod() + " " + exchange.getHttpContext().getPath();
+        long start = System.nanoTime();
+        try (exchange) {
+            try {
+                route.serve(exchange);
+            } catch (ApiException e) {
+                if (e.allow != null) {
+                    exchange.getResponseHeaders().set("Allow", e.allow);
+                }
+                sendError(exchange, e.status, e.getMessage(), null);
+            } catch (IllegalArgumentException | JsonParseException e) {
+                sendError(exchange, 400, e.getMessage(), null);
+            } catch (ConcurrentUpdateException e) {
+                sendError(exchange, 409, e.getMessage(), e.getCurrent());
+            } catch (RuntimeException e) {
+                System.err.println("Request " + exchange.getRequestURI() + " gagal: " + e);
+                sendError(exchange, 500, e.getMessage(), null);
+            }
+        } finally {
+            Metrics.latency(name).record(System.nanoTime() - start);
+            Metrics.counter("http.status." + exchange.getResponseCode()).increment();
+        }
+    }
+
+    /**
+     * Error dengan status HTTP tertentu; allow diisi untuk 405.
+     */
+    private static final class ApiException extends RuntimeException {
+        final int status;
+        final String allow;
+
+        ApiException(int status, String message) {
+            this(status, message, null);
+        }
+
+        ApiException(int status, String message, String allow) {
+            super(message);
+            this.status = status;
+            this.allow = allow;
+        }
+    }
+
+    private void stats(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "GET");
+        MarketplaceStats.Freelancers freelancers = repository.freelancerStatistics();
+        MarketplaceStats.Projects projects = repository.projectStatistics();
+
+        Document skills = new Document();
+        for (MarketplaceStats.SkillGroup group : freelancers.getSkills()) {
+            skills.append(String.valueOf(group.getSkill()), new Document("count", group.getCount())
+                    .append("averageRate", group.getAverageRate())
+                    .append("averageRating", group.getAverageRating()));
+        }
+        Document companies = new Document();
+        for (MarketplaceStats.CompanyGroup group : projects.getCompanies()) {
+            companies.append(String.valueOf(group.getCompany()), new Document("count", group.getCount())
+                    .append("totalBudget", group.getTotalBudget())
+                    .append("medianBudget", group.getMedianBudget()));
+        }
+        sendJson(exchange, 200, new Document("freelancers", freelancers.getCount())
+                .append("projects", projects.getCount())
+                .append("skills", skills)
+                .append("companies", companies)
+                .append("rates", buckets(freelancers.getRateDistribution()))
+                .append("budgets", buckets(projects.getBudgetDistribution())));
+    }
+
+    private static List<Document> buckets(List<MarketplaceStats.Bucket> buckets) {
+        return buckets.stream()
+                .map(bucket -> new Document("from", bucket.getLower())
+                        .append("to", Double.isInfinite(bucket.getUpper()) ? null : bucket.getUpper())
+                        .append("count", bucket.getCount()))
+                .toList();
+    }
+
+    private void metrics(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "GET");
+        send(exchange, 200, "text/plain; charset=utf-8", Metrics.report().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // --- Resource freelancer/proyek ---
+
+    /**
+     * Operasi satu koleksi, agar handler freelancer dan proyek memakai kode yang sama.
+     */
+    private static final class Resource<T> {
+        Function<Map<String, String>, PageSource<T>> pages;
+        Function<ObjectId, T> find;
+        Function<Document, T> parse;
+        Function<T, T> insert;
+        BiFunction<T, Document, T> update;
+        Function<ObjectId, Boolean> delete;
+        Function<T, ObjectId> idOf;
+        Function<T, Document> toJson;
+    }
+
+    private Route freelancers() {
+        Resource<Freelancer> resource = new Resource<>();
+        resource.pages = query -> repository.freelancerPages(
+                new FreelancerFilter(query.get("q"), number(query, "minRate"), number(query, "maxRate"),
+                        number(query, "minRating")),
+                sortSpec(query.get("sort"), SortSpec.FREELANCER_FIELDS));
+        resource.find = repository::findFreelancerById;
+        resource.parse = BulkTransfer::toFreelancer;
+        resource.insert = repository::insertFreelancer;
+        resource.update = (before, body) -> repository.updateFreelancer(
+                before.withVersion(version(body, before.getVersion()), before.getUpdatedAt()),
+                text(body, "name", before.getName()), text(body, "skill", before.getSkill()),
+                number(body, "ratePerHour", before.getRatePerHour()), number(body, "rating", before.getRating()));
+        resource.delete = repository::deleteFreelancer;
+        resource.idOf = Freelancer::getId;
+        resource.toJson = ApiServer::freelancerJson;
+        return exchange -> serve(exchange, resource);
+    }
+
+    private Route projects() {
+        Resource<Project> resource = new Resource<>();
+        resource.pages = query -> repository.projectPages(
+                new ProjectFilter(query.get("q"), number(query, "minBudget"), number(query, "maxBudget")),
+                sortSpec(query.get("sort"), SortSpec.PROJECT_FIELDS));
+        resource.find = repository::findProjectById;
+        resource.parse = BulkTransfer::toProject;
+        resource.insert = repository::insertProject;
+        resource.update = (before, body) -> repository.updateProject(
+                before.withVersion(version(body, before.getVersion()), before.getUpdatedAt()),
+                text(body, "title", before.getTitle()), text(body, "companyName", before.getCompanyName()),
+                text(body, "description", before.getDescription()), number(body, "budget", before.getBudget()));
+        resource.delete = repository::deleteProject;
+        resource.idOf = Project::getId;
+        resource.toJson = ApiServer::projectJson;
+        return exchange -> serve(exchange, resource);
+    }
+
+    private static <T> void serve(HttpExchange exchange, Resource<T> resource) throws IOException {
+        String context = exchange.getHttpContext().getPath();
+        String rest = exchange.getRequestURI().getPath().substring(context.length());
+        if (rest.startsWith("/")) {
+            rest = rest.substring(1);
+        }
+        String method = exchange.getRequestMethod();
+
+        if (rest.isEmpty()) {
+            switch (method) {
+                case "GET" -> listPage(exchange, resource);
+                case "POST" -> {
+                    T created = resource.insert.apply(resource.parse.apply(readBody(exchange)));
+                    exchange.getResponseHeaders().set("Location", context + "/" + resource.idOf.apply(created));
+                    sendJson(exchange, 201, resource.toJson.apply(created));
+                }
+                default -> throw methodNotAllowed("GET, POST");
+            }
+            return;
+        }
+        if (rest.equals("stream")) {
+            requireMethod(exchange, "GET");
+            stream(exchange, resource);
+            return;
+        }
+        if (rest.equals("count")) {
+            requireMethod(exchange, "GET");
+            int count = resource.pages.apply(query(exchange)).count();
+            sendJson(exchange, 200, new Document("count", count));
+            return;
+        }
+
+        ObjectId id = parseId(rest);
+        switch (method) {
+            case "GET" -> sendJson(exchange, 200, resource.toJson.apply(require(resource.find.apply(id))));
+            case "PUT", "PATCH" -> {
+                Document body = readBody(exchange);
+                T before = require(resource.find.apply(id));
+                T updated;
+                try {
+                    updated = resource.update.apply(before, body);
+                } catch (ConcurrentUpdateException e) {
+                    if (body.containsKey("version")) {
+                        throw e;
+                    }
+                    // Tanpa "version" klien tidak meminta cek konflik: ulangi sekali atas versi terbaru
+                    updated = resource.update.apply(ApiServer.<T>currentOf(e), body);
+                }
+                sendJson(exchange, 200, resource.toJson.apply(require(updated)));
+            }
+            case "DELETE" -> {
+                if (!resource.delete.apply(id)) {
+                    throw new ApiException(404, "Tidak ditemukan");
+                }
+                send(exchange, 204, null, null);
+            }
+            default -> throw methodNotAllowed("GET, PUT, PATCH, DELETE");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T currentOf(ConcurrentUpdateException e) {
+        return (T) e.getCurrent();
+    }
+
+    /**
+     * Satu halaman hasil. Dengan after=id, halaman diambil dengan range query setelah baris
+     * tersebut (tanpa skip), jadi halaman yang jauh tetap sama cepatnya.
+     */
+    private static <T> void listPage(HttpExchange exchange, Resource<T> resource) throws IOException {
+        Map<String, String> query = query(exchange);
+        int limit = Math.min(MAX_LIMIT, Math.max(1, integer(query, "limit", DEFAULT_LIMIT)));
+        T previous = null;
+        if (query.get("after") != null) {
+            previous = resource.find.apply(parseId(query.get("after")));
+            if (previous == null) {
+                throw new ApiException(400, "Baris 'after' sudah tidak ada; mulai lagi dari halaman pertama");
+            }
+        }
+        int offset = previous == null ? integer(query, "offset", 0) : 0;
+
+        List<T> rows = resource.pages.apply(query).fetchPage(offset, limit, previous);
+        List<Document> items = rows.stream().map(resource.toJson).toList();
+        Object next = rows.size() == limit ? resource.idOf.apply(rows.get(rows.size() - 1)).toHexString() : null;
+        sendJson(exchange, 200, new Document("items", items).append("next", next));
+    }
+
+    /**
+     * Seluruh hasil sebagai JSON-lines dengan chunked transfer: dibaca per halaman lewat
+     * range query dan langsung dikirim, jadi memori server hanya sebesar satu halaman.
+     */
+    private static <T> void stream(HttpExchange exchange, Resource<T> resource) throws IOException {
+        PageSource<T> source = resource.pages.apply(query(exchange));
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+        T previous = null;
+        List<T> page;
+        do {
+            page = source.fetchPage(0, STREAM_PAGE_SIZE, previous);
+            for (T row : page) {
+                writer.write(resource.toJson.apply(row).toJson(JSON));
+                writer.write('\n');
+            }
+            writer.flush();
+            previous = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == STREAM_PAGE_SIZE);
+        writer.close();
+    }
+
+    // --- JSON ---
+
+    private static Document freelancerJson(Freelancer freelancer) {
+        return new Document("id", freelancer.getId().toHexString())
+                .append("name", freelancer.getName())
+                .append("skill", freelancer.getSkill())
+                .append("ratePerHour", freelancer.getRatePerHour())
+                .append("rating", freelancer.getRating())
+                .append("version", freelancer.getVersion())
+                .append("updatedAt", freelancer.getUpdatedAt());
+    }
+
+    private static Document projectJson(Project project) {
+        return new Document("id", project.getId().toHexString())
+                .append("title", project.getTitle())
+                .append("description", project.getDescription())
+                .append("budget", project.getBudget())
+                .append("companyName", project.getCompanyName())
+                .append("version", project.getVersion())
+                .append("updatedAt", project.getUpdatedAt());
+    }
+
+    private static Document currentJson(Object current) {
+        return current instanceof Freelancer freelancer ? freelancerJson(freelancer) : projectJson((Project) current);
+    }
+
+    private static Document readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            if (body.isBlank()) {
+                throw new IllegalArgumentException("Isi request kosong");
+            }
+            return Document.parse(body);
+        }
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, Document body) throws IOException {
+        send(exchange, status, "application/json; charset=utf-8", body.toJson(JSON).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message, Object current) {
+        if (exchange.getResponseCode() != -1) {
+            // Header sudah terkirim (misalnya saat streaming); yang bisa dilakukan hanya menutup koneksi
+            return;
+        }
+        Document body = new Document("error", message != null ? message : "Kesalahan server");
+        if (current != null) {
+            body.append("current", currentJson(current));
+        }
+        try {
+            sendJson(exchange, status, body);
+        } catch (IOException e) {
+            // Klien sudah memutus koneksi
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // --- Parameter ---
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> result = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return result;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            if (!value.isBlank()) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Urutan dari parameter seperti "rating:desc,name" (arah default asc).
+     */
+    private static <T> SortSpec<T> sortSpec(String value, List<SortSpec.Field<T>> fields) {
+        SortSpec<T> sort = SortSpec.natural();
+        if (value == null) {
+            return sort;
+        }
+        for (String part : value.split(",")) {
+            String[] pieces = part.trim().split(":");
+            SortSpec.Field<T> field = fields.stream()
+                    .filter(f -> f.getName().equals(pieces[0]))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Tidak bisa mengurutkan berdasarkan '" + pieces[0] + "'"));
+            boolean ascending = pieces.length < 2 || !pieces[1].equalsIgnoreCase("desc");
+            sort = sort.then(field, ascending);
+        }
+        return sort;
+    }
+
+    private static Double number(Map<String, String> query, String key) {
+        String value = query.get(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + key + " harus angka: " + value);
+        }
+    }
+
+    private static int integer(Map<String, String> query, String key, int defaultValue) {
+        Double value = number(query, key);
+        return value != null ? value.intValue() : defaultValue;
+    }
+
+    private static String text(Document body, String field, String current) {
+        return body.containsKey(field) ? BulkTransfer.requireText(body, field) : current;
+    }
+
+    private static double number(Document body, String field, double current) {
+        return body.containsKey(field) ? BulkTransfer.requireNumber(body, field) : current;
+    }
+
+    private static long version(Document body, long current) {
+        return body.containsKey("version") ? (long) BulkTransfer.requireNumber(body, "version") : current;
+    }
+
+    private static ObjectId parseId(String value) {
+        if (!ObjectId.isValid(value)) {
+            throw new ApiException(404, "Tidak ditemukan");
+        }
+        return new ObjectId(value);
+    }
+
+    private static <T> T require(T value) {
+        if (value == null) {
+            throw new ApiException(404, "Tidak ditemukan");
+        }
+        return value;
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) {
+        if (!exchange.getRequestMethod().equals(method)) {
+            throw methodNotAllowed(method);
+        }
+    }
+
+    private static ApiException methodNotAllowed(String allowed) {
+        return new ApiException(405, "Metode tidak didukung (" + allowed + ")", allowed);
+    }
+}
@@ -0,0 +1,80 @@
+package marketplace;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+
+/**
+ * Membaca dan menulis field BSON untuk FreelancerCodec dan ProjectCodec dengan toleran.
+ * Data lama atau hasil impor dari tool lain bisa menyimpan ratePerHour/rating/budget
+ * sebagai Int32, Int64, Double, atau Decimal128, dan bisa tidak punya field string;
+ * field string yang null juga tidak ditulis.
+ */
+final class BsonFields {
+    private BsonFields() {
+    }
+
+    static double readDouble(BsonReader reader) {
+        BsonType type = reader.getCurrentBsonType();
+        switch (type) {
+            case DOUBLE:
+                return reader.readDouble();
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                return reader.readInt64();
+            case DECIMAL128:
+                return reader.readDecimal128().doubleValue();
+            case NULL:
+                reader.readNull();
+                return 0.0;
+            default:
+                reader.skipValue();
+                return 0.0;
+        }
+    }
+
+    static long readLong(BsonReader reader) {
+        BsonType type = reader.getCurrentBsonType();
+        switch (type) {
+            case INT64:
+                return reader.readInt64();
+            case INT32:
+                return reader.readInt32();
+            case DOUBLE:
+                return (long) reader.readDouble();
+            default:
+                reader.skipValue();
+                return 0;
+        }
+    }
+
+    /**
+     * DateTime sebagai epoch milidetik, atau 0 jika field bukan tanggal.
+     */
+    static long readDateTime(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.DATE_TIME) {
+            return reader.readDateTime();
+        }
+        reader.skipValue();
+        return 0;
+    }
+
+    static String readString(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            return reader.readString();
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    /**
+     * Menulis field string, kecuali jika null: field tidak ditulis, sama seperti data lama
+     * yang tidak punya field tersebut (readString membacanya kembali sebagai null).
+     */
+    static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        }
+    }
+}
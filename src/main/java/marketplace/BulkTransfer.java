@@ -0,0 +1,323 @@
+package marketplace;
+
+import com.mongodb.MongoBulkWriteException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+/**
+ * Impor dan ekspor massal freelancer/proyek dalam format CSV atau JSON-lines.
+ *
+ * File dibaca baris per baris dan ditulis ke repository per batch (di MongoDB dengan
+ * insertMany unordered), jadi memori yang dipakai hanya sebesar satu batch berapapun ukuran file.
+ * Ekspor membaca lewat cursor dengan batch size yang sama dan langsung menulis ke file.
+ *
+ * CSV harus memiliki baris header dengan nama field seperti di MongoDB
+ * (misalnya name,skill,ratePerHour,rating). Kolom _id bersifat opsional.
+ * Setiap record harus berada dalam satu baris.
+ */
+public class BulkTransfer {
+    public static final int DEFAULT_BATCH_SIZE = Integer.getInteger("marketplace.import.batchSize", 1000);
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    public enum Format {
+        CSV, JSONL;
+
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase();
+            return name.endsWith(".csv") ? CSV : JSONL;
+        }
+    }
+
+    /**
+     * Ringkasan hasil impor: jumlah baris, yang berhasil disimpan, dan daftar kesalahan.
+     */
+    public static class ImportReport {
+        private long rowsRead = 0;
+        private long inserted = 0;
+        private long rejected = 0;
+        private int batches = 0;
+        private final List<String> errors = new ArrayList<>();
+
+        public long getRowsRead() { return rowsRead; }
+        public long getInserted() { return inserted; }
+        public long getRejected() { return rejected; }
+        public int getBatches() { return batches; }
+        public List<String> getErrors() { return errors; }
+
+        private void addError(String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(message);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d baris dibaca, %d disimpan dalam %d batch, %d ditolak",
+                    rowsRead, inserted, batches, rejected);
+        }
+    }
+
+    // --- Impor ---
+
+    public static ImportReport importFreelancers(FreelancerRepository repository, Path file, int batchSize)
+            throws IOException {
+        return importFile(file, batchSize, BulkTransfer::toFreelancer, repository::insertFreelancerBatch);
+    }
+
+    public static ImportReport importProjects(ProjectRepository repository, Path file, int batchSize)
+            throws IOException {
+        return importFile(file, batchSize, BulkTransfer::toProject, repository::insertProjectBatch);
+    }
+
+    private static <T> ImportReport importFile(Path file, int batchSize, Function<Document, T> parser,
+                                               Function<List<T>, Integer> writer) throws IOException {
+        ImportReport report = new ImportReport();
+        Format format = Format.of(file);
+        List<T> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String[] header = format == Format.CSV ? readHeader(reader) : null;
+            String line;
+            long lineNumber = header == null ? 0 : 1;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.rowsRead++;
+
+                try {
+                    Document row = format == Format.CSV ? parseCsvRow(header, line) : Document.parse(line);
+                    batch.add(parser.apply(row));
+                } catch (RuntimeException e) {
+                    report.addError("Baris " + lineNumber + ": " + e.getMessage());
+                }
+
+                if (batch.size() >= batchSize) {
+                    flush(batch, writer, report);
+                }
+            }
+        }
+
+        flush(batch, writer, report);
+        return report;
+    }
+
+    private static <T> void flush(List<T> batch, Function<List<T>, Integer> writer, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        report.batches++;
+        try {
+            report.inserted += writer.apply(batch);
+        } catch (MongoBulkWriteException e) {
+            // Insert unordered: dokumen lain di batch yang sama tetap tersimpan
+            report.inserted += e.getWriteResult().getInsertedCount();
+            e.getWriteErrors().forEach(error -> report.addError(
+                    "Batch " + report.batches + ", dokumen ke-" + (error.getIndex() + 1) + ": " + error.getMessage()));
+        } catch (RuntimeException e) {
+            report.rejected += batch.size();
+            report.errors.add("Batch " + report.batches + " gagal: " + e.getMessage());
+        }
+        batch.clear();
+    }
+
+    static Freelancer toFreelancer(Document row) {
+        String name = requireText(row, "name");
+        String skill = requireText(row, "skill");
+        double rate = requireNumber(row, "ratePerHour");
+        double rating = requireNumber(row, "rating");
+        ObjectId id = optionalId(row);
+        return id != null
+                ? new Freelancer(id, name, skill, rate, rating)
+                : new Freelancer(name, skill, rate, rating);
+    }
+
+    static Project toProject(Document row) {
+        String title = requireText(row, "title");
+        String company = requireText(row, "companyName");
+        String description = row.get("description") == null ? "" : row.get("description").toString();
+        double budget = requireNumber(row, "budget");
+        ObjectId id = optionalId(row);
+        return id != null
+                ? new Project(id, title, description, budget, company)
+                : new Project(title, description, budget, company);
+    }
+
+    static String requireText(Document row, String field) {
+        Object value = row.get(field);
+        if (value == null || value.toString().isBlank()) {
+            throw new IllegalArgumentException("field '" + field + "' kosong");
+        }
+        return value.toString();
+    }
+
+    static double requireNumber(Document row, String field) {
+        Object value = row.get(field);
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("field '" + field + "' kosong");
+        }
+        try {
+            return Double.parseDouble(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("field '" + field + "' harus angka: " + value);
+        }
+    }
+
+    private static ObjectId optionalId(Document row) {
+        Object value = row.get("_id");
+        if (value instanceof ObjectId id) {
+            return id;
+        }
+        if (value != null && ObjectId.isValid(value.toString())) {
+            return new ObjectId(value.toString());
+        }
+        return null;
+    }
+
+    // --- Ekspor ---
+
+    public static long exportFreelancers(FreelancerRepository repository, Path file, int batchSize)
+            throws IOException {
+        Format format = Format.of(file);
+        String[] fields = {"_id", "name", "skill", "ratePerHour", "rating"};
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (format == Format.CSV) {
+                writeCsvRow(writer, fields);
+            }
+            return repository.forEachFreelancer(batchSize, freelancer -> writeRow(writer, format, fields,
+                    freelancer.getId().toHexString(), freelancer.getName(), freelancer.getSkill(),
+                    freelancer.getRatePerHour(), freelancer.getRating()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public static long exportProjects(ProjectRepository repository, Path file, int batchSize)
+            throws IOException {
+        Format format = Format.of(file);
+        String[] fields = {"_id", "title", "description", "budget", "companyName"};
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (format == Format.CSV) {
+                writeCsvRow(writer, fields);
+            }
+            return repository.forEachProject(batchSize, project -> writeRow(writer, format, fields,
+                    project.getId().toHexString(), project.getTitle(), project.getDescription(),
+                    project.getBudget(), project.getCompanyName()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeRow(BufferedWriter writer, Format format, String[] fields, Object... values) {
+        try {
+            if (format == Format.CSV) {
+                String[] cells = new String[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    // Field yang tidak ada jadi sel kosong, bukan teks "null"
+                    cells[i] = values[i] == null ? "" : String.valueOf(values[i]);
+                }
+                writeCsvRow(writer, cells);
+            } else {
+                Document doc = new Document();
+                for (int i = 0; i < fields.length; i++) {
+                    doc.append(fields[i], values[i]);
+                }
+                writer.write(doc.toJson());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // --- CSV ---
+
+    private static String[] readHeader(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            throw new IOException("File CSV kosong");
+        }
+        List<String> header = splitCsv(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        return header.stream().map(String::trim).toArray(String[]::new);
+    }
+
+    private static Document parseCsvRow(String[] header, String line) {
+        List<String> cells = splitCsv(line);
+        if (cells.size() != header.length) {
+            throw new IllegalArgumentException("jumlah kolom " + cells.size() + ", seharusnya " + header.length);
+        }
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            values.put(header[i], cells.get(i));
+        }
+        return new Document(values);
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private static void writeCsvRow(BufferedWriter writer, String[] cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String cell = cells[i].replace('\n', ' ').replace('\r', ' ');
+            if (cell.indexOf(',') >= 0 || cell.indexOf('"') >= 0) {
+                writer.write('"');
+                writer.write(cell.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(cell);
+            }
+        }
+        writer.newLine();
+    }
+}
@@ -0,0 +1,103 @@
+package marketplace;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.function.Consumer;
+import org.bson.types.ObjectId;
+
+/**
+ * Menampung perubahan dari ChangeFeed dan menyerahkannya ke EDT paling banyak sekali per
+ * frame. Perubahan pada dokumen yang sama dalam satu frame digabung lewat WriteOp.then,
+ * sehingga rentetan update hanya menghasilkan satu perubahan baris.
+ *
+ * Jika yang menumpuk lebih dari maxPending dokumen, detailnya dibuang dan onResync
+ * dipanggil sebagai gantinya; memuat ulang halaman yang tampil lebih murah daripada
+ * menerapkan ribuan perubahan satu per satu.
+ */
+final class ChangeCoalescer<T> implements ChangeFeed.Listener<T> {
+    private final int maxPending;
+    private final Consumer<Collection<WriteOp<T>>> onChanges;
+    private final Runnable onResync;
+    private final Timer timer;
+
+    private LinkedHashMap<ObjectId, WriteOp<T>> pending = new LinkedHashMap<>();
+    private boolean resync = false;
+    private boolean scheduled = false;
+
+    /**
+     * @param onChanges dipanggil di EDT dengan perubahan yang sudah digabung
+     * @param onResync dipanggil di EDT jika perubahan terlewat atau terlalu banyak
+     */
+    ChangeCoalescer(int frameMs, int maxPending, Consumer<Collection<WriteOp<T>>> onChanges, Runnable onResync) {
+        this.maxPending = maxPending;
+        this.onChanges = onChanges;
+        this.onResync = onResync;
+        this.timer = new Timer(frameMs, e -> flush());
+        this.timer.setRepeats(false);
+    }
+
+    @Override
+    public void changed(WriteOp<T> change) {
+        synchronized (this) {
+            if (!resync) {
+                WriteOp<T> previous = pending.get(change.getId());
+                WriteOp<T> merged = previous == null ? change : previous.then(change);
+                if (merged == null) {
+                    pending.remove(change.getId());
+                } else {
+                    pending.put(change.getId(), merged);
+                }
+                if (pending.size() > maxPending) {
+                    pending.clear();
+                    resync = true;
+                }
+            }
+            if (!schedule()) {
+                return;
+            }
+        }
+        SwingUtilities.invokeLater(timer::restart);
+    }
+
+    @Override
+    public void resync() {
+        synchronized (this) {
+            pending.clear();
+            resync = true;
+            if (!schedule()) {
+                return;
+            }
+        }
+        SwingUtilities.invokeLater(timer::restart);
+    }
+
+    /**
+     * true jika frame ini belum dijadwalkan.
+     */
+    private boolean schedule() {
+        if (scheduled) {
+            return false;
+        }
+        scheduled = true;
+        return true;
+    }
+
+    private void flush() {
+        LinkedHashMap<ObjectId, WriteOp<T>> changes;
+        boolean resyncNow;
+        synchronized (this) {
+            changes = pending;
+            resyncNow = resync;
+            pending = new LinkedHashMap<>();
+            resync = false;
+            scheduled = false;
+        }
+        if (resyncNow) {
+            onResync.run();
+        } else if (!changes.isEmpty()) {
+            onChanges.accept(changes.values());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package marketplace;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Meneruskan perubahan dari satu change stream ke semua listener yang berlangganan koleksi
+ * tersebut, sehingga setiap lapisan repository tidak perlu membuka cursor sendiri.
+ *
+ * Error dari satu listener tidak memengaruhi listener lain; listener itu saja yang diminta resync.
+ */
+final class ChangeFanOut<T> implements ChangeFeed.Listener<T> {
+    private final String name;
+    private final List<ChangeFeed.Listener<T>> listeners = new CopyOnWriteArrayList<>();
+
+    ChangeFanOut(String name) {
+        this.name = name;
+    }
+
+    void add(ChangeFeed.Listener<T> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Mengembalikan true jika listener terdaftar dan sekarang tidak ada listener lagi.
+     */
+    boolean remove(ChangeFeed.Listener<T> listener) {
+        return listeners.remove(listener) && listeners.isEmpty();
+    }
+
+    void clear() {
+        listeners.clear();
+    }
+
+    @Override
+    public void changed(WriteOp<T> change) {
+        for (ChangeFeed.Listener<T> listener : listeners) {
+            try {
+                listener.changed(change);
+            } catch (RuntimeException e) {
+                System.err.println("Listener perubahan " + name + " gagal, resync: " + e);
+                resync(listener);
+            }
+        }
+    }
+
+    @Override
+    public void resync() {
+        listeners.forEach(this::resync);
+    }
+
+    private void resync(ChangeFeed.Listener<T> listener) {
+        try {
+            listener.resync();
+        } catch (RuntimeException e) {
+            System.err.println("Resync listener " + name + " gagal: " + e);
+        }
+    }
+}
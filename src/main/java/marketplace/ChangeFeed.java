@@ -0,0 +1,33 @@
+package marketplace;
+
+/**
+ * Langganan perubahan dokumen dari semua klien (lihat MarketplaceRepository.watchChanges).
+ * Setiap perubahan dikirim sebagai WriteOp: INSERT dan UPDATE membawa isi dokumen terbaru,
+ * DELETE hanya id-nya.
+ */
+public interface ChangeFeed extends AutoCloseable {
+    /**
+     * Langganan kosong untuk engine yang tidak punya perubahan dari luar.
+     */
+    ChangeFeed NONE = () -> {
+    };
+
+    /**
+     * Penerima perubahan untuk satu koleksi. Dipanggil dari thread background, berurutan.
+     */
+    interface Listener<T> {
+        void changed(WriteOp<T> change);
+
+        /**
+         * Sebagian perubahan mungkin terlewat (misalnya riwayat di server sudah terhapus
+         * selama koneksi putus), sehingga data yang sedang tampil harus dimuat ulang.
+         */
+        void resync();
+    }
+
+    /**
+     * Berhenti menerima perubahan.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,676 @@
+package marketplace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import org.bson.types.ObjectId;
+
+/**
+ * Salinan kolom angka (rate, rating, budget) semua entity sebagai array double per kolom,
+ * agar filter rentang dan histogram cukup membaca array berurutan, bukan objek satu per satu.
+ *
+ * Baris selalu diurutkan berdasarkan _id, sama dengan urutan asli list, sehingga hasil filter
+ * bisa langsung dipakai untuk paging. Baris yang dihapus tetap ada dengan nilai NaN di setiap
+ * kolom (NaN tidak lolos perbandingan apa pun) dan dipadatkan jika sudah lebih dari separuh.
+ *
+ * Hasil filter berupa bitset nomor baris (Selection). Nomor baris bergeser saat pemadatan atau
+ * saat _id yang lebih kecil dari baris terakhir disisipkan; Selection yang dibuat sebelumnya
+ * kemudian dianggap kedaluwarsa (isCurrent) dan harus dihitung ulang.
+ *
+ * Untuk rentang yang sempit, setiap kolom punya index terurut (nilai sebagai float dan nomor baris
+ * dalam satu long) yang dicari dengan binary search. Index tidak dibangun ulang setiap kali ada
+ * perubahan: baris yang berubah sesudahnya diperiksa satu per satu sampai jumlahnya terlalu banyak.
+ */
+public class ColumnSnapshot<T> {
+    private static final int INITIAL_ROWS = 1024;
+    // Di bawah jumlah baris ini scan seluruh kolom sudah cukup cepat
+    private static final int MIN_SORTED_ROWS = 1 << 16;
+
+    /**
+     * Kolom angka yang disalin dari setiap entity.
+     */
+    public static final class Column<T> {
+        private final String name;
+        private final ToDoubleFunction<T> value;
+
+        private Column(String name, ToDoubleFunction<T> value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        public String getName() { return name; }
+
+        /**
+         * Rentang [min, max] untuk kolom ini; batas yang null tidak dipakai.
+         */
+        public Range<T> between(Double min, Double max) {
+            return new Range<>(this, min == null ? Double.NEGATIVE_INFINITY : min,
+                    max == null ? Double.POSITIVE_INFINITY : max);
+        }
+    }
+
+    public static final Column<Freelancer> FREELANCER_RATE = new Column<>("ratePerHour", Freelancer::getRatePerHour);
+    public static final Column<Freelancer> FREELANCER_RATING = new Column<>("rating", Freelancer::getRating);
+    public static final Column<Project> PROJECT_BUDGET = new Column<>("budget", Project::getBudget);
+
+    /**
+     * Kriteria min <= nilai kolom <= max.
+     */
+    public static final class Range<T> {
+        private final Column<T> column;
+        private final double min;
+        private final double max;
+
+        private Range(Column<T> column, double min, double max) {
+            this.column = column;
+            this.min = min;
+            this.max = max;
+        }
+
+        public boolean isUnbounded() {
+            return min == Double.NEGATIVE_INFINITY && max == Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Nomor baris yang lolos filter, berlaku selama susunan baris belum berubah.
+     */
+    public static final class Selection {
+        private final long[] words;
+        private final int layout;
+        private final int count;
+
+        private Selection(long[] words, int layout) {
+            this.words = words;
+            this.layout = layout;
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            this.count = count;
+        }
+
+        public int count() { return count; }
+
+        public BitSet getRows() {
+            return BitSet.valueOf(words);
+        }
+    }
+
+    private final Function<T, ObjectId> idOf;
+    private final ToLongFunction<T> versionOf;
+    private final List<Column<T>> columns;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ObjectId[] ids = new ObjectId[INITIAL_ROWS];
+    // Baris yang dihapus bernilai null di sini dan NaN di semua kolom
+    private Object[] entities = new Object[INITIAL_ROWS];
+    private final double[][] values;
+    private int rowCount = 0;
+    private int removedCount = 0;
+    // Dinaikkan setiap kali nomor baris bergeser
+    private int layout = 0;
+    private final SortedColumn[] sorted;
+    // Id yang dihapus selama load() berjalan, agar tidak dimasukkan lagi oleh hasil scan yang lebih lama
+    private Set<ObjectId> removedWhileLoading;
+
+    public ColumnSnapshot(Function<T, ObjectId> idOf, ToLongFunction<T> versionOf, List<Column<T>> columns) {
+        this.idOf = idOf;
+        this.versionOf = versionOf;
+        this.columns = List.copyOf(columns);
+        this.values = new double[columns.size()][INITIAL_ROWS];
+        this.sorted = new SortedColumn[columns.size()];
+    }
+
+    public static ColumnSnapshot<Freelancer> freelancers() {
+        return new ColumnSnapshot<>(Freelancer::getId, Freelancer::getVersion,
+                List.of(FREELANCER_RATE, FREELANCER_RATING));
+    }
+
+    public static ColumnSnapshot<Project> projects() {
+        return new ColumnSnapshot<>(Project::getId, Project::getVersion, List.of(PROJECT_BUDGET));
+    }
+
+    /**
+     * Menambah atau mengganti satu entity. Versi yang lebih lama dari isi snapshot diabaikan.
+     */
+    public void upsert(T entity) {
+        lock.writeLock().lock();
+        try {
+            upsertRow(entity);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(ObjectId id) {
+        lock.writeLock().lock();
+        try {
+            int row = Arrays.binarySearch(ids, 0, rowCount, id);
+            if (row >= 0 && entities[row] != null) {
+                entities[row] = null;
+                for (double[] column : values) {
+                    column[row] = Double.NaN;
+                }
+                removedCount++;
+                compactIfNeeded();
+            }
+            if (removedWhileLoading != null) {
+                removedWhileLoading.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            rebuild(List.of());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mengisi snapshot dari scan seluruh koleksi (misalnya forEachFreelancer). Hasil scan
+     * diurutkan di luar lock; upsert/remove dan filter tetap bisa berjalan selama scan.
+     */
+    public void load(Consumer<Consumer<T>> scan) {
+        lock.writeLock().lock();
+        try {
+            removedWhileLoading = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            List<T> loaded = new ArrayList<>();
+            scan.accept(loaded::add);
+            loaded.sort(Comparator.comparing(idOf));
+
+            lock.writeLock().lock();
+            try {
+                rebuild(merge(loaded));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                removedWhileLoading = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Menggabungkan hasil scan (urut _id) dengan baris yang sudah ada; untuk id yang sama
+     * versi terbaru yang dipakai. Harus memegang write lock.
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> merge(List<T> loaded) {
+        List<T> merged = new ArrayList<>(loaded.size() + rowCount - removedCount);
+        int row = 0;
+        for (T entity : loaded) {
+            ObjectId id = idOf.apply(entity);
+            if (removedWhileLoading.contains(id)) {
+                continue;
+            }
+            for (; row < rowCount && ids[row].compareTo(id) < 0; row++) {
+                if (entities[row] != null) {
+                    merged.add((T) entities[row]);
+                }
+            }
+            if (row < rowCount && ids[row].equals(id)) {
+                T existing = (T) entities[row++];
+                if (existing != null && versionOf.applyAsLong(existing) > versionOf.applyAsLong(entity)) {
+                    entity = existing;
+                }
+            }
+            merged.add(entity);
+        }
+        for (; row < rowCount; row++) {
+            if (entities[row] != null) {
+                merged.add((T) entities[row]);
+            }
+        }
+        return merged;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowCount - removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Baris yang memenuhi semua rentang (tanpa rentang: semua baris).
+     */
+    public Selection select(List<Range<T>> ranges) {
+        lock.readLock().lock();
+        try {
+            long[] words = null;
+            for (Range<T> range : ranges) {
+                if (!range.isUnbounded()) {
+                    words = match(range, words);
+                }
+            }
+            if (words == null) {
+                words = new long[wordCount()];
+                for (int row = 0; row < rowCount; row++) {
+                    if (entities[row] != null) {
+                        words[row >>> 6] |= 1L << row;
+                    }
+                }
+            }
+            return new Selection(words, layout);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * false jika nomor baris sudah bergeser sejak selection dibuat.
+     */
+    public boolean isCurrent(Selection selection) {
+        lock.readLock().lock();
+        try {
+            return selection.layout == layout;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Entity dari selection mulai dari posisi ke-offset, urut _id, paling banyak limit.
+     * Mengembalikan null jika selection sudah kedaluwarsa. Baris yang dihapus setelah
+     * selection dibuat dilewati.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> fetch(Selection selection, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            if (selection.layout != layout) {
+                return null;
+            }
+            List<T> result = new ArrayList<>(Math.min(limit, selection.count));
+            long[] words = selection.words;
+            int skip = offset;
+            for (int word = 0; word < words.length && result.size() < limit; word++) {
+                long bits = words[word];
+                int bitCount = Long.bitCount(bits);
+                if (skip >= bitCount) {
+                    skip -= bitCount;
+                    continue;
+                }
+                for (; bits != 0 && result.size() < limit; bits &= bits - 1) {
+                    if (skip > 0) {
+                        skip--;
+                        continue;
+                    }
+                    Object entity = entities[(word << 6) + Long.numberOfTrailingZeros(bits)];
+                    if (entity != null) {
+                        result.add((T) entity);
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Entity dari selection setelah baris previous (cursor seperti range query _id > previous),
+     * paling banyak limit. previous tidak harus masih ada di snapshot. Mengembalikan null jika
+     * selection sudah kedaluwarsa.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> fetchAfter(Selection selection, T previous, int limit) {
+        lock.readLock().lock();
+        try {
+            if (selection.layout != layout) {
+                return null;
+            }
+            int found = Arrays.binarySearch(ids, 0, rowCount, idOf.apply(previous));
+            int start = found >= 0 ? found + 1 : -found - 1;
+            List<T> result = new ArrayList<>(Math.min(limit, selection.count));
+            long[] words = selection.words;
+            for (int word = start >>> 6; word < words.length && result.size() < limit; word++) {
+                long bits = word == start >>> 6 ? words[word] & (-1L << (start & 63)) : words[word];
+                for (; bits != 0 && result.size() < limit; bits &= bits - 1) {
+                    Object entity = entities[(word << 6) + Long.numberOfTrailingZeros(bits)];
+                    if (entity != null) {
+                        result.add((T) entity);
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Jumlah baris per kelompok nilai kolom, dengan batas bawah kelompok seperti di
+     * MarketplaceStats. selection null berarti semua baris. Mengembalikan null jika selection
+     * sudah kedaluwarsa (lihat isCurrent); pemanggil perlu select() ulang.
+     */
+    public List<MarketplaceStats.Bucket> histogram(Column<T> column, double[] boundaries, Selection selection) {
+        // atLeast[i] = jumlah baris dengan nilai >= boundaries[i], dihitung tanpa cabang per baris;
+        // atLeast[0] menghitung semua nilai bukan NaN karena nilai di bawah batas pertama ikut kelompok pertama
+        long[] atLeast = new long[boundaries.length + 1];
+        lock.readLock().lock();
+        try {
+            if (selection != null && selection.layout != layout) {
+                return null;
+            }
+            double[] data = values[indexOf(column)];
+            for (int row = 0; row < rowCount; row++) {
+                if (selection != null && (selection.words[row >>> 6] & (1L << row)) == 0) {
+                    continue;
+                }
+                double value = data[row];
+                atLeast[0] += value == value ? 1 : 0;
+                for (int i = 1; i < boundaries.length; i++) {
+                    atLeast[i] += value >= boundaries[i] ? 1 : 0;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        long[] counts = new long[boundaries.length];
+        for (int i = 0; i < boundaries.length; i++) {
+            counts[i] = atLeast[i] - atLeast[i + 1];
+        }
+        return MarketplaceStats.buckets(boundaries, counts);
+    }
+
+    /**
+     * Bitset baris yang cocok dengan range, dibatasi ke baris di within jika tidak null.
+     * Harus memegang read lock.
+     */
+    private long[] match(Range<T> range, long[] within) {
+        int c = indexOf(range.column);
+        double[] column = values[c];
+        double min = range.min;
+        double max = range.max;
+
+        SortedColumn index = sortedIndex(c);
+        if (index != null) {
+            long[] words = index.match(column, min, max, rowCount);
+            if (words != null) {
+                if (within != null) {
+                    for (int i = 0; i < words.length; i++) {
+                        words[i] &= within[i];
+                    }
+                }
+                return words;
+            }
+        }
+
+        // Scan berurutan tanpa cabang per baris; word yang sudah kosong di within dilewati
+        long[] words = new long[wordCount()];
+        for (int word = 0; word < words.length; word++) {
+            if (within != null && within[word] == 0) {
+                continue;
+            }
+            int base = word << 6;
+            int end = Math.min(64, rowCount - base);
+            long bits = 0;
+            for (int i = 0; i < end; i++) {
+                double value = column[base + i];
+                bits |= (value >= min & value <= max ? 1L : 0L) << i;
+            }
+            words[word] = within == null ? bits : bits & within[word];
+        }
+        return words;
+    }
+
+    /**
+     * Index terurut untuk kolom c, dibangun (ulang) jika belum ada atau terlalu banyak berubah.
+     * null jika kolom terlalu kecil untuk memerlukannya. Harus memegang read lock; beberapa
+     * pembaca bisa membangun bersamaan, hasil terakhir yang dipakai.
+     */
+    private SortedColumn sortedIndex(int c) {
+        if (rowCount < MIN_SORTED_ROWS) {
+            return null;
+        }
+        SortedColumn index = sorted[c];
+        if (index == null || index.isStale(rowCount)) {
+            index = new SortedColumn(values[c], rowCount);
+            sorted[c] = index;
+        }
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void upsertRow(T entity) {
+        ObjectId id = idOf.apply(entity);
+        int row = Arrays.binarySearch(ids, 0, rowCount, id);
+        if (row >= 0) {
+            T existing = (T) entities[row];
+            if (existing != null && versionOf.applyAsLong(existing) > versionOf.applyAsLong(entity)) {
+                return;
+            }
+            if (existing == null) {
+                removedCount--;
+            }
+            setRow(row, entity);
+            for (SortedColumn index : sorted) {
+                if (index != null) {
+                    index.changed(row);
+                }
+            }
+            return;
+        }
+
+        ensureCapacity(rowCount + 1);
+        int position = -row - 1;
+        if (position < rowCount) {
+            // _id lebih kecil dari baris terakhir (misalnya dibuat klien lain): baris setelahnya bergeser
+            System.arraycopy(ids, position, ids, position + 1, rowCount - position);
+            System.arraycopy(entities, position, entities, position + 1, rowCount - position);
+            for (double[] column : values) {
+                System.arraycopy(column, position, column, position + 1, rowCount - position);
+            }
+            layout++;
+            // Index terurut hanya mencatat baris yang sudah ada saat dibangun; sisanya diperiksa langsung
+            for (int c = 0; c < sorted.length; c++) {
+                if (sorted[c] != null && position < sorted[c].rows) {
+                    sorted[c] = null;
+                }
+            }
+        }
+        ids[position] = id;
+        rowCount++;
+        setRow(position, entity);
+    }
+
+    private void setRow(int row, T entity) {
+        entities[row] = entity;
+        for (int c = 0; c < values.length; c++) {
+            values[c][row] = columns.get(c).value.applyAsDouble(entity);
+        }
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows > ids.length) {
+            int capacity = Math.max(rows, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            entities = Arrays.copyOf(entities, capacity);
+            for (int c = 0; c < values.length; c++) {
+                values[c] = Arrays.copyOf(values[c], capacity);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void compactIfNeeded() {
+        if (removedCount > 1024 && removedCount > rowCount / 2) {
+            List<T> live = new ArrayList<>(rowCount - removedCount);
+            for (int row = 0; row < rowCount; row++) {
+                if (entities[row] != null) {
+                    live.add((T) entities[row]);
+                }
+            }
+            rebuild(live);
+        }
+    }
+
+    /**
+     * Mengganti seluruh isi dengan entity yang sudah urut _id. Harus memegang write lock.
+     */
+    private void rebuild(List<T> rows) {
+        int capacity = Math.max(INITIAL_ROWS, rows.size());
+        ids = new ObjectId[capacity];
+        entities = new Object[capacity];
+        for (int c = 0; c < values.length; c++) {
+            values[c] = new double[capacity];
+        }
+        rowCount = rows.size();
+        removedCount = 0;
+        for (int row = 0; row < rowCount; row++) {
+            ids[row] = idOf.apply(rows.get(row));
+            setRow(row, rows.get(row));
+        }
+        Arrays.fill(sorted, null);
+        layout++;
+    }
+
+    private int indexOf(Column<T> column) {
+        int index = columns.indexOf(column);
+        if (index < 0) {
+            throw new IllegalArgumentException("Kolom tidak ada di snapshot ini: " + column.getName());
+        }
+        return index;
+    }
+
+    private int wordCount() {
+        return (rowCount + 63) >>> 6;
+    }
+
+    /**
+     * Nilai satu kolom terurut, masing-masing sebagai (bit float yang bisa diurutkan << 32 | baris).
+     * Float cukup untuk mempersempit kandidat; nilai double di kolom tetap dipakai untuk
+     * perbandingan akhir, sehingga baris yang sudah dihapus atau berubah tidak ikut.
+     */
+    private static final class SortedColumn {
+        private final long[] keys;
+        private final int rows;
+        // Baris < rows yang nilainya berubah sejak index dibangun (kunci lamanya mungkin salah)
+        private final long[] changed;
+        private int changedCount = 0;
+
+        SortedColumn(double[] column, int rows) {
+            this.rows = rows;
+            this.changed = new long[(rows + 63) >>> 6];
+            long[] keys = new long[rows];
+            int n = 0;
+            for (int row = 0; row < rows; row++) {
+                double value = column[row];
+                if (value == value) {
+                    keys[n++] = ((long) sortableBits((float) value) << 32) | row;
+                }
+            }
+            this.keys = Arrays.copyOf(keys, n);
+            Arrays.sort(this.keys);
+        }
+
+        void changed(int row) {
+            if (row < rows && (changed[row >>> 6] & (1L << row)) == 0) {
+                changed[row >>> 6] |= 1L << row;
+                changedCount++;
+            }
+        }
+
+        boolean isStale(int rowCount) {
+            return (long) changedCount + rowCount - rows > rows / 8;
+        }
+
+        /**
+         * Bitset baris dengan min <= nilai <= max, atau null jika kandidatnya terlalu banyak
+         * sehingga scan seluruh kolom lebih cepat.
+         */
+        long[] match(double[] column, double min, double max, int rowCount) {
+            float low = (float) min;
+            if (low > min) {
+                low = Math.nextDown(low);
+            }
+            float high = (float) max;
+            if (high < max) {
+                high = Math.nextUp(high);
+            }
+            int from = lowerBound((long) sortableBits(low) << 32);
+            int to = lowerBound(((long) sortableBits(high) << 32) | 0xFFFFFFFFL);
+            int rest = changedCount + rowCount - rows;
+            if ((long) to - from + rest > rowCount / 16) {
+                return null;
+            }
+
+            long[] words = new long[(rowCount + 63) >>> 6];
+            for (int i = from; i < to; i++) {
+                int row = (int) keys[i];
+                double value = column[row];
+                if (value >= min && value <= max) {
+                    words[row >>> 6] |= 1L << row;
+                }
+            }
+            // Baris yang berubah dan baris baru setelah index dibangun diperiksa langsung
+            for (int word = 0; word < changed.length; word++) {
+                for (long bits = changed[word]; bits != 0; bits &= bits - 1) {
+                    int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    double value = column[row];
+                    if (value >= min && value <= max) {
+                        words[row >>> 6] |= 1L << row;
+                    }
+                }
+            }
+            for (int row = rows; row < rowCount; row++) {
+                double value = column[row];
+                if (value >= min && value <= max) {
+                    words[row >>> 6] |= 1L << row;
+                }
+            }
+            return words;
+        }
+
+        /**
+         * Posisi kunci pertama yang >= key.
+         */
+        private int lowerBound(long key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle] < key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Bit float sebagai int yang urutannya sama dengan urutan nilainya (termasuk negatif).
+         */
+        private static int sortableBits(float value) {
+            int bits = Float.floatToIntBits(value);
+            return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package marketplace;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.bson.types.ObjectId;
+
+/**
+ * Membungkus repository lain dan menjawab filter rentang tanpa kata kunci (rate/rating freelancer,
+ * budget proyek) dari ColumnSnapshot di memori, tanpa query ke database. Sebaran rate dan budget
+ * di statistik juga dihitung dari snapshot, sehingga selalu mengikuti data terbaru.
+ *
+ * Seperti SearchIndexRepository, snapshot diisi di background saat pertama dibutuhkan; sampai
+ * selesai semuanya diteruskan ke repository asli. Setelah itu snapshot diperbarui per dokumen dari
+ * tulis lewat repository ini dan, untuk MongoDB, dari change stream. Filter dengan kata kunci atau
+ * urutan selain urutan asli tetap dijalankan oleh repository asli.
+ */
+final class ColumnSnapshotRepository implements MarketplaceRepository {
+    private final MarketplaceRepository delegate;
+    private final Lazy<Freelancer> freelancers;
+    private final Lazy<Project> projects;
+    private final ChangeFeed changes;
+
+    ColumnSnapshotRepository(MarketplaceRepository delegate, boolean watchChanges) {
+        this.delegate = delegate;
+        this.freelancers = new Lazy<>("freelancer", ColumnSnapshot.freelancers(),
+                action -> delegate.forEachFreelancer(BulkTransfer.DEFAULT_BATCH_SIZE, action));
+        this.projects = new Lazy<>("proyek", ColumnSnapshot.projects(),
+                action -> delegate.forEachProject(BulkTransfer.DEFAULT_BATCH_SIZE, action));
+        this.changes = watchChanges ? delegate.watchChanges(freelancers, projects) : ChangeFeed.NONE;
+    }
+
+    /**
+     * Snapshot satu koleksi beserta status pengisiannya; juga menerima perubahan dari change stream.
+     */
+    private static final class Lazy<T> implements ChangeFeed.Listener<T> {
+        private final String name;
+        private final ColumnSnapshot<T> snapshot;
+        private final Consumer<Consumer<T>> scan;
+        private volatile boolean ready = false;
+        private boolean loading = false;
+        // Dinaikkan oleh resync(); pengisian yang dimulai sebelumnya tidak lengkap dan diulang
+        private int generation = 0;
+
+        Lazy(String name, ColumnSnapshot<T> snapshot, Consumer<Consumer<T>> scan) {
+            this.name = name;
+            this.snapshot = snapshot;
+            this.scan = scan;
+        }
+
+        /**
+         * true jika snapshot sudah terisi penuh; jika belum, pengisian dimulai di background.
+         */
+        boolean isReady() {
+            if (ready) {
+                return true;
+            }
+            synchronized (this) {
+                if (!loading) {
+                    loading = true;
+                    Thread.ofPlatform().name("column-snapshot-" + name).daemon(true).start(this::load);
+                }
+            }
+            return false;
+        }
+
+        private void load() {
+            long start = System.nanoTime();
+            try {
+                while (true) {
+                    int started;
+                    synchronized (this) {
+                        started = generation;
+                    }
+                    snapshot.load(scan);
+                    synchronized (this) {
+                        if (started == generation) {
+                            ready = true;
+                            break;
+                        }
+                    }
+                    // resync() selama pengisian: hasil scan mungkin dari sebelum perubahan yang terlewat
+                    snapshot.clear();
+                }
+                System.err.printf("Snapshot kolom %s siap: %d baris dalam %d ms%n", name, snapshot.size(),
+                        (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                // Dicoba lagi saat dibutuhkan berikutnya
+                System.err.println("Gagal mengisi snapshot kolom " + name + ": " + e.getMessage());
+            } finally {
+                synchronized (this) {
+                    loading = false;
+                }
+            }
+        }
+
+        @Override
+        public void changed(WriteOp<T> change) {
+            apply(change);
+        }
+
+        void apply(WriteOp<T> change) {
+            if (change.getKind() == WriteOp.Kind.DELETE) {
+                snapshot.remove(change.getId());
+            } else {
+                snapshot.upsert(change.getEntity());
+            }
+        }
+
+        /**
+         * Menerapkan batch yang sudah dijalankan repository asli, kecuali operasi yang ditolak.
+         */
+        void applied(List<WriteOp<T>> ops, List<T> conflicts, Set<ObjectId> rejected) {
+            for (WriteOp<T> op : ops) {
+                if (!rejected.contains(op.getId())) {
+                    apply(op);
+                }
+            }
+            // Versi server dari update yang ditolak lebih baru, jadi menimpa isi update di atas
+            conflicts.forEach(snapshot::upsert);
+        }
+
+        /**
+         * Perubahan mungkin ada yang terlewat: snapshot dikosongkan dan diisi ulang saat dipakai lagi.
+         */
+        @Override
+        public void resync() {
+            synchronized (this) {
+                generation++;
+                ready = false;
+            }
+            snapshot.clear();
+        }
+
+        /**
+         * PageSource urut _id dari baris yang memenuhi semua rentang. Selection dihitung ulang
+         * setiap count() (awal reload/refresh) dan saat nomor baris sudah bergeser. Dengan previous,
+         * halaman dimulai setelah _id previous (offset diabaikan, lihat PageSource).
+         */
+        PageSource<T> pages(List<ColumnSnapshot.Range<T>> ranges) {
+            return new PageSource<>() {
+                private volatile ColumnSnapshot.Selection selection;
+
+                @Override
+                public int count() {
+                    selection = snapshot.select(ranges);
+                    return selection.count();
+                }
+
+                @Override
+                public List<T> fetchPage(int offset, int limit, T previous) {
+                    while (true) {
+                        ColumnSnapshot.Selection current = selection;
+                        if (current == null || !snapshot.isCurrent(current)) {
+                            current = snapshot.select(ranges);
+                            selection = current;
+                        }
+                        List<T> rows = previous != null
+                                ? snapshot.fetchAfter(current, previous, limit)
+                                : snapshot.fetch(current, offset, limit);
+                        if (rows != null) {
+                            return rows;
+                        }
+                    }
+                }
+            };
+        }
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return delegate.isAvailable();
+    }
+
+    @Override
+    public void close() {
+        changes.close();
+        delegate.close();
+    }
+
+    @Override
+    public ChangeFeed watchChanges(ChangeFeed.Listener<Freelancer> freelancers, ChangeFeed.Listener<Project> projects) {
+        return delegate.watchChanges(freelancers, projects);
+    }
+
+    @Override
+    public List<Freelancer> getAllFreelancers() {
+        return delegate.getAllFreelancers();
+    }
+
+    @Override
+    public Freelancer findFreelancerById(ObjectId id) {
+        return delegate.findFreelancerById(id);
+    }
+
+    @Override
+    public Freelancer peekFreelancer(ObjectId id) {
+        return delegate.peekFreelancer(id);
+    }
+
+    @Override
+    public PageSource<Freelancer> freelancerPages(FreelancerFilter filter, SortSpec<Freelancer> sort) {
+        if (filter == null || filter.getText() != null || filter.isEmpty() || !sort.isNatural()
+                || !freelancers.isReady()) {
+            return delegate.freelancerPages(filter, sort);
+        }
+        return freelancers.pages(List.of(
+                ColumnSnapshot.FREELANCER_RATE.between(filter.getMinRate(), filter.getMaxRate()),
+                ColumnSnapshot.FREELANCER_RATING.between(filter.getMinRating(), null)));
+    }
+
+    @Override
+    public Freelancer insertFreelancer(Freelancer freelancer) {
+        Freelancer inserted = delegate.insertFreelancer(freelancer);
+        freelancers.snapshot.upsert(inserted);
+        return inserted;
+    }
+
+    @Override
+    public int insertFreelancerBatch(List<Freelancer> batch) {
+        int inserted = delegate.insertFreelancerBatch(batch);
+        batch.forEach(freelancers.snapshot::upsert);
+        return inserted;
+    }
+
+    @Override
+    public Freelancer updateFreelancer(Freelancer freelancer, String name, String skill, double rate, double rating) {
+        try {
+            Freelancer updated = delegate.updateFreelancer(freelancer, name, skill, rate, rating);
+            freelancers.snapshot.upsert(updated);
+            return updated;
+        } catch (ConcurrentUpdateException e) {
+            freelancers.snapshot.upsert((Freelancer) e.getCurrent());
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean deleteFreelancer(ObjectId id) {
+        boolean deleted = delegate.deleteFreelancer(id);
+        freelancers.snapshot.remove(id);
+        return deleted;
+    }
+
+    @Override
+    public List<Freelancer> applyFreelancerWrites(List<WriteOp<Freelancer>> ops) {
+        try {
+            List<Freelancer> conflicts = delegate.applyFreelancerWrites(ops);
+            freelancers.applied(ops, conflicts, Set.of());
+            return conflicts;
+        } catch (RejectedWritesException e) {
+            freelancers.applied(ops, e.getConflicts(), e.getRejected());
+            throw e;
+        }
+    }
+
+    @Override
+    public long forEachFreelancer(int batchSize, Consumer<Freelancer> action) {
+        return delegate.forEachFreelancer(batchSize, action);
+    }
+
+    @Override
+    public MarketplaceStats.Freelancers freelancerStatistics() {
+        MarketplaceStats.Freelancers stats = delegate.freelancerStatistics();
+        if (!freelancers.isReady()) {
+            return stats;
+        }
+        return new MarketplaceStats.Freelancers(freelancers.snapshot.size(), stats.getSkills(),
+                freelancers.snapshot.histogram(ColumnSnapshot.FREELANCER_RATE, MarketplaceStats.RATE_BOUNDARIES, null));
+    }
+
+    @Override
+    public List<Project> getAllProjects() {
+        return delegate.getAllProjects();
+    }
+
+    @Override
+    public Project findProjectById(ObjectId id) {
+        return delegate.findProjectById(id);
+    }
+
+    @Override
+    public Project peekProject(ObjectId id) {
+        return delegate.peekProject(id);
+    }
+
+    @Override
+    public PageSource<Project> projectPages(ProjectFilter filter, SortSpec<Project> sort) {
+        if (filter == null || filter.getText() != null || filter.isEmpty() || !sort.isNatural()
+                || !projects.isReady()) {
+            return delegate.projectPages(filter, sort);
+        }
+        return projects.pages(List.of(
+                ColumnSnapshot.PROJECT_BUDGET.between(filter.getMinBudget(), filter.getMaxBudget())));
+    }
+
+    @Override
+    public Project insertProject(Project project) {
+        Project inserted = delegate.insertProject(project);
+        projects.snapshot.upsert(inserted);
+        return inserted;
+    }
+
+    @Override
+    public int insertProjectBatch(List<Project> batch) {
+        int inserted = delegate.insertProjectBatch(batch);
+        batch.forEach(projects.snapshot::upsert);
+        return inserted;
+    }
+
+    @Override
+    public Project updateProject(Project project, String title, String company, String desc, double budget) {
+        try {
+            Project updated = delegate.updateProject(project, title, company, desc, budget);
+            projects.snapshot.upsert(updated);
+            return updated;
+        } catch (ConcurrentUpdateException e) {
+            projects.snapshot.upsert((Project) e.getCurrent());
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean deleteProject(ObjectId id) {
+        boolean deleted = delegate.deleteProject(id);
+        projects.snapshot.remove(id);
+        return deleted;
+    }
+
+    @Override
+    public List<Project> applyProjectWrites(List<WriteOp<Project>> ops) {
+        try {
+            List<Project> conflicts = delegate.applyProjectWrites(ops);
+            projects.applied(ops, conflicts, Set.of());
+            return conflicts;
+        } catch (RejectedWritesException e) {
+            projects.applied(ops, e.getConflicts(), e.getRejected());
+            throw e;
+        }
+    }
+
+    @Override
+    public long forEachProject(int batchSize, Consumer<Project> action) {
+        return delegate.forEachProject(batchSize, action);
+    }
+
+    @Override
+    public MarketplaceStats.Projects projectStatistics() {
+        MarketplaceStats.Projects stats = delegate.projectStatistics();
+        if (!projects.isReady()) {
+            return stats;
+        }
+        return new MarketplaceStats.Projects(projects.snapshot.size(), stats.getCompanies(),
+                projects.snapshot.histogram(ColumnSnapshot.PROJECT_BUDGET, MarketplaceStats.BUDGET_BOUNDARIES, null));
+    }
+}
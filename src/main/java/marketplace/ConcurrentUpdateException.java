@@ -0,0 +1,21 @@
+package marketplace;
+
+/**
+ * Dilempar saat update ditolak karena data sudah diubah orang lain sejak dibaca
+ * (versinya tidak lagi sama). Berisi data terbaru agar tampilan bisa diperbarui.
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+    private final Object current;
+
+    public ConcurrentUpdateException(Object current) {
+        super("Data telah diubah oleh pengguna lain");
+        this.current = current;
+    }
+
+    /**
+     * Versi terbaru yang tersimpan (Freelancer atau Project).
+     */
+    public Object getCurrent() {
+        return current;
+    }
+}
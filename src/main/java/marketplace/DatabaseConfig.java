@@ -0,0 +1,249 @@
+package marketplace;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerApi;
+import com.mongodb.ServerApiVersion;
+import com.mongodb.WriteConcern;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pengaturan koneksi MongoDB. Setiap kunci dicari berurutan di:
+ * 1. system property (-Dmarketplace.mongo.uri=...),
+ * 2. environment variable (MARKETPLACE_MONGO_URI=...),
+ * 3. file properties (marketplace.config, default marketplace.properties di direktori kerja).
+ *
+ * Pengaturan pool, timeout, read preference dan write concern yang tidak diisi
+ * mengikuti URI (atau default driver jika URI juga tidak menyebutkannya).
+ */
+public final class DatabaseConfig {
+    public static final String URI = "marketplace.mongo.uri";
+    public static final String DATABASE = "marketplace.mongo.database";
+    public static final String POOL_MIN_SIZE = "marketplace.mongo.pool.minSize";
+    public static final String POOL_MAX_SIZE = "marketplace.mongo.pool.maxSize";
+    public static final String POOL_MAX_WAIT_MS = "marketplace.mongo.pool.maxWaitMs";
+    public static final String CONNECT_TIMEOUT_MS = "marketplace.mongo.connectTimeoutMs";
+    public static final String SOCKET_TIMEOUT_MS = "marketplace.mongo.socketTimeoutMs";
+    public static final String SERVER_SELECTION_TIMEOUT_MS = "marketplace.mongo.serverSelectionTimeoutMs";
+    public static final String READ_PREFERENCE = "marketplace.mongo.readPreference";
+    public static final String WRITE_CONCERN = "marketplace.mongo.writeConcern";
+    public static final String COMPRESSORS = "marketplace.mongo.compressors";
+    public static final String RETRY_ATTEMPTS = "marketplace.mongo.retry.attempts";
+    public static final String RETRY_INITIAL_DELAY_MS = "marketplace.mongo.retry.initialDelayMs";
+    public static final String RETRY_MAX_DELAY_MS = "marketplace.mongo.retry.maxDelayMs";
+
+    private final Properties file;
+
+    private DatabaseConfig(Properties file) {
+        this.file = file;
+    }
+
+    /**
+     * Membaca file konfigurasi jika ada. File yang tidak ada tidak dianggap error,
+     * karena semua kunci juga bisa diisi lewat environment variable.
+     */
+    public static DatabaseConfig load() {
+        Path path = Path.of(System.getProperty("marketplace.config", "marketplace.properties"));
+        Properties properties = new Properties();
+        if (Files.isRegularFile(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Gagal membaca konfigurasi " + path, e);
+            }
+        }
+        return new DatabaseConfig(properties);
+    }
+
+    /**
+     * Nilai untuk satu kunci, atau null jika tidak diisi di mana pun.
+     */
+    public String get(String key) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = System.getenv(key.toUpperCase(Locale.ROOT).replace('.', '_'));
+        }
+        if (value == null) {
+            value = file.getProperty(key);
+        }
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    public boolean hasUri() {
+        return get(URI) != null;
+    }
+
+    public String databaseName() {
+        String name = get(DATABASE);
+        return name != null ? name : "oop";
+    }
+
+    /**
+     * Penanda deployment yang dituju, "host1:port,host2:port/database", tanpa user/password
+     * atau opsi lain dari URI. null jika URI belum diatur atau tidak valid.
+     */
+    public String deployment() {
+        String uri = get(URI);
+        if (uri == null) {
+            return null;
+        }
+        try {
+            ConnectionString connectionString = new ConnectionString(uri);
+            return String.join(",", connectionString.getHosts()).toLowerCase(Locale.ROOT) + "/" + databaseName();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public int retryAttempts() {
+        return Math.max(1, intValue(RETRY_ATTEMPTS, 5));
+    }
+
+    public long retryInitialDelayMs() {
+        return intValue(RETRY_INITIAL_DELAY_MS, 500);
+    }
+
+    public long retryMaxDelayMs() {
+        return intValue(RETRY_MAX_DELAY_MS, 10_000);
+    }
+
+    /**
+     * Menyusun MongoClientSettings dari URI lalu menimpa nilai yang diatur secara eksplisit.
+     * Jika serverSelectionTimeoutMS tidak diatur di property maupun URI, nilainya dibuat 5 detik
+     * (bukan 30 detik) agar percobaan koneksi ulang tidak terlalu lama menunggu.
+     */
+    public MongoClientSettings toSettings(CodecRegistry codecRegistry) {
+        String uri = get(URI);
+        if (uri == null) {
+            throw new IllegalStateException("URI MongoDB belum diatur (" + URI + ")");
+        }
+
+        ConnectionString connectionString = new ConnectionString(uri);
+        MongoClientSettings.Builder builder = MongoClientSettings.builder()
+                .applyConnectionString(connectionString)
+                .serverApi(ServerApi.builder().version(ServerApiVersion.V1).build())
+                .codecRegistry(codecRegistry);
+
+        Integer minSize = intValue(POOL_MIN_SIZE);
+        Integer maxSize = intValue(POOL_MAX_SIZE);
+        Integer maxWait = intValue(POOL_MAX_WAIT_MS);
+        builder.applyToConnectionPoolSettings(pool -> {
+            if (minSize != null) {
+                pool.minSize(minSize);
+            }
+            if (maxSize != null) {
+                pool.maxSize(maxSize);
+            }
+            if (maxWait != null) {
+                pool.maxWaitTime(maxWait, TimeUnit.MILLISECONDS);
+            }
+        });
+
+        Integer connectTimeout = intValue(CONNECT_TIMEOUT_MS);
+        Integer socketTimeout = intValue(SOCKET_TIMEOUT_MS);
+        builder.applyToSocketSettings(socket -> {
+            if (connectTimeout != null) {
+                socket.connectTimeout(connectTimeout, TimeUnit.MILLISECONDS);
+            }
+            if (socketTimeout != null) {
+                socket.readTimeout(socketTimeout, TimeUnit.MILLISECONDS);
+            }
+        });
+
+        Integer selectionTimeout = intValue(SERVER_SELECTION_TIMEOUT_MS);
+        if (selectionTimeout == null && connectionString.getServerSelectionTimeout() == null) {
+            selectionTimeout = 5_000;
+        }
+        if (selectionTimeout != null) {
+            int timeout = selectionTimeout;
+            builder.applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(timeout, TimeUnit.MILLISECONDS));
+        }
+
+        String readPreference = get(READ_PREFERENCE);
+        if (readPreference != null) {
+            builder.readPreference(ReadPreference.valueOf(readPreference));
+        }
+
+        String writeConcern = get(WRITE_CONCERN);
+        if (writeConcern != null) {
+            builder.writeConcern(parseWriteConcern(writeConcern));
+        }
+
+        String compressors = get(COMPRESSORS);
+        if (compressors != null) {
+            builder.compressorList(parseCompressors(compressors));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Menerima nama konstanta ("majority", "w1", "acknowledged", ...) atau angka w.
+     */
+    private static WriteConcern parseWriteConcern(String value) {
+        if (value.chars().allMatch(Character::isDigit)) {
+            return new WriteConcern(Integer.parseInt(value));
+        }
+        WriteConcern concern = WriteConcern.valueOf(value);
+        if (concern == null) {
+            throw new IllegalArgumentException("Write concern tidak dikenal: " + value);
+        }
+        return concern;
+    }
+
+    /**
+     * Daftar kompresor dipisah koma, urutan menentukan prioritas saat negosiasi dengan server.
+     */
+    private static List<MongoCompressor> parseCompressors(String value) {
+        List<MongoCompressor> result = new ArrayList<>();
+        for (String name : value.split(",")) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "zstd":
+                    result.add(MongoCompressor.createZstdCompressor());
+                    break;
+                case "snappy":
+                    result.add(MongoCompressor.createSnappyCompressor());
+                    break;
+                case "zlib":
+                    result.add(MongoCompressor.createZlibCompressor());
+                    break;
+                case "":
+                    break;
+                default:
+                    throw new IllegalArgumentException("Kompresor tidak dikenal: " + name.trim());
+            }
+        }
+        return result;
+    }
+
+    private Integer intValue(String key) {
+        String value = get(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nilai " + key + " harus berupa angka: " + value);
+        }
+    }
+
+    private int intValue(String key, int defaultValue) {
+        Integer value = intValue(key);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,875 @@
+package marketplace;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoException;
+import com.mongodb.MongoInterruptedException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.client.*;
+import com.mongodb.client.model.*;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.InsertOneResult;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+/**
+ * Implementasi repository freelancer dan proyek di atas MongoDB.
+ */
+public class DatabaseManager implements MarketplaceRepository {
+    // Codec khusus agar Freelancer/Project dibaca langsung dari BSON tanpa Document perantara
+    private static final CodecRegistry CODECS = CodecRegistries.fromRegistries(
+            CodecRegistries.fromCodecs(new FreelancerCodec(), new ProjectCodec()),
+            MongoClientSettings.getDefaultCodecRegistry());
+    // Cache entitas berdasarkan _id; setiap dokumen yang dibaca atau ditulis ikut disimpan di sini
+    private static final int CACHE_SIZE = Integer.getInteger("marketplace.cacheSize", 50_000);
+    private static final FindOneAndUpdateOptions RETURN_AFTER = new FindOneAndUpdateOptions()
+            .returnDocument(ReturnDocument.AFTER);
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+    private static final BulkWriteOptions UNORDERED_BULK = new BulkWriteOptions().ordered(false);
+    private static final int DUPLICATE_KEY = 11000;
+    // Statistik disimpan selama beberapa detik, atau sampai ada tulis ke koleksi yang sama
+    private static final long STATS_TTL_SEC = Long.getLong("marketplace.stats.ttlSec", 60);
+    
+    private final DatabaseConfig config;
+    private final EntityCache<Freelancer> freelancerCache = new EntityCache<>(CACHE_SIZE, Freelancer::getId);
+    private final EntityCache<Project> projectCache = new EntityCache<>(CACHE_SIZE, Project::getId);
+    private final TtlCache<MarketplaceStats.Freelancers> freelancerStats =
+            new TtlCache<>(STATS_TTL_SEC, TimeUnit.SECONDS, this::aggregateFreelancerStatistics);
+    private final TtlCache<MarketplaceStats.Projects> projectStats =
+            new TtlCache<>(STATS_TTL_SEC, TimeUnit.SECONDS, this::aggregateProjectStatistics);
+    
+    // Dibuat saat operasi pertama, bukan saat aplikasi mulai
+    private volatile Connection connection;
+    // Setelah semua percobaan gagal, operasi berikutnya langsung gagal sampai waktu ini (System.nanoTime)
+    private StoreUnavailableException lastFailure;
+    private long retryAfter;
+    // Satu change stream per koleksi untuk semua pelanggan; dibuka saat pelanggan pertama datang
+    // dan ditutup saat pelanggan terakhir berhenti atau koneksi ditutup
+    private final ChangeFanOut<Freelancer> freelancerChanges = new ChangeFanOut<>("freelancers");
+    private final ChangeFanOut<Project> projectChanges = new ChangeFanOut<>("projects");
+    private MongoChangeStream<Freelancer> freelancerStream;
+    private MongoChangeStream<Project> projectStream;
+    
+    /**
+     * Client dan koleksi yang sudah terbukti bisa dihubungi.
+     */
+    private static final class Connection {
+        final MongoClient client;
+        final MongoCollection<Freelancer> freelancers;
+        final MongoCollection<Project> projects;
+        
+        Connection(MongoClient client, MongoDatabase database) {
+            this.client = client;
+            this.freelancers = database.getCollection("freelancers", Freelancer.class);
+            this.projects = database.getCollection("projects", Project.class);
+        }
+    }
+    
+    public DatabaseManager() {
+        this(DatabaseConfig.load());
+    }
+    
+    public DatabaseManager(DatabaseConfig config) {
+        this.config = config;
+    }
+    
+    /**
+     * Koneksi belum dibuka di sini; false hanya jika URI belum dikonfigurasi sama sekali.
+     */
+    @Override
+    public boolean isAvailable() {
+        return config.hasUri();
+    }
+    
+    private MongoCollection<Freelancer> freelancers() {
+        return connection().freelancers;
+    }
+    
+    private MongoCollection<Project> projects() {
+        return connection().projects;
+    }
+    
+    private Connection connection() {
+        Connection current = connection;
+        return current != null ? current : connect();
+    }
+    
+    /**
+     * Membuka client lalu memastikan server bisa dihubungi dengan perintah ping.
+     * Gangguan jaringan (timeout/socket) dicoba ulang dengan jeda yang berlipat dua
+     * hingga marketplace.mongo.retry.attempts kali. Setelah client terbuka, driver
+     * sendiri yang menyambung ulang jika server sempat tidak tersedia.
+     * Membuat client, ping, dan jeda antar percobaan semuanya dijalani di luar lock; lock hanya
+     * dipakai untuk memeriksa dan memasang connection, sehingga method synchronized lain
+     * (watchChanges, close) tidak pernah menunggu I/O jaringan. Jika beberapa thread terhubung
+     * bersamaan, client yang terpasang lebih dulu dipakai dan yang lain ditutup.
+     */
+    private Connection connect() {
+        // Waktu dan ukuran setiap perintah dicatat di Metrics ("mongo.<perintah>")
+        MongoClientSettings settings = MongoClientSettings.builder(config.toSettings(CODECS))
+                .addCommandListener(new MongoCommandMetrics())
+                .build();
+        long delay = config.retryInitialDelayMs();
+        for (int attempt = 1; ; attempt++) {
+            synchronized (this) {
+                if (connection != null) {
+                    return connection;
+                }
+                if (lastFailure != null && System.nanoTime() < retryAfter) {
+                    throw lastFailure;
+                }
+            }
+            
+            MongoClient client = MongoClients.create(settings);
+            Connection opened;
+            try {
+                MongoDatabase database = client.getDatabase(config.databaseName());
+                database.runCommand(new Document("ping", 1));
+                opened = new Connection(client, database);
+            } catch (MongoTimeoutException | MongoSocketException e) {
+                client.close();
+                if (attempt >= config.retryAttempts()) {
+                    StoreUnavailableException failure = new StoreUnavailableException(
+                            "Tidak dapat terhubung ke MongoDB setelah " + attempt + " percobaan: " + e.getMessage(), e);
+                    synchronized (this) {
+                        if (connection == null) {
+                            lastFailure = failure;
+                            retryAfter = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.retryMaxDelayMs());
+                        }
+                    }
+                    throw failure;
+                }
+                System.err.println("Koneksi MongoDB gagal (percobaan " + attempt + "), mencoba lagi dalam "
+                        + delay + " ms: " + e.getMessage());
+                sleep(delay);
+                delay = Math.min(delay * 2, config.retryMaxDelayMs());
+                continue;
+            } catch (RuntimeException e) {
+                // Kesalahan lain (misalnya autentikasi) tidak akan hilang dengan mencoba ulang
+                client.close();
+                throw e;
+            }
+            
+            synchronized (this) {
+                if (connection != null) {
+                    // Thread lain sudah terhubung lebih dulu
+                    client.close();
+                    return connection;
+                }
+                connection = opened;
+                lastFailure = null;
+            }
+            Repositories.executor().execute(() -> ensureIndexes(opened));
+            return opened;
+        }
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            // Sedikit jitter agar beberapa klien tidak mencoba ulang secara bersamaan
+            Thread.sleep(millis + ThreadLocalRandom.current().nextLong(millis / 4 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MongoInterruptedException("Koneksi MongoDB dibatalkan", e);
+        }
+    }
+    
+    /**
+     * Membuat index yang dibutuhkan pencarian dan pengurutan jika belum ada.
+     * MongoDB hanya mengizinkan satu text index per koleksi, jadi semua field teks digabung.
+     * Index urutan berbentuk {field..., _id}; MongoDB membacanya mundur untuk arah sebaliknya.
+     * Index ini juga melayani filter rentang pada field pertamanya, jadi index satu field
+     * ratePerHour/rating/budget tidak dibuat lagi.
+     */
+    private static void ensureIndexes(Connection connection) {
+        try {
+            connection.freelancers.createIndex(Indexes.compoundIndex(Indexes.text("name"), Indexes.text("skill")),
+                    new IndexOptions().name("freelancer_text"));
+            connection.freelancers.createIndex(Indexes.ascending("name", "_id"));
+            connection.freelancers.createIndex(Indexes.ascending("skill", "_id"));
+            connection.freelancers.createIndex(Indexes.ascending("ratePerHour", "_id"));
+            connection.freelancers.createIndex(Indexes.ascending("rating", "_id"));
+            connection.freelancers.createIndex(Indexes.ascending("skill", "rating", "_id"));
+            // Per skill, rating tertinggi dulu
+            connection.freelancers.createIndex(Indexes.compoundIndex(Indexes.ascending("skill"),
+                    Indexes.descending("rating", "_id")));
+            connection.freelancers.createIndex(Indexes.ascending("skill", "ratePerHour", "_id"));
+            
+            connection.projects.createIndex(Indexes.compoundIndex(Indexes.text("title"), Indexes.text("description"),
+                    Indexes.text("companyName")), new IndexOptions().name("project_text"));
+            connection.projects.createIndex(Indexes.ascending("title", "_id"));
+            connection.projects.createIndex(Indexes.ascending("companyName", "_id"));
+            connection.projects.createIndex(Indexes.ascending("budget", "_id"));
+            connection.projects.createIndex(Indexes.ascending("companyName", "budget", "_id"));
+            // Per perusahaan, budget terbesar dulu
+            connection.projects.createIndex(Indexes.compoundIndex(Indexes.ascending("companyName"),
+                    Indexes.descending("budget", "_id")));
+        } catch (MongoException e) {
+            // Pencarian tetap berjalan tanpa index range; pencarian teks akan gagal sampai index ada
+            System.err.println("Gagal membuat index: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public List<Freelancer> getAllFreelancers() {
+        List<Freelancer> result = new ArrayList<>();
+
+        for (Freelancer freelancer : freelancers().find()) {
+            result.add(freelancer);
+        }
+        freelancerCache.putAll(result);
+
+        return result;
+    }
+    
+    @Override
+    public List<Project> getAllProjects() {
+        List<Project> result = new ArrayList<>();
+
+        for (Project project : projects().find()) {
+            result.add(project);
+        }
+        projectCache.putAll(result);
+
+        return result;
+    }
+    
+    /**
+     * Filter dan urutan dijalankan di server sehingga hanya baris yang cocok yang dikirim.
+     * Urutan satu field (naik atau turun) dan skill/perusahaan + angka didukung index
+     * (lihat ensureIndexes); kombinasi lain, dan hasil pencarian teks, diurutkan server
+     * di memori dengan batas satu halaman.
+     */
+    @Override
+    public PageSource<Freelancer> freelancerPages(FreelancerFilter filter, SortSpec<Freelancer> sort) {
+        Bson query = filter == null ? null : filter.toBson();
+        return new MongoPageSource<>(this::freelancers, query, sort, freelancerCache::putAll, Freelancer::getId);
+    }
+    
+    @Override
+    public PageSource<Project> projectPages(ProjectFilter filter, SortSpec<Project> sort) {
+        Bson query = filter == null ? null : filter.toBson();
+        return new MongoPageSource<>(this::projects, query, sort, projectCache::putAll, Project::getId);
+    }
+    
+    /**
+     * Mencari dari cache terlebih dahulu, baru ke MongoDB.
+     */
+    @Override
+    public Freelancer findFreelancerById(ObjectId id) {
+        Freelancer cached = freelancerCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        Freelancer freelancer = freelancers().find(Filters.eq("_id", id)).first();
+        if (freelancer != null) {
+            freelancerCache.put(freelancer);
+        }
+        return freelancer;
+    }
+    
+    @Override
+    public Project findProjectById(ObjectId id) {
+        Project cached = projectCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        Project project = projects().find(Filters.eq("_id", id)).first();
+        if (project != null) {
+            projectCache.put(project);
+        }
+        return project;
+    }
+    
+    @Override
+    public Freelancer peekFreelancer(ObjectId id) {
+        return freelancerCache.get(id);
+    }
+    
+    @Override
+    public Project peekProject(ObjectId id) {
+        return projectCache.get(id);
+    }
+    
+    public EntityCache<Freelancer> freelancerCache() {
+        return freelancerCache;
+    }
+    
+    public EntityCache<Project> projectCache() {
+        return projectCache;
+    }
+    
+    /**
+     * Berlangganan change stream kedua koleksi (koleksi dengan listener null dilewati). Semua
+     * pelanggan berbagi satu stream per koleksi, jadi setiap lapisan repository tidak menambah
+     * cursor di server. Cache entitas dan statistik di sini ikut diperbarui sebelum perubahan
+     * diteruskan ke listener, sehingga pembacaan berikutnya tidak memakai data yang sudah diubah
+     * klien lain.
+     */
+    @Override
+    public synchronized ChangeFeed watchChanges(ChangeFeed.Listener<Freelancer> freelancerListener,
+                                                ChangeFeed.Listener<Project> projectListener) {
+        if (freelancerListener != null) {
+            freelancerChanges.add(freelancerListener);
+            if (freelancerStream == null) {
+                freelancerStream = new MongoChangeStream<>("freelancers", this::freelancers,
+                        updatingCaches(freelancerChanges, freelancerCache, freelancerStats, Freelancer::getVersion));
+                freelancerStream.start();
+            }
+        }
+        if (projectListener != null) {
+            projectChanges.add(projectListener);
+            if (projectStream == null) {
+                projectStream = new MongoChangeStream<>("projects", this::projects,
+                        updatingCaches(projectChanges, projectCache, projectStats, Project::getVersion));
+                projectStream.start();
+            }
+        }
+        return () -> unwatch(freelancerListener, projectListener);
+    }
+    
+    private synchronized void unwatch(ChangeFeed.Listener<Freelancer> freelancerListener,
+                                      ChangeFeed.Listener<Project> projectListener) {
+        if (freelancerListener != null && freelancerChanges.remove(freelancerListener) && freelancerStream != null) {
+            freelancerStream.close();
+            freelancerStream = null;
+        }
+        if (projectListener != null && projectChanges.remove(projectListener) && projectStream != null) {
+            projectStream.close();
+            projectStream = null;
+        }
+    }
+    
+    private static <T> ChangeFeed.Listener<T> updatingCaches(ChangeFeed.Listener<T> listener, EntityCache<T> cache,
+                                                             TtlCache<?> stats, ToLongFunction<T> versionOf) {
+        return new ChangeFeed.Listener<>() {
+            @Override
+            public void changed(WriteOp<T> change) {
+                if (change.getKind() == WriteOp.Kind.DELETE) {
+                    cache.remove(change.getId());
+                } else {
+                    cache.updateIfCached(change.getEntity(), versionOf);
+                }
+                stats.invalidate();
+                listener.changed(change);
+            }
+            
+            @Override
+            public void resync() {
+                cache.clear();
+                stats.invalidate();
+                listener.resync();
+            }
+        };
+    }
+    
+    /**
+     * Menyimpan freelancer baru dan mengembalikan objek dengan id yang dibuat oleh MongoDB.
+     */
+    @Override
+    public Freelancer insertFreelancer(Freelancer freelancer) {
+        Document doc = new Document("name", freelancer.getName())
+                .append("skill", freelancer.getSkill())
+                .append("ratePerHour", freelancer.getRatePerHour())
+                .append("rating", freelancer.getRating())
+                .append("version", 0L)
+                .append("updatedAt", new Date());
+        
+        InsertOneResult result = freelancers().withDocumentClass(Document.class).insertOne(doc);
+        freelancerStats.invalidate();
+        Freelancer inserted = new Freelancer(
+                result.getInsertedId().asObjectId().getValue(),
+                freelancer.getName(),
+                StringDictionary.SKILLS.intern(freelancer.getSkill()),
+                freelancer.getRatePerHour(),
+                freelancer.getRating(),
+                0,
+                doc.getDate("updatedAt").getTime()
+        );
+        freelancerCache.put(inserted);
+        return inserted;
+    }
+    
+    /**
+     * Menyimpan proyek baru dan mengembalikan objek dengan id yang dibuat oleh MongoDB.
+     */
+    @Override
+    public Project insertProject(Project project) {
+        Document doc = new Document("title", project.getTitle())
+                .append("description", project.getDescription())
+                .append("budget", project.getBudget())
+                .append("companyName", project.getCompanyName())
+                .append("version", 0L)
+                .append("updatedAt", new Date());
+        
+        InsertOneResult result = projects().withDocumentClass(Document.class).insertOne(doc);
+        projectStats.invalidate();
+        Project inserted = new Project(
+                result.getInsertedId().asObjectId().getValue(),
+                project.getTitle(),
+                project.getDescription(),
+                project.getBudget(),
+                StringDictionary.COMPANIES.intern(project.getCompanyName()),
+                0,
+                doc.getDate("updatedAt").getTime()
+        );
+        projectCache.put(inserted);
+        return inserted;
+    }
+    
+    /**
+     * Mengubah freelancer hanya pada field yang berbeda, dengan syarat versinya masih sama
+     * seperti saat dibaca. Mengembalikan isi document setelah diubah, null jika document
+     * sudah tidak ada, atau melempar ConcurrentUpdateException jika versinya sudah berubah.
+     */
+    @Override
+    public Freelancer updateFreelancer(Freelancer freelancer, String name, String skill, double rate, double rating) {
+        List<Bson> changes = freelancerChanges(freelancer, name, skill, rate, rating);
+        if (changes.isEmpty()) {
+            return freelancer;
+        }
+        
+        Freelancer updated = freelancers().findOneAndUpdate(
+                versionFilter(freelancer.getId(), freelancer.getVersion()), versioned(changes), RETURN_AFTER);
+        if (updated != null) {
+            freelancerStats.invalidate();
+            freelancerCache.put(updated);
+            return updated;
+        }
+        
+        // Tidak ada yang cocok: document sudah dihapus atau sudah diubah pengguna lain
+        Freelancer current = freelancers().find(Filters.eq("_id", freelancer.getId())).first();
+        if (current == null) {
+            freelancerCache.remove(freelancer.getId());
+            return null;
+        }
+        freelancerCache.put(current);
+        throw new ConcurrentUpdateException(current);
+    }
+    
+    /**
+     * Sama seperti updateFreelancer, untuk proyek.
+     */
+    @Override
+    public Project updateProject(Project project, String title, String company, String desc, double budget) {
+        List<Bson> changes = projectChanges(project, title, company, desc, budget);
+        if (changes.isEmpty()) {
+            return project;
+        }
+        
+        Project updated = projects().findOneAndUpdate(
+                versionFilter(project.getId(), project.getVersion()), versioned(changes), RETURN_AFTER);
+        if (updated != null) {
+            projectStats.invalidate();
+            projectCache.put(updated);
+            return updated;
+        }
+        
+        Project current = projects().find(Filters.eq("_id", project.getId())).first();
+        if (current == null) {
+            projectCache.remove(project.getId());
+            return null;
+        }
+        projectCache.put(current);
+        throw new ConcurrentUpdateException(current);
+    }
+    
+    private static List<Bson> freelancerChanges(Freelancer before, String name, String skill,
+                                                double rate, double rating) {
+        List<Bson> changes = new ArrayList<>();
+        setIfChanged(changes, "name", before.getName(), name);
+        setIfChanged(changes, "skill", before.getSkill(), skill);
+        setIfChanged(changes, "ratePerHour", before.getRatePerHour(), rate);
+        setIfChanged(changes, "rating", before.getRating(), rating);
+        return changes;
+    }
+    
+    private static List<Bson> projectChanges(Project before, String title, String company,
+                                             String desc, double budget) {
+        List<Bson> changes = new ArrayList<>();
+        setIfChanged(changes, "title", before.getTitle(), title);
+        setIfChanged(changes, "companyName", before.getCompanyName(), company);
+        setIfChanged(changes, "description", before.getDescription(), desc);
+        setIfChanged(changes, "budget", before.getBudget(), budget);
+        return changes;
+    }
+    
+    /**
+     * Menjalankan operasi dari WriteBehindQueue sebagai satu bulkWrite unordered.
+     * Update yang tidak cocok (versinya berubah) diperiksa ulang setelahnya dan
+     * dikembalikan sebagai konflik.
+     */
+    @Override
+    public List<Freelancer> applyFreelancerWrites(List<WriteOp<Freelancer>> ops) {
+        // Setelah tulis (termasuk saat gagal sebagian), agar statistik yang dimuat selama bulkWrite
+        // berjalan tidak tersimpan sebagai data terbaru
+        try {
+            return applyWrites(freelancers(), freelancerCache, ops, Freelancer::getVersion, Freelancer::getUpdatedAt,
+                    Freelancer::withVersion, (before, after) -> freelancerChanges(before, after.getName(),
+                            after.getSkill(), after.getRatePerHour(), after.getRating()));
+        } finally {
+            freelancerStats.invalidate();
+        }
+    }
+    
+    @Override
+    public List<Project> applyProjectWrites(List<WriteOp<Project>> ops) {
+        try {
+            return applyWrites(projects(), projectCache, ops, Project::getVersion, Project::getUpdatedAt,
+                    Project::withVersion, (before, after) -> projectChanges(before, after.getTitle(),
+                            after.getCompanyName(), after.getDescription(), after.getBudget()));
+        } finally {
+            projectStats.invalidate();
+        }
+    }
+    
+    private static <T> List<T> applyWrites(MongoCollection<T> collection, EntityCache<T> cache, List<WriteOp<T>> ops,
+                                           ToLongFunction<T> versionOf, ToLongFunction<T> updatedAtOf,
+                                           VersionedCopy<T> withVersion, BiFunction<T, T, List<Bson>> diff) {
+        List<WriteModel<T>> models = new ArrayList<>(ops.size());
+        // modelIds[i] = _id dokumen models[i], untuk memetakan index write error ke operasinya
+        List<ObjectId> modelIds = new ArrayList<>(ops.size());
+        Map<ObjectId, Long> expectedVersions = new HashMap<>();
+        for (WriteOp<T> op : ops) {
+            switch (op.getKind()) {
+                case INSERT:
+                    T entity = op.getEntity();
+                    if (updatedAtOf.applyAsLong(entity) == 0) {
+                        entity = withVersion.copy(entity, versionOf.applyAsLong(entity), System.currentTimeMillis());
+                    }
+                    models.add(new InsertOneModel<>(entity));
+                    modelIds.add(op.getId());
+                    break;
+                case UPDATE:
+                    List<Bson> changes = diff.apply(op.getBefore(), op.getEntity());
+                    if (!changes.isEmpty()) {
+                        long version = versionOf.applyAsLong(op.getBefore());
+                        models.add(new UpdateOneModel<>(versionFilter(op.getId(), version), versioned(changes)));
+                        modelIds.add(op.getId());
+                        expectedVersions.put(op.getId(), version + 1);
+                    }
+                    break;
+                case DELETE:
+                    models.add(new DeleteOneModel<>(Filters.eq("_id", op.getId())));
+                    modelIds.add(op.getId());
+                    break;
+            }
+        }
+        if (models.isEmpty()) {
+            return List.of();
+        }
+        
+        BulkWriteResult result;
+        Set<ObjectId> rejected = new LinkedHashSet<>();
+        String reason = null;
+        try {
+            result = collection.bulkWrite(models, UNORDERED_BULK);
+        } catch (MongoBulkWriteException e) {
+            // Saat batch diulang setelah gangguan jaringan, insert yang sudah sempat masuk
+            // ditolak sebagai duplikat; itu berarti sudah tersimpan, bukan kegagalan.
+            // Error lain (misalnya validasi) hanya membatalkan operasi itu sendiri; sisanya
+            // sudah tersimpan karena bulkWrite unordered.
+            for (BulkWriteError error : e.getWriteErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    rejected.add(modelIds.get(error.getIndex()));
+                    reason = reason == null ? error.getMessage() : reason;
+                }
+            }
+            result = e.getWriteResult();
+        }
+        expectedVersions.keySet().removeAll(rejected);
+        
+        List<T> conflicts = new ArrayList<>();
+        if (result.getMatchedCount() < expectedVersions.size()) {
+            for (T current : collection.find(Filters.in("_id", expectedVersions.keySet()))) {
+                ObjectId id = cache.idOf(current);
+                if (versionOf.applyAsLong(current) != expectedVersions.get(id)) {
+                    conflicts.add(current);
+                }
+            }
+        }
+        
+        for (WriteOp<T> op : ops) {
+            if (op.getKind() == WriteOp.Kind.DELETE || expectedVersions.containsKey(op.getId())
+                    || rejected.contains(op.getId())) {
+                // Entity update dari GUI masih membawa versi sebelum update; versi dan updatedAt
+                // yang benar hanya ada di server, jadi dibaca ulang saat dibutuhkan
+                cache.remove(op.getId());
+            } else {
+                cache.put(op.getEntity());
+            }
+        }
+        cache.putAll(conflicts);
+        if (!rejected.isEmpty()) {
+            throw new RejectedWritesException(rejected, conflicts, reason);
+        }
+        return conflicts;
+    }
+    
+    /**
+     * Freelancer::withVersion / Project::withVersion.
+     */
+    private interface VersionedCopy<T> {
+        T copy(T entity, long version, long updatedAt);
+    }
+    
+    private static void setIfChanged(List<Bson> changes, String field, Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            changes.add(Updates.set(field, newValue));
+        }
+    }
+    
+    /**
+     * Filter _id dan versi. Document lama yang belum punya field version dianggap versi 0.
+     */
+    private static Bson versionFilter(ObjectId id, long version) {
+        Bson versionMatches = version == 0
+                ? Filters.or(Filters.eq("version", 0L), Filters.exists("version", false))
+                : Filters.eq("version", version);
+        return Filters.and(Filters.eq("_id", id), versionMatches);
+    }
+    
+    private static Bson versioned(List<Bson> changes) {
+        changes.add(Updates.inc("version", 1L));
+        changes.add(Updates.set("updatedAt", new Date()));
+        return Updates.combine(changes);
+    }
+    
+    /**
+     * Menyimpan satu batch freelancer sekaligus (insertMany unordered).
+     * Jika sebagian dokumen gagal, MongoBulkWriteException dilempar dan
+     * dokumen lain di batch tetap tersimpan.
+     */
+    @Override
+    public int insertFreelancerBatch(List<Freelancer> batch) {
+        List<Document> docs = new ArrayList<>(batch.size());
+        for (Freelancer freelancer : batch) {
+            docs.add(new Document("_id", freelancer.getId())
+                    .append("name", freelancer.getName())
+                    .append("skill", freelancer.getSkill())
+                    .append("ratePerHour", freelancer.getRatePerHour())
+                    .append("rating", freelancer.getRating())
+                    .append("version", freelancer.getVersion())
+                    .append("updatedAt", updatedAt(freelancer.getUpdatedAt())));
+        }
+        try {
+            return freelancers().withDocumentClass(Document.class).insertMany(docs, UNORDERED).getInsertedIds().size();
+        } finally {
+            freelancerStats.invalidate();
+        }
+    }
+    
+    private static Date updatedAt(long millis) {
+        return new Date(millis != 0 ? millis : System.currentTimeMillis());
+    }
+    
+    @Override
+    public int insertProjectBatch(List<Project> batch) {
+        List<Document> docs = new ArrayList<>(batch.size());
+        for (Project project : batch) {
+            Document doc = new Document();
+            if (project.getId() != null) {
+                doc.append("_id", project.getId());
+            }
+            docs.add(doc.append("title", project.getTitle())
+                    .append("description", project.getDescription())
+                    .append("budget", project.getBudget())
+                    .append("companyName", project.getCompanyName())
+                    .append("version", project.getVersion())
+                    .append("updatedAt", updatedAt(project.getUpdatedAt())));
+        }
+        try {
+            return projects().withDocumentClass(Document.class).insertMany(docs, UNORDERED).getInsertedIds().size();
+        } finally {
+            projectStats.invalidate();
+        }
+    }
+    
+    /**
+     * Membaca seluruh freelancer lewat cursor dengan batch size tertentu tanpa
+     * menampung hasilnya di memori (dan tanpa mengisi cache). Mengembalikan jumlah dokumen.
+     */
+    @Override
+    public long forEachFreelancer(int batchSize, Consumer<Freelancer> action) {
+        long count = 0;
+        for (Freelancer freelancer : freelancers().find().batchSize(batchSize)) {
+            action.accept(freelancer);
+            count++;
+        }
+        return count;
+    }
+    
+    @Override
+    public long forEachProject(int batchSize, Consumer<Project> action) {
+        long count = 0;
+        for (Project project : projects().find().batchSize(batchSize)) {
+            action.accept(project);
+            count++;
+        }
+        return count;
+    }
+    
+    /**
+     * Statistik dari cache, atau dihitung ulang di server jika sudah kedaluwarsa
+     * (marketplace.stats.ttlSec) atau koleksi freelancer sudah diubah lewat repository ini.
+     */
+    @Override
+    public MarketplaceStats.Freelancers freelancerStatistics() {
+        return freelancerStats.get();
+    }
+    
+    @Override
+    public MarketplaceStats.Projects projectStatistics() {
+        return projectStats.get();
+    }
+    
+    /**
+     * Satu aggregation dengan $facet: jumlah total, kelompok per skill dan sebaran rate
+     * dihitung dalam satu kali baca koleksi di server; hanya hasilnya yang dikirim.
+     */
+    private MarketplaceStats.Freelancers aggregateFreelancerStatistics() {
+        Document result = freelancers().aggregate(List.of(Aggregates.facet(
+                new Facet("total", Aggregates.count("count")),
+                new Facet("skills",
+                        Aggregates.group("$skill",
+                                Accumulators.sum("count", 1),
+                                Accumulators.avg("averageRate", "$ratePerHour"),
+                                Accumulators.avg("averageRating", "$rating")),
+                        Aggregates.sort(Sorts.orderBy(Sorts.descending("count"), Sorts.ascending("_id"))),
+                        Aggregates.limit(MarketplaceStats.TOP_GROUPS)),
+                new Facet("rates", distribution("$ratePerHour", MarketplaceStats.RATE_BOUNDARIES)))),
+                Document.class).allowDiskUse(true).first();
+        
+        List<MarketplaceStats.SkillGroup> skills = new ArrayList<>();
+        for (Document group : result.getList("skills", Document.class)) {
+            skills.add(new MarketplaceStats.SkillGroup(group.getString("_id"), number(group, "count").longValue(),
+                    number(group, "averageRate").doubleValue(), number(group, "averageRating").doubleValue()));
+        }
+        return new MarketplaceStats.Freelancers(total(result), skills,
+                buckets(result.getList("rates", Document.class), MarketplaceStats.RATE_BOUNDARIES));
+    }
+    
+    /**
+     * Median budget memakai accumulator $median (MongoDB 7.0 ke atas).
+     */
+    private MarketplaceStats.Projects aggregateProjectStatistics() {
+        Document result = projects().aggregate(List.of(Aggregates.facet(
+                new Facet("total", Aggregates.count("count")),
+                new Facet("companies",
+                        Aggregates.group("$companyName",
+                                Accumulators.sum("count", 1),
+                                Accumulators.sum("totalBudget", "$budget"),
+                                Accumulators.median("medianBudget", "$budget", QuantileMethod.approximate())),
+                        Aggregates.sort(Sorts.orderBy(Sorts.descending("totalBudget"), Sorts.ascending("_id"))),
+                        Aggregates.limit(MarketplaceStats.TOP_GROUPS)),
+                new Facet("budgets", distribution("$budget", MarketplaceStats.BUDGET_BOUNDARIES)))),
+                Document.class).allowDiskUse(true).first();
+        
+        List<MarketplaceStats.CompanyGroup> companies = new ArrayList<>();
+        for (Document group : result.getList("companies", Document.class)) {
+            companies.add(new MarketplaceStats.CompanyGroup(group.getString("_id"), number(group, "count").longValue(),
+                    number(group, "totalBudget").doubleValue(), number(group, "medianBudget").doubleValue()));
+        }
+        return new MarketplaceStats.Projects(total(result), companies,
+                buckets(result.getList("budgets", Document.class), MarketplaceStats.BUDGET_BOUNDARIES));
+    }
+    
+    /**
+     * $bucket dengan batas yang sama seperti MarketplaceStats; batas pertama diganti -Infinity
+     * dan ditambah +Infinity di akhir agar setiap angka masuk salah satu kelompok.
+     */
+    private static Bson distribution(String field, double[] boundaries) {
+        List<Double> edges = new ArrayList<>(boundaries.length + 1);
+        edges.add(Double.NEGATIVE_INFINITY);
+        for (int i = 1; i < boundaries.length; i++) {
+            edges.add(boundaries[i]);
+        }
+        edges.add(Double.POSITIVE_INFINITY);
+        return Aggregates.bucket(field, edges, new BucketOptions()
+                .defaultBucket("lainnya")
+                .output(Accumulators.sum("count", 1)));
+    }
+    
+    private static List<MarketplaceStats.Bucket> buckets(List<Document> groups, double[] boundaries) {
+        long[] counts = new long[boundaries.length];
+        for (Document group : groups) {
+            // Kelompok "lainnya" berisi nilai yang bukan angka
+            if (group.get("_id") instanceof Number lower) {
+                counts[MarketplaceStats.bucketOf(boundaries, lower.doubleValue())] += number(group, "count").longValue();
+            }
+        }
+        return MarketplaceStats.buckets(boundaries, counts);
+    }
+    
+    private static long total(Document facets) {
+        List<Document> total = facets.getList("total", Document.class);
+        return total.isEmpty() ? 0 : number(total.get(0), "count").longValue();
+    }
+    
+    /**
+     * Angka dari hasil aggregation; tipe BSON-nya bisa int, long atau double tergantung data.
+     */
+    private static Number number(Document document, String key) {
+        Object value = document.get(key);
+        return value instanceof Number number ? number : 0;
+    }
+    
+    @Override
+    public boolean deleteFreelancer(ObjectId id) {
+        // Dibuang setelah delete, agar pembacaan yang berjalan bersamaan tidak mengisi ulang data lama
+        try {
+            return freelancers().deleteOne(new Document("_id", id)).getDeletedCount() > 0;
+        } finally {
+            freelancerCache.remove(id);
+            freelancerStats.invalidate();
+        }
+    }
+    
+    @Override
+    public boolean deleteProject(ObjectId id) {
+        try {
+            return projects().deleteOne(new Document("_id", id)).getDeletedCount() > 0;
+        } finally {
+            projectCache.remove(id);
+            projectStats.invalidate();
+        }
+    }
+    
+    @Override
+    public synchronized void close() {
+        if (freelancerStream != null) {
+            freelancerStream.close();
+            freelancerStream = null;
+        }
+        if (projectStream != null) {
+            projectStream.close();
+            projectStream = null;
+        }
+        freelancerChanges.clear();
+        projectChanges.clear();
+        if (connection != null) {
+            connection.client.close();
+            connection = null;
+        }
+    }
+}
\ No newline at end of file
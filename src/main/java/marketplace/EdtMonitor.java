@@ -0,0 +1,138 @@
+package marketplace;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventQueue yang mengukur lama setiap event di Event Dispatch Thread.
+ * Durasi dicatat di histogram "edt.dispatch"; event yang lebih lama dari batas
+ * (-Dmarketplace.edt.stallMs, default 200) dihitung di "edt.stalls" dan ditulis ke stderr
+ * bersama stack EDT yang diambil thread pengawas saat event tersebut masih berjalan.
+ *
+ * Event yang membuka dialog modal menjalankan event lain di dalamnya; waktu selama
+ * dialog menunggu input atau menjalankan event bersarang tidak dihitung sebagai milik event luar.
+ */
+final class EdtMonitor extends EventQueue {
+    private static final int MAX_DEPTH = 64;
+    private static final int STACK_FRAMES = 20;
+
+    private final long thresholdNanos;
+    private final LatencyHistogram dispatch = Metrics.latency("edt.dispatch");
+
+    // Hanya diubah oleh EDT
+    private final long[] busyNanos = new long[MAX_DEPTH];
+    private int depth = 0;
+
+    // Dibaca thread pengawas
+    private volatile Thread edt;
+    private volatile long busySince = 0; // System.nanoTime() saat EDT mulai sibuk, 0 = menunggu event
+    private volatile StackTraceElement[] sample;
+
+    private EdtMonitor(long thresholdMs) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    }
+
+    /**
+     * Memasang monitor di EventQueue sistem. Dipanggil sekali saat aplikasi mulai.
+     */
+    static void install() {
+        long thresholdMs = Long.getLong("marketplace.edt.stallMs", 200);
+        if (thresholdMs <= 0) {
+            return;
+        }
+        EdtMonitor monitor = new EdtMonitor(thresholdMs);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(monitor);
+
+        ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("edt-watchdog").daemon(true).factory());
+        long period = Math.max(10, thresholdMs / 2);
+        watchdog.scheduleAtFixedRate(monitor::check, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        pause();
+        edt = Thread.currentThread();
+        if (depth < MAX_DEPTH) {
+            busyNanos[depth] = 0;
+        }
+        depth++;
+        sample = null;
+        busySince = System.nanoTime();
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            pause();
+            depth--;
+            long busy = depth < MAX_DEPTH ? busyNanos[depth] : 0;
+            StackTraceElement[] stack = sample;
+            dispatch.record(busy);
+            if (busy >= thresholdNanos) {
+                Metrics.counter("edt.stalls").increment();
+                report(event, busy, stack);
+            }
+            // Event luar (misalnya yang membuka dialog modal) berjalan lagi mulai sekarang
+            if (depth > 0) {
+                sample = null;
+                busySince = System.nanoTime();
+            }
+        }
+    }
+
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        pause();
+        return super.getNextEvent();
+    }
+
+    /**
+     * Menutup periode sibuk yang sedang berjalan dan menambahkannya ke event paling dalam.
+     */
+    private void pause() {
+        long since = busySince;
+        if (since == 0) {
+            return;
+        }
+        busySince = 0;
+        if (depth > 0 && depth <= MAX_DEPTH) {
+            busyNanos[depth - 1] += System.nanoTime() - since;
+        }
+    }
+
+    /**
+     * Dijalankan thread pengawas: mengambil stack EDT sekali untuk setiap periode sibuk
+     * yang sudah melewati batas.
+     */
+    private void check() {
+        long since = busySince;
+        Thread thread = edt;
+        if (since == 0 || thread == null || sample != null || System.nanoTime() - since < thresholdNanos) {
+            return;
+        }
+        StackTraceElement[] stack = thread.getStackTrace();
+        // Jangan simpan stack milik event lain yang sudah dimulai saat stack diambil
+        if (busySince == since) {
+            sample = stack;
+        }
+    }
+
+    private static void report(AWTEvent event, long nanos, StackTraceElement[] stack) {
+        StringBuilder message = new StringBuilder()
+                .append(String.format("EDT sibuk %.1f ms: %s", nanos / 1e6, describe(event)));
+        if (stack != null) {
+            for (int i = 0; i < Math.min(stack.length, STACK_FRAMES); i++) {
+                message.append("\n\tat ").append(stack[i]);
+            }
+        }
+        System.err.println(message);
+    }
+
+    private static String describe(AWTEvent event) {
+        String source = event.getSource() == null ? "-" : event.getSource().getClass().getName();
+        return event.getClass().getSimpleName() + " id=" + event.getID() + " dari " + source;
+    }
+}
@@ -0,0 +1,259 @@
+package marketplace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+
+/**
+ * Engine penyimpanan lokal dalam satu file (append-only log yang di-memory-map).
+ *
+ * Setiap perubahan ditulis sebagai record baru: PUT berisi dokumen BSON lengkap,
+ * DELETE hanya berisi id. Di memori hanya disimpan index id -> posisi record terakhir
+ * per koleksi; dokumen dibaca dari file saat dibutuhkan. Jika record yang sudah tidak
+ * terpakai lebih besar dari data yang masih hidup, file dipadatkan (compaction) dengan
+ * menulis ulang record yang hidup ke file baru lalu menggantikan file lama.
+ */
+class EmbeddedStore implements Closeable {
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int RECORD_PREFIX = 2 + 12;
+    private static final int HEADER_SIZE = 8;
+    private static final long MIN_COMPACTION_BYTES = 1 << 20;
+
+    private final Path path;
+    private MappedLog log;
+    private final Map<Byte, ConcurrentSkipListMap<ObjectId, Long>> indexes = new HashMap<>();
+    private long liveBytes = 0;
+
+    EmbeddedStore(Path path) throws IOException {
+        this.path = path;
+        this.log = new MappedLog(path);
+        log.scan(this::replay);
+    }
+
+    /**
+     * Table untuk satu koleksi di dalam file ini.
+     */
+    <T> Table<T> table(byte collection, Codec<T> codec, Function<T, ObjectId> idOf) {
+        return new EmbeddedTable<>(collection, codec, idOf);
+    }
+
+    private void replay(long offset, byte[] payload) {
+        ByteBuffer record = ByteBuffer.wrap(payload);
+        byte type = record.get();
+        ConcurrentSkipListMap<ObjectId, Long> index = index(record.get());
+        ObjectId id = readId(record);
+
+        Long previous = type == PUT ? index.put(id, offset) : index.remove(id);
+        if (previous != null) {
+            liveBytes -= recordSize(previous);
+        }
+        if (type == PUT) {
+            liveBytes += HEADER_SIZE + payload.length;
+        }
+    }
+
+    private synchronized ConcurrentSkipListMap<ObjectId, Long> index(byte collection) {
+        return indexes.computeIfAbsent(collection, c -> new ConcurrentSkipListMap<>());
+    }
+
+    private synchronized byte[] readDocument(long offset) {
+        byte[] payload = log.read(offset);
+        byte[] document = new byte[payload.length - RECORD_PREFIX];
+        System.arraycopy(payload, RECORD_PREFIX, document, 0, document.length);
+        return document;
+    }
+
+    private synchronized void write(byte type, byte collection, ObjectId id, byte[] document) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_PREFIX + document.length);
+        record.put(type).put(collection);
+        id.putToByteBuffer(record);
+        record.put(document);
+
+        try {
+            long offset = log.append(record.array());
+            replay(offset, record.array());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (log.size() - liveBytes > Math.max(liveBytes, MIN_COMPACTION_BYTES)) {
+            try {
+                compact();
+            } catch (IOException e) {
+                // Record sudah tersimpan; pemadatan dicoba lagi pada penulisan berikutnya
+                System.err.println("Gagal memadatkan " + path + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Menulis ulang hanya record yang masih hidup ke file baru, lalu mengganti file lama.
+     */
+    synchronized void compact() throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".compact");
+        Files.deleteIfExists(temp);
+        Map<Byte, ConcurrentSkipListMap<ObjectId, Long>> compacted = new HashMap<>();
+
+        try (MappedLog target = new MappedLog(temp)) {
+            for (Map.Entry<Byte, ConcurrentSkipListMap<ObjectId, Long>> entry : indexes.entrySet()) {
+                ConcurrentSkipListMap<ObjectId, Long> index = new ConcurrentSkipListMap<>();
+                for (Map.Entry<ObjectId, Long> row : entry.getValue().entrySet()) {
+                    index.put(row.getKey(), target.append(log.read(row.getValue())));
+                }
+                compacted.put(entry.getKey(), index);
+            }
+        }
+
+        log.close();
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // File lama dan posisi di index masih berlaku; dibuka lagi tanpa dipadatkan
+            log = new MappedLog(path);
+            log.scan((offset, payload) -> { });
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        log = new MappedLog(path);
+        log.scan((offset, payload) -> { });
+        // Index yang sama tetap dipakai table, isinya diganti dengan posisi baru
+        for (Map.Entry<Byte, ConcurrentSkipListMap<ObjectId, Long>> entry : compacted.entrySet()) {
+            ConcurrentSkipListMap<ObjectId, Long> index = indexes.get(entry.getKey());
+            index.putAll(entry.getValue());
+        }
+    }
+
+    private int recordSize(long offset) {
+        return HEADER_SIZE + log.read(offset).length;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        log.close();
+    }
+
+    private static ObjectId readId(ByteBuffer record) {
+        byte[] id = new byte[12];
+        record.get(id);
+        return new ObjectId(id);
+    }
+
+    private class EmbeddedTable<T> implements Table<T> {
+        private final byte collection;
+        private final Codec<T> codec;
+        private final Function<T, ObjectId> idOf;
+        private final ConcurrentSkipListMap<ObjectId, Long> index;
+
+        EmbeddedTable(byte collection, Codec<T> codec, Function<T, ObjectId> idOf) {
+            this.collection = collection;
+            this.codec = codec;
+            this.idOf = idOf;
+            this.index = index(collection);
+        }
+
+        @Override
+        public T get(ObjectId id) {
+            // Dikunci bersama compaction agar posisi record tidak berubah di tengah pembacaan
+            synchronized (EmbeddedStore.this) {
+                Long offset = index.get(id);
+                return offset == null ? null : decode(offset);
+            }
+        }
+
+        @Override
+        public void put(T row) {
+            BasicOutputBuffer output = new BasicOutputBuffer();
+            try (BsonBinaryWriter writer = new BsonBinaryWriter(output)) {
+                codec.encode(writer, row, EncoderContext.builder().build());
+            }
+            write(PUT, collection, idOf.apply(row), output.toByteArray());
+        }
+
+        @Override
+        public boolean remove(ObjectId id) {
+            if (!index.containsKey(id)) {
+                return false;
+            }
+            write(DELETE, collection, id, new byte[0]);
+            return true;
+        }
+
+        @Override
+        public List<T> scan(ObjectId after, Predicate<T> filter, int skip, int limit) {
+            Map<ObjectId, Long> range = after == null ? index : index.tailMap(after, false);
+            List<T> result = new ArrayList<>(limit);
+            for (ObjectId id : range.keySet()) {
+                if (filter == null && skip > 0) {
+                    // Tanpa filter, baris yang dilewati tidak perlu dibaca dari file
+                    skip--;
+                    continue;
+                }
+                T row = get(id);
+                if (row == null || (filter != null && !filter.test(row))) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                result.add(row);
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public int count(Predicate<T> filter) {
+            if (filter == null) {
+                return index.size();
+            }
+            int count = 0;
+            for (ObjectId id : index.keySet()) {
+                T row = get(id);
+                if (row != null && filter.test(row)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void forEach(Consumer<T> action) {
+            for (ObjectId id : index.keySet()) {
+                T row = get(id);
+                if (row != null) {
+                    action.accept(row);
+                }
+            }
+        }
+
+        private T decode(long offset) {
+            ByteBuffer document = ByteBuffer.wrap(readDocument(offset));
+            try (BsonBinaryReader reader = new BsonBinaryReader(document)) {
+                return codec.decode(reader, DecoderContext.builder().build());
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package marketplace;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import org.bson.types.ObjectId;
+
+/**
+ * Cache entitas (Freelancer/Project) yang diindeks berdasarkan ObjectId.
+ * get/put/remove berjalan O(1); jika jumlah entri melebihi batas, entri yang
+ * paling lama tidak diakses dibuang (LRU). Aman dipakai dari beberapa thread.
+ */
+public class EntityCache<T> {
+    private final int maxSize;
+    private final Function<T, ObjectId> idOf;
+    private final LinkedHashMap<ObjectId, T> entries;
+    private long hits = 0;
+    private long misses = 0;
+
+    public EntityCache(int maxSize, Function<T, ObjectId> idOf) {
+        this.maxSize = maxSize;
+        this.idOf = idOf;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ObjectId, T> eldest) {
+                return size() > EntityCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Mengambil entitas dari cache, atau null jika tidak ada (dihitung sebagai miss).
+     */
+    public synchronized T get(ObjectId id) {
+        T value = entries.get(id);
+        if (value != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return value;
+    }
+
+    public ObjectId idOf(T entity) {
+        return idOf.apply(entity);
+    }
+
+    public synchronized void put(T entity) {
+        entries.put(idOf.apply(entity), entity);
+    }
+
+    public synchronized void putAll(Collection<T> entities) {
+        for (T entity : entities) {
+            entries.put(idOf.apply(entity), entity);
+        }
+    }
+
+    /**
+     * Mengganti entri yang sudah ada dengan versi yang lebih baru (misalnya perubahan dari
+     * klien lain). Entitas yang tidak ada di cache tidak ditambahkan.
+     */
+    public synchronized void updateIfCached(T entity, ToLongFunction<T> versionOf) {
+        ObjectId id = idOf.apply(entity);
+        T cached = entries.get(id);
+        if (cached != null && versionOf.applyAsLong(cached) <= versionOf.applyAsLong(entity)) {
+            entries.put(id, entity);
+        }
+    }
+
+    public synchronized void remove(ObjectId id) {
+        entries.remove(id);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d/%d entri, %d hit, %d miss", entries.size(), maxSize, hits, misses);
+    }
+}
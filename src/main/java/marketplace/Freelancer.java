@@ -1,3 +1,5 @@
+package marketplace;
+
 import org.bson.types.ObjectId;
 
 public class Freelancer {
@@ -7,21 +9,33 @@ public class Freelancer {
     private String skill;
     private double ratePerHour;
     private double rating;
+    // Dinaikkan setiap kali diubah; dipakai untuk mendeteksi perubahan bersamaan (optimistic locking)
+    private long version;
+    // Waktu perubahan terakhir dalam epoch milidetik, 0 jika tidak diketahui
+    private long updatedAt;
 
     // Constructor untuk DatabaseManager
     public Freelancer(ObjectId id, String name, String skill, double ratePerHour, double rating) {
+        this(id, name, skill, ratePerHour, rating, 0, 0);
+    }
+
+    public Freelancer(ObjectId id, String name, String skill, double ratePerHour, double rating,
+                      long version, long updatedAt) {
         this.id = id;
         this.name = name;
         this.skill = skill;
         this.ratePerHour = ratePerHour;
         this.rating = rating;
+        this.version = version;
+        this.updatedAt = updatedAt;
     }
     
     // Constructor untuk MarketplaceGUI
-    // Tanpa id, karena id nantinya akan dibuat secara otomatis oleh MongoDB
-    // Objek yang dibuat dengan constructor ini hanya digunakan untuk membuat document MongoDB
+    // Id dibuat di sisi klien, bukan oleh MongoDB: WriteBehindQueue dan WriteJournal merujuk
+    // freelancer baru dengan id ini sebelum tersimpan, dan insert yang dikirim ulang setelah
+    // crash tetap memakai id yang sama sehingga tidak menghasilkan dokumen ganda
     public Freelancer(String name, String skill, double ratePerHour, double rating) {
-        this.id = new ObjectId(); // Isi dengan id sementara
+        this.id = new ObjectId();
         this.name = name;
         this.skill = skill;
         this.ratePerHour = ratePerHour;
@@ -34,6 +48,15 @@ public class Freelancer {
     public String getSkill() { return skill; }
     public double getRatePerHour() { return ratePerHour; }
     public double getRating() { return rating; }
+    public long getVersion() { return version; }
+    public long getUpdatedAt() { return updatedAt; }
+
+    /**
+     * Salinan dengan versi dan waktu perubahan yang lain.
+     */
+    public Freelancer withVersion(long version, long updatedAt) {
+        return new Freelancer(id, name, skill, ratePerHour, rating, version, updatedAt);
+    }
 
     /**
      * Override toString()
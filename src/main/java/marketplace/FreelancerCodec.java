@@ -0,0 +1,82 @@
+package marketplace;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+/**
+ * Codec yang membaca dokumen freelancer langsung dari BsonReader menjadi Freelancer,
+ * tanpa membuat org.bson.Document perantara. Skill diambil dari StringDictionary agar nilai
+ * yang sama di banyak dokumen memakai satu instance String.
+ */
+public class FreelancerCodec implements Codec<Freelancer> {
+
+    @Override
+    public Freelancer decode(BsonReader reader, DecoderContext decoderContext) {
+        ObjectId id = null;
+        String name = null;
+        String skill = null;
+        double ratePerHour = 0.0;
+        double rating = 0.0;
+        long version = 0;
+        long updatedAt = 0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id":
+                    id = reader.readObjectId();
+                    break;
+                case "name":
+                    name = BsonFields.readString(reader);
+                    break;
+                case "skill":
+                    skill = StringDictionary.SKILLS.intern(BsonFields.readString(reader));
+                    break;
+                case "ratePerHour":
+                    ratePerHour = BsonFields.readDouble(reader);
+                    break;
+                case "rating":
+                    rating = BsonFields.readDouble(reader);
+                    break;
+                case "version":
+                    version = BsonFields.readLong(reader);
+                    break;
+                case "updatedAt":
+                    updatedAt = BsonFields.readDateTime(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new Freelancer(id, name, skill, ratePerHour, rating, version, updatedAt);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Freelancer freelancer, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        if (freelancer.getId() != null) {
+            writer.writeObjectId("_id", freelancer.getId());
+        }
+        BsonFields.writeString(writer, "name", freelancer.getName());
+        BsonFields.writeString(writer, "skill", freelancer.getSkill());
+        writer.writeDouble("ratePerHour", freelancer.getRatePerHour());
+        writer.writeDouble("rating", freelancer.getRating());
+        writer.writeInt64("version", freelancer.getVersion());
+        if (freelancer.getUpdatedAt() != 0) {
+            writer.writeDateTime("updatedAt", freelancer.getUpdatedAt());
+        }
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<Freelancer> getEncoderClass() {
+        return Freelancer.class;
+    }
+}
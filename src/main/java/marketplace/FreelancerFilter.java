@@ -0,0 +1,75 @@
+package marketplace;
+
+import com.mongodb.client.model.Filters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.conversions.Bson;
+
+/**
+ * Kriteria pencarian freelancer: kata kunci (text index pada name/skill)
+ * dan rentang ratePerHour/rating. Field yang null tidak dipakai.
+ */
+public class FreelancerFilter {
+    private final String text;
+    private final Double minRate;
+    private final Double maxRate;
+    private final Double minRating;
+
+    public FreelancerFilter(String text, Double minRate, Double maxRate, Double minRating) {
+        this.text = text == null || text.isBlank() ? null : text.trim();
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.minRating = minRating;
+    }
+
+    public String getText() { return text; }
+    public Double getMinRate() { return minRate; }
+    public Double getMaxRate() { return maxRate; }
+    public Double getMinRating() { return minRating; }
+
+    public boolean isEmpty() {
+        return text == null && minRate == null && maxRate == null && minRating == null;
+    }
+
+    /**
+     * Filter MongoDB untuk kriteria ini, atau null jika tidak ada kriteria.
+     */
+    public Bson toBson() {
+        List<Bson> conditions = new ArrayList<>();
+        if (text != null) {
+            conditions.add(Filters.text(text));
+        }
+        if (minRate != null) {
+            conditions.add(Filters.gte("ratePerHour", minRate));
+        }
+        if (maxRate != null) {
+            conditions.add(Filters.lte("ratePerHour", maxRate));
+        }
+        if (minRating != null) {
+            conditions.add(Filters.gte("rating", minRating));
+        }
+        if (conditions.isEmpty()) {
+            return null;
+        }
+        return conditions.size() == 1 ? conditions.get(0) : Filters.and(conditions);
+    }
+
+    /**
+     * Evaluasi kriteria yang sama di memori, untuk engine penyimpanan selain MongoDB.
+     */
+    public boolean matches(Freelancer freelancer) {
+        if (minRate != null && freelancer.getRatePerHour() < minRate) {
+            return false;
+        }
+        if (maxRate != null && freelancer.getRatePerHour() > maxRate) {
+            return false;
+        }
+        if (minRating != null && freelancer.getRating() < minRating) {
+            return false;
+        }
+        return text == null
+                || Tokenizer.matchesAny(Tokenizer.tokens(text), freelancer.getName() + " " + freelancer.getSkill());
+    }
+}
@@ -0,0 +1,108 @@
+package marketplace;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.bson.types.ObjectId;
+
+/**
+ * Akses data freelancer, tidak bergantung pada engine penyimpanan (MongoDB, memori, file).
+ * Semua method boleh melakukan I/O; versi *Async menjalankannya di Repositories.executor().
+ */
+public interface FreelancerRepository {
+    List<Freelancer> getAllFreelancers();
+
+    /**
+     * Mencari freelancer berdasarkan id. Mengembalikan null jika tidak ditemukan.
+     */
+    Freelancer findFreelancerById(ObjectId id);
+
+    /**
+     * Freelancer dengan id tertentu jika bisa didapat tanpa akses jaringan
+     * (misalnya dari cache), atau null.
+     */
+    Freelancer peekFreelancer(ObjectId id);
+
+    /**
+     * Sumber data per halaman yang hanya berisi freelancer sesuai filter (null = semua),
+     * dalam urutan asli.
+     */
+    default PageSource<Freelancer> freelancerPages(FreelancerFilter filter) {
+        return freelancerPages(filter, SortSpec.natural());
+    }
+
+    /**
+     * Sama seperti freelancerPages(filter), diurutkan menurut sort.
+     */
+    PageSource<Freelancer> freelancerPages(FreelancerFilter filter, SortSpec<Freelancer> sort);
+
+    /**
+     * Menyimpan freelancer baru dan mengembalikan objek dengan id yang tersimpan.
+     */
+    Freelancer insertFreelancer(Freelancer freelancer);
+
+    /**
+     * Menyimpan satu batch freelancer sekaligus, mengembalikan jumlah yang tersimpan.
+     */
+    int insertFreelancerBatch(List<Freelancer> batch);
+
+    /**
+     * Mengubah freelancer dan mengembalikan versi setelah diubah, atau null jika sudah tidak ada.
+     * Hanya field yang berbeda dari objek yang diberikan yang ditulis. Jika versi yang
+     * tersimpan sudah berbeda dari getVersion() objek tersebut, ConcurrentUpdateException dilempar.
+     */
+    Freelancer updateFreelancer(Freelancer freelancer, String name, String skill, double rate, double rating);
+
+    boolean deleteFreelancer(ObjectId id);
+
+    /**
+     * Menjalankan sekumpulan operasi tulis (dari WriteBehindQueue) sekaligus. Mengembalikan
+     * versi terbaru dari freelancer yang update-nya ditolak karena konflik versi. Jika sebagian
+     * operasi ditolak permanen (misalnya gagal validasi), RejectedWritesException dilempar
+     * setelah operasi lainnya tersimpan. Implementasi default menjalankannya satu per satu.
+     */
+    default List<Freelancer> applyFreelancerWrites(List<WriteOp<Freelancer>> ops) {
+        return WriteOp.applyEach(ops, this::insertFreelancer,
+                (before, after) -> updateFreelancer(before, after.getName(), after.getSkill(),
+                        after.getRatePerHour(), after.getRating()),
+                this::deleteFreelancer);
+    }
+
+    /**
+     * Membaca seluruh freelancer secara streaming tanpa menampungnya di memori.
+     * Mengembalikan jumlah freelancer yang dibaca.
+     */
+    long forEachFreelancer(int batchSize, Consumer<Freelancer> action);
+
+    /**
+     * Ringkasan statistik freelancer untuk panel statistik. Implementasi default
+     * menghitungnya di sisi klien sambil membaca seluruh freelancer.
+     */
+    default MarketplaceStats.Freelancers freelancerStatistics() {
+        return MarketplaceStats.Freelancers.compute(this);
+    }
+
+    // --- Versi async ---
+
+    default CompletableFuture<List<Freelancer>> getAllFreelancersAsync() {
+        return CompletableFuture.supplyAsync(this::getAllFreelancers, Repositories.executor());
+    }
+
+    default CompletableFuture<Freelancer> findFreelancerByIdAsync(ObjectId id) {
+        return CompletableFuture.supplyAsync(() -> findFreelancerById(id), Repositories.executor());
+    }
+
+    default CompletableFuture<Freelancer> insertFreelancerAsync(Freelancer freelancer) {
+        return CompletableFuture.supplyAsync(() -> insertFreelancer(freelancer), Repositories.executor());
+    }
+
+    default CompletableFuture<Freelancer> updateFreelancerAsync(Freelancer freelancer, String name, String skill,
+                                                               double rate, double rating) {
+        return CompletableFuture.supplyAsync(() -> updateFreelancer(freelancer, name, skill, rate, rating),
+                Repositories.executor());
+    }
+
+    default CompletableFuture<Boolean> deleteFreelancerAsync(ObjectId id) {
+        return CompletableFuture.supplyAsync(() -> deleteFreelancer(id), Repositories.executor());
+    }
+}
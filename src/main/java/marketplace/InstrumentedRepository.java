@@ -0,0 +1,173 @@
+package marketplace;
+
+import java.util.List;
+import java.util.function.Consumer;
+import org.bson.types.ObjectId;
+
+/**
+ * Membungkus repository lain dan mencatat latensi serta jumlah error setiap method
+ * di Metrics dengan nama "repository.&lt;method&gt;". Versi *Async tidak perlu dibungkus
+ * karena implementasi default-nya memanggil method sinkron di kelas ini.
+ */
+final class InstrumentedRepository implements MarketplaceRepository {
+    private final MarketplaceRepository delegate;
+
+    InstrumentedRepository(MarketplaceRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return delegate.isAvailable();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public ChangeFeed watchChanges(ChangeFeed.Listener<Freelancer> freelancers, ChangeFeed.Listener<Project> projects) {
+        return delegate.watchChanges(freelancers, projects);
+    }
+
+    @Override
+    public List<Freelancer> getAllFreelancers() {
+        return Metrics.time("repository.getAllFreelancers", delegate::getAllFreelancers);
+    }
+
+    @Override
+    public Freelancer findFreelancerById(ObjectId id) {
+        return Metrics.time("repository.findFreelancerById", () -> delegate.findFreelancerById(id));
+    }
+
+    @Override
+    public Freelancer peekFreelancer(ObjectId id) {
+        // Hanya membaca cache; tidak dicatat agar tidak menambah beban di EDT
+        return delegate.peekFreelancer(id);
+    }
+
+    @Override
+    public PageSource<Freelancer> freelancerPages(FreelancerFilter filter, SortSpec<Freelancer> sort) {
+        return new Pages<>("repository.freelancerPages", delegate.freelancerPages(filter, sort));
+    }
+
+    @Override
+    public Freelancer insertFreelancer(Freelancer freelancer) {
+        return Metrics.time("repository.insertFreelancer", () -> delegate.insertFreelancer(freelancer));
+    }
+
+    @Override
+    public int insertFreelancerBatch(List<Freelancer> batch) {
+        return Metrics.time("repository.insertFreelancerBatch", () -> delegate.insertFreelancerBatch(batch));
+    }
+
+    @Override
+    public Freelancer updateFreelancer(Freelancer freelancer, String name, String skill, double rate, double rating) {
+        return Metrics.time("repository.updateFreelancer",
+                () -> delegate.updateFreelancer(freelancer, name, skill, rate, rating));
+    }
+
+    @Override
+    public boolean deleteFreelancer(ObjectId id) {
+        return Metrics.time("repository.deleteFreelancer", () -> delegate.deleteFreelancer(id));
+    }
+
+    @Override
+    public List<Freelancer> applyFreelancerWrites(List<WriteOp<Freelancer>> ops) {
+        Metrics.counter("repository.applyFreelancerWrites.ops").add(ops.size());
+        return Metrics.time("repository.applyFreelancerWrites", () -> delegate.applyFreelancerWrites(ops));
+    }
+
+    @Override
+    public long forEachFreelancer(int batchSize, Consumer<Freelancer> action) {
+        return Metrics.time("repository.forEachFreelancer", () -> delegate.forEachFreelancer(batchSize, action));
+    }
+
+    @Override
+    public MarketplaceStats.Freelancers freelancerStatistics() {
+        return Metrics.time("repository.freelancerStatistics", delegate::freelancerStatistics);
+    }
+
+    @Override
+    public List<Project> getAllProjects() {
+        return Metrics.time("repository.getAllProjects", delegate::getAllProjects);
+    }
+
+    @Override
+    public Project findProjectById(ObjectId id) {
+        return Metrics.time("repository.findProjectById", () -> delegate.findProjectById(id));
+    }
+
+    @Override
+    public Project peekProject(ObjectId id) {
+        return delegate.peekProject(id);
+    }
+
+    @Override
+    public PageSource<Project> projectPages(ProjectFilter filter, SortSpec<Project> sort) {
+        return new Pages<>("repository.projectPages", delegate.projectPages(filter, sort));
+    }
+
+    @Override
+    public Project insertProject(Project project) {
+        return Metrics.time("repository.insertProject", () -> delegate.insertProject(project));
+    }
+
+    @Override
+    public int insertProjectBatch(List<Project> batch) {
+        return Metrics.time("repository.insertProjectBatch", () -> delegate.insertProjectBatch(batch));
+    }
+
+    @Override
+    public Project updateProject(Project project, String title, String company, String desc, double budget) {
+        return Metrics.time("repository.updateProject",
+                () -> delegate.updateProject(project, title, company, desc, budget));
+    }
+
+    @Override
+    public boolean deleteProject(ObjectId id) {
+        return Metrics.time("repository.deleteProject", () -> delegate.deleteProject(id));
+    }
+
+    @Override
+    public List<Project> applyProjectWrites(List<WriteOp<Project>> ops) {
+        Metrics.counter("repository.applyProjectWrites.ops").add(ops.size());
+        return Metrics.time("repository.applyProjectWrites", () -> delegate.applyProjectWrites(ops));
+    }
+
+    @Override
+    public long forEachProject(int batchSize, Consumer<Project> action) {
+        return Metrics.time("repository.forEachProject", () -> delegate.forEachProject(batchSize, action));
+    }
+
+    @Override
+    public MarketplaceStats.Projects projectStatistics() {
+        return Metrics.time("repository.projectStatistics", delegate::projectStatistics);
+    }
+
+    /**
+     * PageSource yang mencatat count() dan fetchPage() sebagai "&lt;name&gt;.count" dan "&lt;name&gt;.fetchPage".
+     */
+    private static final class Pages<T> implements PageSource<T> {
+        private final String count;
+        private final String fetchPage;
+        private final PageSource<T> delegate;
+
+        Pages(String name, PageSource<T> delegate) {
+            this.count = name + ".count";
+            this.fetchPage = name + ".fetchPage";
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int count() {
+            return Metrics.time(count, delegate::count);
+        }
+
+        @Override
+        public List<T> fetchPage(int offset, int limit, T previous) {
+            return Metrics.time(fetchPage, () -> delegate.fetchPage(offset, limit, previous));
+        }
+    }
+}
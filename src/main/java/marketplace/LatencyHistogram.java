@@ -0,0 +1,125 @@
+package marketplace;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram durasi (nanodetik) dengan bucket log-linear: setiap pangkat dua dibagi
+ * menjadi 16 bucket sama lebar, sehingga galat relatif persentil paling besar sekitar 6%
+ * dan ukurannya tetap (960 bucket) berapapun jumlah sampelnya.
+ * record() tidak mengalokasikan objek dan aman dipanggil dari banyak thread.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        total.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long samples = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            samples += copy[i];
+        }
+        return new Snapshot(copy, samples, total.sum(), max.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    private static int bucketOf(long value) {
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent < SUB_BITS) {
+            return (int) value;
+        }
+        int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Nilai tengah bucket, dipakai sebagai perkiraan persentil.
+     */
+    private static long midpointOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            // Nilai di bawah 32 ns punya bucket sendiri-sendiri
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) / 2;
+    }
+
+    /**
+     * Isi histogram pada satu saat. Getter dalam milidetik agar terbaca langsung di JConsole.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() { return count; }
+        public double getMeanMillis() { return count == 0 ? 0 : totalNanos / (double) count / 1e6; }
+        public double getP50Millis() { return percentileNanos(50) / 1e6; }
+        public double getP95Millis() { return percentileNanos(95) / 1e6; }
+        public double getP99Millis() { return percentileNanos(99) / 1e6; }
+        public double getMaxMillis() { return maxNanos / 1e6; }
+
+        /**
+         * Durasi yang tidak dilampaui oleh percent persen sampel.
+         */
+        public long percentileNanos(double percent) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(count * percent / 100));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(midpointOf(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d mean=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                    count, getMeanMillis(), getP50Millis(), getP95Millis(), getP99Millis(), getMaxMillis());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package marketplace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PageSource sederhana yang membaca dari list di memori.
+ */
+public class ListPageSource<T> implements PageSource<T> {
+    private final List<T> rows;
+
+    public ListPageSource(List<T> rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public int count() {
+        return rows.size();
+    }
+
+    @Override
+    public List<T> fetchPage(int offset, int limit, T previous) {
+        int end = Math.min(rows.size(), offset + limit);
+        if (offset >= end) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(rows.subList(offset, end));
+    }
+}
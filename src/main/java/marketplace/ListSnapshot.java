@@ -0,0 +1,193 @@
+package marketplace;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshot lokal dari baris awal daftar freelancer dan proyek, dipakai agar
+ * aplikasi langsung menampilkan data terakhir saat dibuka, sebelum server menjawab.
+ *
+ * Format file (big-endian):
+ * [int magic][int versi][long waktu dibuat][short panjang sumber][sumber UTF-8]
+ * lalu dua bagian (freelancer, proyek) masing-masing
+ * [int jumlah baris total][int jumlah baris tersimpan] diikuti [int panjang][dokumen BSON] per baris,
+ * dan ditutup [int CRC32C] atas semua byte sebelumnya.
+ * File dengan magic, versi, sumber atau CRC yang tidak cocok diabaikan.
+ */
+public final class ListSnapshot {
+    private static final int MAGIC = 0x4D4B534E; // "MKSN"
+    private static final int VERSION = 1;
+
+    private static final FreelancerCodec FREELANCER_CODEC = new FreelancerCodec();
+    private static final ProjectCodec PROJECT_CODEC = new ProjectCodec();
+
+    private final long createdAt;
+    private final int freelancerCount;
+    private final List<Freelancer> freelancers;
+    private final int projectCount;
+    private final List<Project> projects;
+
+    public ListSnapshot(int freelancerCount, List<Freelancer> freelancers, int projectCount, List<Project> projects) {
+        this(System.currentTimeMillis(), freelancerCount, freelancers, projectCount, projects);
+    }
+
+    private ListSnapshot(long createdAt, int freelancerCount, List<Freelancer> freelancers,
+                         int projectCount, List<Project> projects) {
+        this.createdAt = createdAt;
+        this.freelancerCount = freelancerCount;
+        this.freelancers = freelancers;
+        this.projectCount = projectCount;
+        this.projects = projects;
+    }
+
+    public long getCreatedAt() { return createdAt; }
+    public int getFreelancerCount() { return freelancerCount; }
+    public List<Freelancer> getFreelancers() { return freelancers; }
+    public int getProjectCount() { return projectCount; }
+    public List<Project> getProjects() { return projects; }
+
+    /**
+     * Menulis snapshot ke file sementara lalu memindahkannya, sehingga file lama
+     * tidak pernah tertimpa setengah jadi.
+     *
+     * @param source penanda asal data (misalnya engine penyimpanan); snapshot dari sumber lain diabaikan saat dibaca
+     */
+    public void write(Path file, String source) throws IOException {
+        byte[] body = encodeBody(source);
+
+        ByteBuffer out = ByteBuffer.allocate(body.length + Integer.BYTES);
+        out.put(body);
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        out.putInt((int) crc.getValue());
+        out.flip();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private byte[] encodeBody(String source) {
+        List<byte[]> freelancerRows = encodeAll(freelancers, FREELANCER_CODEC);
+        List<byte[]> projectRows = encodeAll(projects, PROJECT_CODEC);
+        byte[] sourceBytes = source.getBytes(StandardCharsets.UTF_8);
+
+        int length = 4 + 4 + 8 + 2 + sourceBytes.length + sectionLength(freelancerRows) + sectionLength(projectRows);
+        ByteBuffer body = ByteBuffer.allocate(length);
+        body.putInt(MAGIC).putInt(VERSION).putLong(createdAt);
+        body.putShort((short) sourceBytes.length).put(sourceBytes);
+        putSection(body, freelancerCount, freelancerRows);
+        putSection(body, projectCount, projectRows);
+        return body.array();
+    }
+
+    /**
+     * Membaca snapshot, atau null jika file tidak ada, rusak, versinya berbeda,
+     * atau dibuat dari sumber data lain.
+     */
+    public static ListSnapshot read(Path file, String source) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 4 + 4 + 8 + 2 + 4 || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            ByteBuffer body = data.slice(0, (int) size - Integer.BYTES);
+            CRC32C crc = new CRC32C();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != data.getInt((int) size - Integer.BYTES)) {
+                return null;
+            }
+
+            if (body.getInt() != MAGIC || body.getInt() != VERSION) {
+                return null;
+            }
+            long createdAt = body.getLong();
+            byte[] sourceBytes = new byte[body.getShort()];
+            body.get(sourceBytes);
+            if (!source.equals(new String(sourceBytes, StandardCharsets.UTF_8))) {
+                return null;
+            }
+
+            int freelancerCount = body.getInt();
+            List<Freelancer> freelancers = readSection(body, FREELANCER_CODEC);
+            int projectCount = body.getInt();
+            List<Project> projects = readSection(body, PROJECT_CODEC);
+            return new ListSnapshot(createdAt, freelancerCount, freelancers, projectCount, projects);
+        } catch (IOException | RuntimeException e) {
+            // Snapshot hanya mempercepat startup; jika tidak terbaca, data tetap dimuat dari server
+            System.err.println("Snapshot diabaikan: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static <T> List<byte[]> encodeAll(List<T> rows, Codec<T> codec) {
+        List<byte[]> result = new ArrayList<>(rows.size());
+        EncoderContext context = EncoderContext.builder().build();
+        for (T row : rows) {
+            BasicOutputBuffer buffer = new BasicOutputBuffer();
+            try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+                codec.encode(writer, row, context);
+            }
+            result.add(buffer.toByteArray());
+        }
+        return result;
+    }
+
+    private static int sectionLength(List<byte[]> rows) {
+        int length = 4 + 4;
+        for (byte[] row : rows) {
+            length += 4 + row.length;
+        }
+        return length;
+    }
+
+    private static void putSection(ByteBuffer body, int count, List<byte[]> rows) {
+        body.putInt(count).putInt(rows.size());
+        for (byte[] row : rows) {
+            body.putInt(row.length).put(row);
+        }
+    }
+
+    private static <T> List<T> readSection(ByteBuffer body, Codec<T> codec) {
+        int rows = body.getInt();
+        List<T> result = new ArrayList<>(rows);
+        DecoderContext context = DecoderContext.builder().build();
+        for (int i = 0; i < rows; i++) {
+            int length = body.getInt();
+            ByteBuffer document = body.slice(body.position(), length);
+            body.position(body.position() + length);
+            try (BsonBinaryReader reader = new BsonBinaryReader(document)) {
+                result.add(codec.decode(reader, context));
+            }
+        }
+        return result;
+    }
+}
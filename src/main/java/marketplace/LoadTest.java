@@ -0,0 +1,538 @@
+package marketplace;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.bson.types.ObjectId;
+
+/**
+ * Generator beban untuk lapisan data: sejumlah pengguna simulasi menjalankan campuran
+ * operasi repository secara bersamaan selama waktu tertentu. Setiap interval dicetak
+ * throughput, persentil latensi dan error per operasi, serta heap dan GC, sehingga titik
+ * jenuh dan kebocoran memori pada pengujian panjang bisa dilihat dari trennya.
+ *
+ * Engine dipilih seperti biasa (-Dmarketplace.store=mongo|memory|file). Pengaturan:
+ * - marketplace.load.users         jumlah pengguna simulasi (default 50)
+ * - marketplace.load.durationSec   lama pengujian (default 60)
+ * - marketplace.load.rate          total operasi per detik; 0 = secepat mungkin (default 0)
+ * - marketplace.load.mix           bobot operasi, mis. "findFreelancer=50,insertProject=5" (default MIX)
+ * - marketplace.load.seed          jumlah freelancer dan proyek uji yang dibuat di awal (default 1000)
+ * - marketplace.load.reportSec     interval laporan (default 10)
+ * - marketplace.load.csv           file CSV untuk laporan per interval (opsional)
+ * - marketplace.load.maxErrorPct   batas persentase error sebelum exit code 1 (default 1)
+ *
+ * Data uji diberi awalan "loadtest-" dan dihapus lagi di akhir; data lain hanya dibaca.
+ * Dengan rate tetap, latensi dihitung dari waktu operasi seharusnya dimulai, sehingga
+ * waktu antre saat server tidak sanggup mengikuti rate ikut terukur.
+ *
+ * Dijalankan dengan: java -cp ... marketplace.LoadTest
+ */
+public final class LoadTest {
+    static final String MIX = "getAllFreelancers=1,getAllProjects=1,searchFreelancers=20,searchProjects=10,"
+            + "findFreelancer=25,findProject=10,insertFreelancer=3,insertProject=8,updateFreelancer=10,"
+            + "updateProject=5,deleteProject=7";
+    private static final String PREFIX = "loadtest-";
+    private static final int PAGE_SIZE = 50;
+    private static final int CLEANUP_BATCH = 500;
+    private static final String[] SKILLS = {
+        "Java", "Python", "UI/UX Design", "Data Science", "Android", "Go", "React", "DevOps"
+    };
+    private static final String[] COMPANIES = {
+        "PT Maju Jaya", "CV Sentosa", "Startup Digital", "Toko Online", "Bank Nusantara"
+    };
+
+    private final MarketplaceRepository repository;
+    private final int users;
+    private final long durationNanos;
+    private final double rate;
+    private final long reportNanos;
+    private final List<Operation> operations = new ArrayList<>();
+    private final int totalWeight;
+    private final IdPool freelancerIds = new IdPool();
+    private final IdPool projectIds = new IdPool();
+    private volatile boolean running;
+
+    public LoadTest(MarketplaceRepository repository, int users, long durationSec, double rate, String mix,
+                    long reportSec) {
+        if (users <= 0 || durationSec <= 0 || rate < 0 || reportSec <= 0) {
+            throw new IllegalArgumentException("users, durationSec dan reportSec harus positif, rate tidak boleh negatif");
+        }
+        this.repository = repository;
+        this.users = users;
+        this.durationNanos = TimeUnit.SECONDS.toNanos(durationSec);
+        this.rate = rate;
+        this.reportNanos = TimeUnit.SECONDS.toNanos(reportSec);
+
+        Map<String, Consumer<ThreadLocalRandom>> actions = actions();
+        int weight = 0;
+        for (Map.Entry<String, Integer> entry : parseMix(mix).entrySet()) {
+            Consumer<ThreadLocalRandom> action = actions.get(entry.getKey());
+            if (action == null) {
+                throw new IllegalArgumentException("Operasi tidak dikenal: " + entry.getKey()
+                        + " (tersedia: " + String.join(", ", actions.keySet()) + ")");
+            }
+            if (entry.getValue() > 0) {
+                weight += entry.getValue();
+                operations.add(new Operation(entry.getKey(), weight, action));
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("Campuran operasi kosong");
+        }
+        this.totalWeight = weight;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Metrics.start();
+        MarketplaceRepository repository = Repositories.open();
+        if (!repository.isAvailable()) {
+            System.err.println("Engine penyimpanan belum dikonfigurasi (lihat marketplace.mongo.uri atau -Dmarketplace.store).");
+            System.exit(1);
+        }
+
+        LoadTest test = new LoadTest(repository,
+                Integer.getInteger("marketplace.load.users", 50),
+                Long.getLong("marketplace.load.durationSec", 60),
+                Double.parseDouble(System.getProperty("marketplace.load.rate", "0")),
+                System.getProperty("marketplace.load.mix", MIX),
+                Long.getLong("marketplace.load.reportSec", 10));
+        String csv = System.getProperty("marketplace.load.csv");
+        double errorPercent;
+        try (PrintWriter out = csv == null ? null : new PrintWriter(Files.newBufferedWriter(Path.of(csv)))) {
+            test.seed(Integer.getInteger("marketplace.load.seed", 1000));
+            try {
+                errorPercent = test.run(out);
+            } finally {
+                test.cleanup();
+            }
+        } finally {
+            repository.close();
+        }
+        System.out.print("--- metrics ---\n" + Metrics.report());
+
+        double maxErrorPercent = Double.parseDouble(System.getProperty("marketplace.load.maxErrorPct", "1"));
+        if (errorPercent > maxErrorPercent) {
+            System.err.printf(Locale.ROOT, "Error %.2f%% melebihi batas %.2f%%%n", errorPercent, maxErrorPercent);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Membuat count freelancer dan count proyek uji sebagai bahan operasi baca dan ubah.
+     */
+    public void seed(int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Freelancer> freelancers = new ArrayList<>(CLEANUP_BATCH);
+        List<Project> projects = new ArrayList<>(CLEANUP_BATCH);
+        for (int i = 0; i < count; i++) {
+            freelancers.add(newFreelancer(random));
+            projects.add(newProject(random));
+            if (freelancers.size() == CLEANUP_BATCH || i == count - 1) {
+                repository.insertFreelancerBatch(freelancers);
+                repository.insertProjectBatch(projects);
+                freelancers.forEach(freelancer -> freelancerIds.add(freelancer.getId()));
+                projects.forEach(project -> projectIds.add(project.getId()));
+                freelancers.clear();
+                projects.clear();
+            }
+        }
+        System.out.printf("Data uji: %d freelancer, %d proyek%n", freelancerIds.size(), projectIds.size());
+    }
+
+    /**
+     * Menjalankan beban sampai durasi habis, mencetak laporan setiap interval dan ringkasan
+     * di akhir. Baris CSV ditulis ke csv jika tidak null. Mengembalikan persentase error.
+     */
+    public double run(PrintWriter csv) {
+        if (csv != null) {
+            csv.println("elapsedSec,operation,count,errors,conflicts,p50Ms,p95Ms,p99Ms,maxMs,"
+                    + "heapUsedMb,heapLiveMb,gcCount,gcMs,threads");
+        }
+        System.out.printf(Locale.ROOT, "%d pengguna, %s, %d detik%n", users,
+                rate > 0 ? String.format(Locale.ROOT, "%.0f operasi/detik", rate) : "tanpa batas rate",
+                TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+
+        running = true;
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < users; i++) {
+            int user = i;
+            executor.execute(() -> simulateUser(user, start, end));
+        }
+
+        JvmStats previous = JvmStats.now();
+        long lastReport = start;
+        while (System.nanoTime() < end) {
+            LockSupport.parkNanos(Math.min(lastReport + reportNanos, end) - System.nanoTime());
+            long now = System.nanoTime();
+            if (now >= lastReport + reportNanos || now >= end) {
+                JvmStats current = JvmStats.now();
+                report(now - start, now - lastReport, previous, current, csv);
+                previous = current;
+                lastReport = now;
+            }
+        }
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.err.println("Sebagian pengguna simulasi belum selesai setelah 30 detik");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return summary(System.nanoTime() - start);
+    }
+
+    /**
+     * Menghapus semua data uji yang masih ada.
+     */
+    public void cleanup() {
+        List<ObjectId> freelancers = freelancerIds.drain();
+        List<ObjectId> projects = projectIds.drain();
+        for (int from = 0; from < freelancers.size(); from += CLEANUP_BATCH) {
+            List<WriteOp<Freelancer>> ops = new ArrayList<>();
+            for (ObjectId id : freelancers.subList(from, Math.min(from + CLEANUP_BATCH, freelancers.size()))) {
+                ops.add(WriteOp.delete(id));
+            }
+            repository.applyFreelancerWrites(ops);
+        }
+        for (int from = 0; from < projects.size(); from += CLEANUP_BATCH) {
+            List<WriteOp<Project>> ops = new ArrayList<>();
+            for (ObjectId id : projects.subList(from, Math.min(from + CLEANUP_BATCH, projects.size()))) {
+                ops.add(WriteOp.delete(id));
+            }
+            repository.applyProjectWrites(ops);
+        }
+        System.out.printf("Data uji dihapus: %d freelancer, %d proyek%n", freelancers.size(), projects.size());
+    }
+
+    private void simulateUser(int user, long start, long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Dengan rate tetap, pengguna dibuat bergiliran agar operasi tersebar merata
+        long period = rate > 0 ? (long) (users * 1e9 / rate) : 0;
+        long intended = start + (period > 0 ? period * user / users : 0);
+        while (running) {
+            if (period > 0) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (intended >= end || !running) {
+                    return;
+                }
+            } else {
+                intended = System.nanoTime();
+                if (intended >= end) {
+                    return;
+                }
+            }
+
+            Operation operation = pick(random);
+            try {
+                operation.action.accept(random);
+            } catch (ConcurrentUpdateException e) {
+                operation.failed(true);
+            } catch (RuntimeException e) {
+                operation.failed(false);
+                operation.lastError = e.toString();
+            } finally {
+                operation.record(System.nanoTime() - intended);
+            }
+            intended += period;
+        }
+    }
+
+    private Operation pick(ThreadLocalRandom random) {
+        int value = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            if (value < operation.weightLimit) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private Map<String, Consumer<ThreadLocalRandom>> actions() {
+        Map<String, Consumer<ThreadLocalRandom>> actions = new LinkedHashMap<>();
+        actions.put("getAllFreelancers", random -> repository.getAllFreelancers());
+        actions.put("getAllProjects", random -> repository.getAllProjects());
+        actions.put("searchFreelancers", random -> {
+            // Seperti mengetik di kotak pencarian: hitung total lalu ambil halaman pertama
+            FreelancerFilter filter = new FreelancerFilter(SKILLS[random.nextInt(SKILLS.length)], null, null,
+                    random.nextBoolean() ? null : 3.0);
+            PageSource<Freelancer> pages = repository.freelancerPages(filter,
+                    SortSpec.<Freelancer>natural().then(SortSpec.FREELANCER_RATING, false));
+            pages.count();
+            pages.fetchPage(0, PAGE_SIZE, null);
+        });
+        actions.put("searchProjects", random -> {
+            ProjectFilter filter = new ProjectFilter(COMPANIES[random.nextInt(COMPANIES.length)], null, null);
+            PageSource<Project> pages = repository.projectPages(filter,
+                    SortSpec.<Project>natural().then(SortSpec.PROJECT_BUDGET, false));
+            pages.count();
+            pages.fetchPage(0, PAGE_SIZE, null);
+        });
+        actions.put("findFreelancer", random -> {
+            ObjectId id = freelancerIds.random(random);
+            if (id != null) {
+                repository.findFreelancerById(id);
+            }
+        });
+        actions.put("findProject", random -> {
+            ObjectId id = projectIds.random(random);
+            if (id != null) {
+                repository.findProjectById(id);
+            }
+        });
+        actions.put("insertFreelancer",
+                random -> freelancerIds.add(repository.insertFreelancer(newFreelancer(random)).getId()));
+        actions.put("insertProject",
+                random -> projectIds.add(repository.insertProject(newProject(random)).getId()));
+        actions.put("updateFreelancer", random -> {
+            ObjectId id = freelancerIds.random(random);
+            Freelancer current = id != null ? repository.findFreelancerById(id) : null;
+            if (current != null) {
+                repository.updateFreelancer(current, current.getName(), current.getSkill(),
+                        50_000 + random.nextInt(200_000), 1 + random.nextInt(40) / 10.0);
+            }
+        });
+        actions.put("updateProject", random -> {
+            ObjectId id = projectIds.random(random);
+            Project current = id != null ? repository.findProjectById(id) : null;
+            if (current != null) {
+                repository.updateProject(current, current.getTitle(), current.getCompanyName(),
+                        current.getDescription(), 1_000_000 + random.nextInt(50_000_000));
+            }
+        });
+        actions.put("deleteProject", random -> {
+            ObjectId id = projectIds.remove(random);
+            if (id != null) {
+                repository.deleteProject(id);
+            }
+        });
+        return actions;
+    }
+
+    private static Freelancer newFreelancer(ThreadLocalRandom random) {
+        return new Freelancer(new ObjectId(), PREFIX + Long.toHexString(random.nextLong()),
+                SKILLS[random.nextInt(SKILLS.length)], 50_000 + random.nextInt(200_000), 1 + random.nextInt(40) / 10.0);
+    }
+
+    private static Project newProject(ThreadLocalRandom random) {
+        return new Project(new ObjectId(), PREFIX + Long.toHexString(random.nextLong()),
+                "Butuh bantuan " + SKILLS[random.nextInt(SKILLS.length)] + " untuk sistem internal",
+                1_000_000 + random.nextInt(50_000_000), COMPANIES[random.nextInt(COMPANIES.length)]);
+    }
+
+    private void report(long elapsed, long window, JvmStats previous, JvmStats current, PrintWriter csv) {
+        long elapsedSec = TimeUnit.NANOSECONDS.toSeconds(elapsed);
+        long count = 0;
+        long errors = 0;
+        List<String> lines = new ArrayList<>();
+        for (Operation operation : operations) {
+            LatencyHistogram.Snapshot snapshot = operation.interval.getAndSet(new LatencyHistogram()).snapshot();
+            long operationErrors = operation.intervalErrors.sumThenReset();
+            long operationConflicts = operation.intervalConflicts.sumThenReset();
+            count += snapshot.getCount();
+            errors += operationErrors;
+            lines.add(String.format(Locale.ROOT, "  %-18s %s error=%d konflik=%d", operation.name, snapshot,
+                    operationErrors, operationConflicts));
+            if (csv != null) {
+                csv.printf(Locale.ROOT, "%d,%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%s%n", elapsedSec, operation.name,
+                        snapshot.getCount(), operationErrors, operationConflicts, snapshot.getP50Millis(),
+                        snapshot.getP95Millis(), snapshot.getP99Millis(), snapshot.getMaxMillis(),
+                        current.csv(previous));
+            }
+        }
+        System.out.printf(Locale.ROOT, "[%4ds] %.0f operasi/detik, error %.2f%%, %s%n", elapsedSec,
+                count / (window / 1e9), count == 0 ? 0 : errors * 100.0 / count, current.describe(previous));
+        lines.forEach(System.out::println);
+        if (csv != null) {
+            csv.flush();
+        }
+    }
+
+    private double summary(long elapsed) {
+        long count = 0;
+        long errors = 0;
+        System.out.println("--- ringkasan ---");
+        for (Operation operation : operations) {
+            LatencyHistogram.Snapshot snapshot = operation.total.snapshot();
+            long operationErrors = operation.errors.sum();
+            count += snapshot.getCount();
+            errors += operationErrors;
+            System.out.printf(Locale.ROOT, "  %-18s %s error=%d konflik=%d%n", operation.name, snapshot,
+                    operationErrors, operation.conflicts.sum());
+            if (operation.lastError != null) {
+                System.out.println("    error terakhir: " + operation.lastError);
+            }
+        }
+        double errorPercent = count == 0 ? 0 : errors * 100.0 / count;
+        System.out.printf(Locale.ROOT, "Total %d operasi dalam %.1f detik (%.0f operasi/detik), error %.2f%%%n",
+                count, elapsed / 1e9, count / (elapsed / 1e9), errorPercent);
+        return errorPercent;
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] pair = part.split("=", 2);
+            try {
+                weights.put(pair[0].trim(), pair.length == 2 ? Integer.parseInt(pair[1].trim()) : 1);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bobot tidak valid: " + part);
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Statistik per operasi: total sejak awal dan jendela interval yang sedang berjalan.
+     */
+    private static final class Operation {
+        final String name;
+        final int weightLimit;
+        final Consumer<ThreadLocalRandom> action;
+        final LatencyHistogram total = new LatencyHistogram();
+        final AtomicReference<LatencyHistogram> interval = new AtomicReference<>(new LatencyHistogram());
+        final LongAdder errors = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder intervalErrors = new LongAdder();
+        final LongAdder intervalConflicts = new LongAdder();
+        volatile String lastError;
+
+        Operation(String name, int weightLimit, Consumer<ThreadLocalRandom> action) {
+            this.name = name;
+            this.weightLimit = weightLimit;
+            this.action = action;
+        }
+
+        void record(long nanos) {
+            total.record(nanos);
+            interval.get().record(nanos);
+        }
+
+        void failed(boolean conflict) {
+            (conflict ? conflicts : errors).increment();
+            (conflict ? intervalConflicts : intervalErrors).increment();
+        }
+    }
+
+    /**
+     * Id data uji yang masih ada. Dipilih secara acak oleh operasi baca, ubah dan hapus.
+     */
+    private static final class IdPool {
+        private final List<ObjectId> ids = new ArrayList<>();
+
+        synchronized void add(ObjectId id) {
+            ids.add(id);
+        }
+
+        synchronized int size() {
+            return ids.size();
+        }
+
+        synchronized ObjectId random(ThreadLocalRandom random) {
+            return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+        }
+
+        synchronized ObjectId remove(ThreadLocalRandom random) {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int index = random.nextInt(ids.size());
+            ObjectId id = ids.get(index);
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+
+        synchronized List<ObjectId> drain() {
+            List<ObjectId> result = new ArrayList<>(ids);
+            ids.clear();
+            return result;
+        }
+    }
+
+    /**
+     * Heap dan GC pada satu titik waktu. "live" adalah heap yang tersisa setelah GC terakhir;
+     * jika terus naik selama pengujian panjang, kemungkinan ada kebocoran.
+     */
+    private static final class JvmStats {
+        final long heapUsed;
+        final long heapMax;
+        final long heapLive;
+        final long gcCount;
+        final long gcMillis;
+        final int threads;
+
+        private JvmStats(long heapUsed, long heapMax, long heapLive, long gcCount, long gcMillis, int threads) {
+            this.heapUsed = heapUsed;
+            this.heapMax = heapMax;
+            this.heapLive = heapLive;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+            this.threads = threads;
+        }
+
+        static JvmStats now() {
+            MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+            long live = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                MemoryUsage afterGc = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+                if (afterGc != null) {
+                    live += afterGc.getUsed();
+                }
+            }
+            long count = 0;
+            long millis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+                millis += Math.max(0, gc.getCollectionTime());
+            }
+            return new JvmStats(heap.getUsed(), heap.getMax(), live, count, millis,
+                    ManagementFactory.getThreadMXBean().getThreadCount());
+        }
+
+        String describe(JvmStats previous) {
+            return String.format(Locale.ROOT, "heap %d/%d MB (setelah GC %d MB), GC %dx %d ms, %d thread",
+                    mb(heapUsed), mb(heapMax), mb(heapLive), gcCount - previous.gcCount,
+                    gcMillis - previous.gcMillis, threads);
+        }
+
+        String csv(JvmStats previous) {
+            return String.format(Locale.ROOT, "%d,%d,%d,%d,%d", mb(heapUsed), mb(heapLive),
+                    gcCount - previous.gcCount, gcMillis - previous.gcMillis, threads);
+        }
+
+        private static long mb(long bytes) {
+            return bytes / (1024 * 1024);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package marketplace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.bson.types.ObjectId;
+
+/**
+ * Repository tanpa server: di memori (untuk tes, benchmark, dan pemakaian offline)
+ * atau di satu file lokal lewat EmbeddedStore.
+ */
+public class LocalRepository implements MarketplaceRepository {
+    private static final byte FREELANCERS = 1;
+    private static final byte PROJECTS = 2;
+
+    private final Table<Freelancer> freelancers;
+    private final Table<Project> projects;
+    private final Closeable resource;
+
+    private LocalRepository(Table<Freelancer> freelancers, Table<Project> projects, Closeable resource) {
+        this.freelancers = freelancers;
+        this.projects = projects;
+        this.resource = resource;
+    }
+
+    /**
+     * Repository di memori; isinya hilang saat aplikasi ditutup.
+     */
+    public static LocalRepository inMemory() {
+        return new LocalRepository(new MemoryTable<>(Freelancer::getId), new MemoryTable<>(Project::getId), null);
+    }
+
+    /**
+     * Repository yang disimpan di satu file. File dibuat jika belum ada.
+     */
+    public static LocalRepository embedded(Path file) {
+        try {
+            EmbeddedStore store = new EmbeddedStore(file);
+            return new LocalRepository(
+                    store.table(FREELANCERS, new FreelancerCodec(), Freelancer::getId),
+                    store.table(PROJECTS, new ProjectCodec(), Project::getId),
+                    store);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membuka " + file, e);
+        }
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (resource != null) {
+            try {
+                resource.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // --- Freelancer ---
+
+    @Override
+    public List<Freelancer> getAllFreelancers() {
+        List<Freelancer> result = new ArrayList<>();
+        freelancers.forEach(result::add);
+        return result;
+    }
+
+    @Override
+    public Freelancer findFreelancerById(ObjectId id) {
+        return freelancers.get(id);
+    }
+
+    @Override
+    public Freelancer peekFreelancer(ObjectId id) {
+        return freelancers.get(id);
+    }
+
+    @Override
+    public PageSource<Freelancer> freelancerPages(FreelancerFilter filter, SortSpec<Freelancer> sort) {
+        return pages(freelancers, filter == null || filter.isEmpty() ? null : filter::matches, sort, Freelancer::getId);
+    }
+
+    @Override
+    public Freelancer insertFreelancer(Freelancer freelancer) {
+        Freelancer inserted = new Freelancer(newId(freelancer.getId()), freelancer.getName(), freelancer.getSkill(),
+                freelancer.getRatePerHour(), freelancer.getRating(), freelancer.getVersion(), now());
+        freelancers.put(inserted);
+        return inserted;
+    }
+
+    @Override
+    public int insertFreelancerBatch(List<Freelancer> batch) {
+        for (Freelancer freelancer : batch) {
+            insertFreelancer(freelancer);
+        }
+        return batch.size();
+    }
+
+    /**
+     * Dikunci agar pemeriksaan versi dan penulisan terjadi sebagai satu langkah.
+     */
+    @Override
+    public synchronized Freelancer updateFreelancer(Freelancer freelancer, String name, String skill,
+                                                    double rate, double rating) {
+        Freelancer current = freelancers.get(freelancer.getId());
+        if (current == null) {
+            return null;
+        }
+        if (current.getVersion() != freelancer.getVersion()) {
+            throw new ConcurrentUpdateException(current);
+        }
+        if (Objects.equals(name, current.getName()) && Objects.equals(skill, current.getSkill())
+                && rate == current.getRatePerHour() && rating == current.getRating()) {
+            return current;
+        }
+        Freelancer updated = new Freelancer(freelancer.getId(), name, skill, rate, rating,
+                current.getVersion() + 1, now());
+        freelancers.put(updated);
+        return updated;
+    }
+
+    /**
+     * Dikunci bersama update, agar delete tidak jatuh di antara get dan put-nya lalu tertimpa.
+     */
+    @Override
+    public synchronized boolean deleteFreelancer(ObjectId id) {
+        return freelancers.remove(id);
+    }
+
+    @Override
+    public long forEachFreelancer(int batchSize, Consumer<Freelancer> action) {
+        long[] count = {0};
+        freelancers.forEach(freelancer -> {
+            action.accept(freelancer);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    // --- Proyek ---
+
+    @Override
+    public List<Project> getAllProjects() {
+        List<Project> result = new ArrayList<>();
+        projects.forEach(result::add);
+        return result;
+    }
+
+    @Override
+    public Project findProjectById(ObjectId id) {
+        return projects.get(id);
+    }
+
+    @Override
+    public Project peekProject(ObjectId id) {
+        return projects.get(id);
+    }
+
+    @Override
+    public PageSource<Project> projectPages(ProjectFilter filter, SortSpec<Project> sort) {
+        return pages(projects, filter == null || filter.isEmpty() ? null : filter::matches, sort, Project::getId);
+    }
+
+    @Override
+    public Project insertProject(Project project) {
+        Project inserted = new Project(newId(project.getId()), project.getTitle(), project.getDescription(),
+                project.getBudget(), project.getCompanyName(), project.getVersion(), now());
+        projects.put(inserted);
+        return inserted;
+    }
+
+    @Override
+    public int insertProjectBatch(List<Project> batch) {
+        for (Project project : batch) {
+            insertProject(project);
+        }
+        return batch.size();
+    }
+
+    @Override
+    public synchronized Project updateProject(Project project, String title, String company, String desc,
+                                              double budget) {
+        Project current = projects.get(project.getId());
+        if (current == null) {
+            return null;
+        }
+        if (current.getVersion() != project.getVersion()) {
+            throw new ConcurrentUpdateException(current);
+        }
+        if (Objects.equals(title, current.getTitle()) && Objects.equals(company, current.getCompanyName())
+                && Objects.equals(desc, current.getDescription()) && budget == current.getBudget()) {
+            return current;
+        }
+        Project updated = new Project(project.getId(), title, desc, budget, company,
+                current.getVersion() + 1, now());
+        projects.put(updated);
+        return updated;
+    }
+
+    /**
+     * Dikunci bersama update, agar delete tidak jatuh di antara get dan put-nya lalu tertimpa.
+     */
+    @Override
+    public synchronized boolean deleteProject(ObjectId id) {
+        return projects.remove(id);
+    }
+
+    @Override
+    public long forEachProject(int batchSize, Consumer<Project> action) {
+        long[] count = {0};
+        projects.forEach(project -> {
+            action.accept(project);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    private static ObjectId newId(ObjectId id) {
+        return id != null ? id : new ObjectId();
+    }
+
+    private static long now() {
+        return System.currentTimeMillis();
+    }
+
+    private static <T> PageSource<T> pages(Table<T> table, Predicate<T> filter, SortSpec<T> sort,
+                                           Function<T, ObjectId> idOf) {
+        Comparator<T> order = sort.isNatural() ? null : sort.comparator(idOf);
+        return new PageSource<>() {
+            @Override
+            public int count() {
+                return table.count(filter);
+            }
+
+            @Override
+            public List<T> fetchPage(int offset, int limit, T previous) {
+                if (order != null) {
+                    return previous != null
+                            ? sortedPage(table, filter, order, previous, 0, limit)
+                            : sortedPage(table, filter, order, null, offset, limit);
+                }
+                return previous != null
+                        ? table.scan(idOf.apply(previous), filter, 0, limit)
+                        : table.scan(null, filter, offset, limit);
+            }
+        };
+    }
+
+    /**
+     * Satu halaman dalam urutan selain _id. Seluruh tabel dibaca, tetapi hanya skip + limit
+     * baris terkecil yang disimpan (heap dengan baris terbesar di puncak), jadi memori tetap kecil.
+     */
+    private static <T> List<T> sortedPage(Table<T> table, Predicate<T> filter, Comparator<T> order,
+                                          T previous, int skip, int limit) {
+        int keep = skip + limit;
+        if (limit <= 0 || keep < 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<T> smallest = new PriorityQueue<>(order.reversed());
+        table.forEach(row -> {
+            if ((filter != null && !filter.test(row)) || (previous != null && order.compare(row, previous) <= 0)) {
+                return;
+            }
+            if (smallest.size() < keep) {
+                smallest.add(row);
+            } else if (order.compare(row, smallest.peek()) < 0) {
+                smallest.poll();
+                smallest.add(row);
+            }
+        });
+        List<T> rows = new ArrayList<>(smallest);
+        rows.sort(order);
+        return skip >= rows.size() ? new ArrayList<>() : new ArrayList<>(rows.subList(skip, rows.size()));
+    }
+}
@@ -0,0 +1,183 @@
+package marketplace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * File log append-only yang di-memory-map.
+ *
+ * Setiap record disimpan sebagai [panjang int][CRC32C int][payload]. Saat dibuka,
+ * file dibaca dari awal sampai ketemu record kosong atau checksum yang tidak cocok
+ * (misalnya karena aplikasi mati di tengah penulisan), dan penulisan berikutnya
+ * dilanjutkan dari posisi itu. Ukuran file maksimal 2 GB (batas MappedByteBuffer).
+ *
+ * Mapping dilepas saat log ditutup (dan saat file diperbesar), bukan menunggu GC, supaya file
+ * bisa langsung diganti atau dihapus. Setelah close log tidak boleh dipakai lagi.
+ */
+class MappedLog implements Closeable {
+    private static final int HEADER_SIZE = 8;
+    private static final int INITIAL_SIZE = 1 << 20;
+    // Unsafe.invokeCleaner, satu-satunya cara melepas mapping sebelum GC di Java 21; null jika tidak tersedia
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Mapping dilepas oleh GC
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * Dipanggil untuk setiap record yang valid saat log dibuka atau dipindai.
+     */
+    interface RecordVisitor {
+        void visit(long offset, byte[] payload);
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int end = 0;
+
+    MappedLog(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        map(Math.max(INITIAL_SIZE, channel.size()));
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * Membaca semua record yang valid dari awal file, dan menentukan posisi tulis berikutnya.
+     */
+    synchronized void scan(RecordVisitor visitor) {
+        int position = 0;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > buffer.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_SIZE, payload);
+            if (checksum(payload) != buffer.getInt(position + 4)) {
+                break;
+            }
+            visitor.visit(position, payload);
+            position += HEADER_SIZE + length;
+        }
+        end = position;
+    }
+
+    /**
+     * Menambahkan satu record di akhir log dan mengembalikan posisinya.
+     */
+    synchronized long append(byte[] payload) throws IOException {
+        long required = (long) end + HEADER_SIZE + payload.length + HEADER_SIZE;
+        if (required > buffer.capacity()) {
+            long capacity = buffer.capacity();
+            while (capacity < required) {
+                capacity *= 2;
+            }
+            map(capacity);
+        }
+
+        int offset = end;
+        // Penanda akhir log setelah record ini, agar sisa data lama di belakangnya tidak ikut terbaca
+        buffer.putInt(offset + HEADER_SIZE + payload.length, 0);
+        buffer.put(offset + HEADER_SIZE, payload);
+        buffer.putInt(offset + 4, checksum(payload));
+        // Panjang ditulis terakhir, sehingga record yang belum lengkap tidak terbaca saat scan
+        buffer.putInt(offset, payload.length);
+        end = offset + HEADER_SIZE + payload.length;
+        return offset;
+    }
+
+    synchronized byte[] read(long offset) {
+        int position = (int) offset;
+        byte[] payload = new byte[buffer.getInt(position)];
+        buffer.get(position + HEADER_SIZE, payload);
+        return payload;
+    }
+
+    /**
+     * Mengosongkan log. Ukuran file tetap; record berikutnya ditulis dari awal.
+     */
+    synchronized void clear() {
+        buffer.putInt(0, 0);
+        end = 0;
+    }
+
+    /**
+     * Jumlah byte yang sudah terpakai.
+     */
+    synchronized long size() {
+        return end;
+    }
+
+    synchronized void force() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        buffer.force();
+        unmap(buffer);
+        buffer = null;
+        channel.close();
+    }
+
+    private void map(long capacity) throws IOException {
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("File " + path + " melebihi batas 2 GB");
+        }
+        MappedByteBuffer previous = buffer;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        if (previous != null) {
+            unmap(previous);
+        }
+    }
+
+    /**
+     * Aman karena semua akses ke buffer lewat method synchronized yang sudah memakai buffer baru.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Dibiarkan ke GC
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
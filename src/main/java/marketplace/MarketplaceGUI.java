@@ -0,0 +1,1355 @@
+package marketplace;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import org.bson.types.ObjectId;
+
+/**
+ * Kelas utama untuk aplikasi Marketplace GUI.
+ * Kelas ini bertindak sebagai JFrame utama dan juga mengelola data.
+ *
+ * Untuk kesederhanaan, kelas Freelancer dan Project didefinisikan di file yang sama.
+ */
+public class MarketplaceGUI extends JFrame {
+    // --- Bagian Data (Model) ---
+    // Engine penyimpanan dipilih lewat -Dmarketplace.store (lihat Repositories)
+    private MarketplaceRepository repository = Repositories.open();
+    
+    // Data dimuat per halaman; hanya MAX_CACHED_PAGES halaman terakhir yang disimpan di memori
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 20;
+    
+    // Baris awal kedua list disimpan saat aplikasi ditutup dan ditampilkan lagi saat dibuka
+    // (-Dmarketplace.snapshot=false untuk mematikan)
+    private static final boolean SNAPSHOT_ENABLED = !"false".equals(System.getProperty("marketplace.snapshot"));
+    private static final Path SNAPSHOT_FILE = Path.of(System.getProperty("marketplace.snapshot.file", "marketplace.snapshot"));
+    private static final int SNAPSHOT_ROWS = 2 * PAGE_SIZE;
+    
+    // --- Bagian GUI (View) ---
+    // Model untuk JList, memuat data secara lazy sesuai baris yang terlihat
+    private PagedListModel<Freelancer> freelancerListModel;
+    private PagedListModel<Project> projectListModel;
+    
+    // Insert/update/delete dari GUI diantrekan lalu dikirim per batch (lihat WriteBehindQueue)
+    private WriteBehindQueue<Freelancer> freelancerWrites;
+    private WriteBehindQueue<Project> projectWrites;
+    
+    // Perubahan dari klien lain (change stream MongoDB) diterapkan paling banyak sekali per frame
+    // (-Dmarketplace.changeStream=false untuk mematikan)
+    private static final boolean CHANGE_STREAM_ENABLED = !"false".equals(System.getProperty("marketplace.changeStream"));
+    private static final int FRAME_MS = 16;
+    private static final int MAX_PENDING_CHANGES = 5 * PAGE_SIZE;
+    // Versi terakhir yang ditulis klien ini per dokumen, untuk mengenali perubahan sendiri di change stream
+    private static final int MAX_LOCAL_WRITES = 10_000;
+    private static final long DELETED = Long.MAX_VALUE;
+    private final Map<ObjectId, Long> localVersions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ObjectId, Long> eldest) {
+            return size() > MAX_LOCAL_WRITES;
+        }
+    };
+    private ChangeFeed changeFeed = ChangeFeed.NONE;
+
+    // Komponen JList untuk menampilkan data
+    private JList<Freelancer> jlistFreelancers;
+    private JList<Project> jlistProjects;
+    
+    // Komponen pencarian di atas masing-masing list
+    private static final int SEARCH_DELAY_MS = 300;
+    private JTextField freelancerQueryField = new JTextField();
+    private JTextField minRateField = new JTextField(5);
+    private JTextField maxRateField = new JTextField(5);
+    private JTextField minRatingField = new JTextField(3);
+    private JTextField projectQueryField = new JTextField();
+    private JTextField minBudgetField = new JTextField(6);
+    private JTextField maxBudgetField = new JTextField(6);
+    // Urutan dijalankan di server (lihat SortSpec)
+    private SortBar<Freelancer> freelancerSort = new SortBar<>(SortSpec.FREELANCER_FIELDS, this::searchFreelancers);
+    private SortBar<Project> projectSort = new SortBar<>(SortSpec.PROJECT_FIELDS, this::searchProjects);
+    private int freelancerSearchCount = 0;
+    private int projectSearchCount = 0;
+    private boolean freelancerFiltered = false;
+    private boolean projectFiltered = false;
+    
+    // Index pencocokan freelancer-proyek, dibangun saat pertama kali dipakai
+    private static final int TOP_MATCHES = 10;
+    private MatchingEngine matchingEngine;
+    private CompletableFuture<MatchingEngine> matchingEngineLoad;
+    
+    // Status bar untuk menandai operasi database yang sedang berjalan
+    private JLabel lblStatus;
+    // Tampil selama ada perubahan yang belum bisa dikirim (lihat WriteBehindQueue.syncFailure)
+    private JLabel lblSync;
+    private JProgressBar busyIndicator;
+    private int pendingOperations = 0;
+
+    /**
+     * Main method untuk menjalankan aplikasi.
+     */
+    public static void main(String[] args) {
+        // Latensi database dan EDT bisa dilihat lewat JMX (lihat Metrics)
+        Metrics.start();
+        EdtMonitor.install();
+        
+        // Menjalankan GUI di Event Dispatch Thread (EDT) untuk keamanan thread Swing
+        SwingUtilities.invokeLater(() -> {
+            MarketplaceGUI frame = new MarketplaceGUI();
+            frame.setVisible(true);
+        });
+    }
+
+    /**
+     * Konstruktor utama untuk MarketplaceGUI.
+     * Menyiapkan frame dan komponen di dalamnya.
+     */
+    public MarketplaceGUI() {
+        // --- Setup Window Utama (JFrame) ---
+        setTitle("Marketplace Freelancer Mini");
+        setSize(800, 600);
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE); // Keluar saat ditutup
+        setLocationRelativeTo(null); // Tampilkan di tengah layar
+        setLayout(new BorderLayout(10, 10)); // Layout utama
+
+        // --- Inisialisasi Komponen GUI ---
+        initComponents();
+        setJMenuBar(createMenuBar());
+
+        // --- Memuat Data Contoh ---
+        // loadSampleData();
+        
+        freelancerWrites = WriteBehindQueue.forFreelancers(repository,
+                conflicts -> SwingUtilities.invokeLater(() -> showUpdateConflict(conflicts)), this::writeRejected,
+                () -> SwingUtilities.invokeLater(this::updateSyncStatus));
+        projectWrites = WriteBehindQueue.forProjects(repository,
+                conflicts -> SwingUtilities.invokeLater(() -> showUpdateConflict(conflicts)), this::writeRejected,
+                () -> SwingUtilities.invokeLater(this::updateSyncStatus));
+        
+        if (!repository.isAvailable()) {
+            SwingUtilities.invokeLater(this::displayDatabaseError);
+            return;
+        }
+        
+        // Tutup koneksi/file dengan rapi saat jendela ditutup
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                changeFeed.close();
+                // Kirim perubahan yang masih antre sebelum koneksi ditutup
+                freelancerWrites.close();
+                projectWrites.close();
+                saveSnapshot();
+                repository.close();
+            }
+        });
+        
+        // Dibuka sebelum data dimuat agar perubahan selama pemuatan tidak terlewat
+        if (CHANGE_STREAM_ENABLED) {
+            changeFeed = repository.watchChanges(
+                    new ChangeCoalescer<>(FRAME_MS, MAX_PENDING_CHANGES, this::freelancersChanged, this::freelancersResync),
+                    new ChangeCoalescer<>(FRAME_MS, MAX_PENDING_CHANGES, this::projectsChanged,
+                            projectListModel::requestRefresh));
+        }
+        
+        // Data terakhir dari snapshot langsung ditampilkan lalu dicocokkan dengan server di background.
+        // Tanpa snapshot, kedua koleksi dimuat bersamaan di background; frame tetap langsung tampil.
+        if (!restoreSnapshot()) {
+            refreshFreelancers();
+            refreshProjects();
+        }
+    }
+    
+    /**
+     * Penanda sumber data untuk snapshot, atau null jika snapshot tidak dipakai
+     * (engine memory selalu mulai kosong, jadi snapshot-nya tidak berarti).
+     */
+    private static String snapshotSource() {
+        return SNAPSHOT_ENABLED ? Repositories.source() : null;
+    }
+    
+    /**
+     * Mengisi kedua list dari snapshot lokal (jika ada) lalu menyinkronkannya dengan
+     * repository di background. Mengembalikan false jika tidak ada snapshot yang bisa dipakai.
+     */
+    private boolean restoreSnapshot() {
+        String source = snapshotSource();
+        if (source == null) {
+            return false;
+        }
+        ListSnapshot snapshot = ListSnapshot.read(SNAPSHOT_FILE, source);
+        if (snapshot == null) {
+            return false;
+        }
+        
+        freelancerListModel.seed(snapshot.getFreelancerCount(), snapshot.getFreelancers());
+        projectListModel.seed(snapshot.getProjectCount(), snapshot.getProjects());
+        runAsync(freelancerListModel.refresh(), "Menyinkronkan freelancer...", count -> {});
+        runAsync(projectListModel.refresh(), "Menyinkronkan proyek...", count -> {});
+        return true;
+    }
+    
+    /**
+     * Menyimpan baris awal kedua list untuk startup berikutnya. Hasil pencarian tidak
+     * disimpan karena snapshot harus berisi list lengkap.
+     */
+    private void saveSnapshot() {
+        String source = snapshotSource();
+        if (source == null || freelancerFiltered || projectFiltered) {
+            return;
+        }
+        try {
+            new ListSnapshot(freelancerListModel.getSize(), freelancerListModel.leadingRows(SNAPSHOT_ROWS),
+                    projectListModel.getSize(), projectListModel.leadingRows(SNAPSHOT_ROWS))
+                    .write(SNAPSHOT_FILE, source);
+        } catch (IOException e) {
+            System.err.println("Gagal menyimpan snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Metode untuk menginisialisasi dan mengatur semua komponen GUI.
+     */
+    private void initComponents() {
+        // Panel utama yang menampung semuanya
+        JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
+        mainPanel.setBorder(new EmptyBorder(10, 10, 10, 10)); // Beri padding
+
+        // --- Panel Tombol (Atas) ---
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        JButton btnRegisterFreelancer = new JButton("Registrasi Freelancer Baru");
+        JButton btnPostProject = new JButton("Buat Proyek Baru");
+        JButton btnFreelancerVisibility = new JButton("Sembunyikan Freelancer");
+        JButton btnProjectVisibility = new JButton("Sembunyikan Proyek");
+        JButton btnReload = new JButton("Muat Ulang");
+        JButton btnFindMatches = new JButton("Cari Freelancer Cocok");
+        buttonPanel.add(btnRegisterFreelancer);
+        buttonPanel.add(btnPostProject);
+        buttonPanel.add(btnFreelancerVisibility);
+        buttonPanel.add(btnProjectVisibility);
+        buttonPanel.add(btnFindMatches);
+        buttonPanel.add(btnReload);
+
+        // --- Panel List (Tengah) ---
+        // Menggunakan JSplitPane agar ukuran list bisa diatur
+        JSplitPane splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT);
+        splitPane.setEnabled(false);
+        splitPane.setResizeWeight(0.5); // Bagi layar 50/50
+
+        JPanel leftPanel = new JPanel(new GridBagLayout());
+        JPanel rightPanel = new JPanel(new GridBagLayout());
+        
+        GridBagConstraints gbcTop = new GridBagConstraints();
+        gbcTop.gridx = 0;
+        gbcTop.gridy = 0;
+        gbcTop.fill = GridBagConstraints.BOTH;
+        gbcTop.weightx = 1.0;
+        gbcTop.weighty = 1.0;
+        
+        GridBagConstraints gbcOther = new GridBagConstraints();
+        gbcOther.gridx = 0;
+        gbcOther.gridy = 1;
+        gbcOther.fill = GridBagConstraints.BOTH;
+        gbcOther.weightx = 1.0;
+        gbcOther.weighty = 0.0;
+        
+        // Inisialisasi model dan list untuk Freelancer
+        freelancerListModel = new PagedListModel<>(repository.freelancerPages(null), PAGE_SIZE, MAX_CACHED_PAGES,
+                Repositories.executor(), Freelancer::getId);
+        jlistFreelancers = new JList<>(freelancerListModel);
+        jlistFreelancers.setCellRenderer(new FreelancerRenderer()); // Pakai renderer kustom
+        // Ukuran sel tetap, agar JList tidak mengukur (dan memuat) setiap baris
+        jlistFreelancers.setPrototypeCellValue(new Freelancer("Nama Freelancer", "Skill Utama", 100000, 5.0));
+        JScrollPane freelancerScrollPane = new JScrollPane(jlistFreelancers);
+        
+        // Tambahkan judul ke panel list
+        freelancerScrollPane.setBorder(BorderFactory.createTitledBorder("Freelancer Tersedia"));
+        freelancerScrollPane.setColumnHeaderView(createSearchPanel(freelancerQueryField,
+                new String[] {"Tarif min", "maks", "Rating min"},
+                new JTextField[] {minRateField, maxRateField, minRatingField},
+                freelancerSort, this::searchFreelancers));
+        leftPanel.add(freelancerScrollPane, gbcTop);
+        
+        // Tombol pada splitPane untuk freelancer
+        JSplitPane buttonSplitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT);
+        buttonSplitPane.setEnabled(false);
+        buttonSplitPane.setResizeWeight(0.5);
+        leftPanel.add(buttonSplitPane, gbcOther);
+        
+        JButton btnDeleteFreelancer = new JButton("Hapus");
+        JButton btnUpdateFreelancer = new JButton("Update");
+        buttonSplitPane.setLeftComponent(btnDeleteFreelancer);
+        buttonSplitPane.setRightComponent(btnUpdateFreelancer);
+        
+        // Inisialisasi model dan list untuk Project
+        projectListModel = new PagedListModel<>(repository.projectPages(null), PAGE_SIZE, MAX_CACHED_PAGES,
+                Repositories.executor(), Project::getId);
+        jlistProjects = new JList<>(projectListModel);
+        jlistProjects.setCellRenderer(new ProjectRenderer()); // Pakai renderer kustom
+        jlistProjects.setPrototypeCellValue(new Project("Judul Proyek", "", 1000000, "Nama Perusahaan"));
+        JScrollPane projectScrollPane = new JScrollPane(jlistProjects);
+        projectScrollPane.setBorder(BorderFactory.createTitledBorder("Proyek Terbuka"));
+        projectScrollPane.setColumnHeaderView(createSearchPanel(projectQueryField,
+                new String[] {"Budget min", "maks"},
+                new JTextField[] {minBudgetField, maxBudgetField},
+                projectSort, this::searchProjects));
+        rightPanel.add(projectScrollPane, gbcTop);
+        
+        // Tombol pada splitPane untuk project
+        JSplitPane buttonSplitPaneProject = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT);
+        buttonSplitPaneProject.setEnabled(false);
+        buttonSplitPaneProject.setResizeWeight(0.5);
+        rightPanel.add(buttonSplitPaneProject, gbcOther);
+        
+        JButton btnDeleteProject = new JButton("Hapus");
+        JButton btnUpdateProject = new JButton("Update");
+        buttonSplitPaneProject.setLeftComponent(btnDeleteProject);
+        buttonSplitPaneProject.setRightComponent(btnUpdateProject);
+        
+        // Masukkan kedua list ke split pane
+        splitPane.setLeftComponent(leftPanel);
+        splitPane.setRightComponent(rightPanel);
+
+        // --- Status Bar (Bawah) ---
+        JPanel statusPanel = new JPanel(new BorderLayout(10, 0));
+        lblStatus = new JLabel("Siap");
+        busyIndicator = new JProgressBar();
+        busyIndicator.setIndeterminate(true);
+        busyIndicator.setVisible(false);
+        lblSync = new JLabel();
+        lblSync.setVisible(false);
+        JPanel statusRight = new JPanel(new BorderLayout(10, 0));
+        statusRight.add(lblSync, BorderLayout.CENTER);
+        statusRight.add(busyIndicator, BorderLayout.EAST);
+        statusPanel.add(lblStatus, BorderLayout.CENTER);
+        statusPanel.add(statusRight, BorderLayout.EAST);
+
+        // --- Gabungkan semua panel ---
+        mainPanel.add(buttonPanel, BorderLayout.NORTH);
+        mainPanel.add(splitPane, BorderLayout.CENTER);
+        mainPanel.add(statusPanel, BorderLayout.SOUTH);
+        add(mainPanel);
+
+        // --- Logika Tombol (Controller) ---
+        // Aksi untuk tombol "Registrasi Freelancer"
+        btnRegisterFreelancer.addActionListener((ActionEvent e) -> {
+            showRegisterFreelancerDialog("Add");
+        });
+
+        btnPostProject.addActionListener((ActionEvent e) -> {
+            showPostProjectDialog("Add");
+        });
+        
+        btnUpdateFreelancer.addActionListener((ActionEvent e) -> {
+            showRegisterFreelancerDialog("Update");
+        });
+
+        btnUpdateProject.addActionListener((ActionEvent e) -> {
+            showPostProjectDialog("Update");
+        });
+        
+        btnDeleteFreelancer.addActionListener((ActionEvent e) -> {
+            Freelancer selected = selectedFreelancer();
+            if (selected != null) {
+                showDeleteFreelancerConfirmation(selected.getId(), selected.getName());
+            }
+        });
+        
+        btnDeleteProject.addActionListener((ActionEvent e) -> {
+            Project selected = selectedProject();
+            if (selected != null) {
+                showDeleteProjectConfirmation(selected.getId(), selected.getTitle());
+            }
+        });
+        
+        btnFindMatches.addActionListener((ActionEvent e) -> showMatchingFreelancers());
+        
+        // Aksi yang sama juga tersedia lewat klik kanan pada list proyek
+        JPopupMenu projectMenu = new JPopupMenu();
+        JMenuItem findMatchesItem = new JMenuItem("Cari Freelancer Cocok");
+        findMatchesItem.addActionListener((ActionEvent e) -> showMatchingFreelancers());
+        projectMenu.add(findMatchesItem);
+        jlistProjects.setComponentPopupMenu(projectMenu);
+        
+        // Muat ulang seluruh data hanya jika diminta pengguna
+        btnReload.addActionListener((ActionEvent e) -> {
+            refreshFreelancers();
+            refreshProjects();
+        });
+        
+        btnFreelancerVisibility.addActionListener((ActionEvent e) -> {
+            freelancerScrollPane.setVisible(!freelancerScrollPane.isVisible());
+            
+            if (freelancerScrollPane.isVisible()) {
+                splitPane.setDividerLocation(0.5);
+                btnFreelancerVisibility.setText("Sembunyikan Freelancer");
+            } else {
+                splitPane.setDividerLocation(0);
+                btnFreelancerVisibility.setText("Tampilkan Freelancer");
+            }
+            
+            splitPane.revalidate();
+            splitPane.repaint();
+        });
+        
+        btnProjectVisibility.addActionListener((ActionEvent e) -> {
+            projectScrollPane.setVisible(!projectScrollPane.isVisible());
+            
+            if (projectScrollPane.isVisible()) {
+                splitPane.setDividerLocation(0.5);
+                btnProjectVisibility.setText("Sembunyikan Proyek");
+            } else {
+                splitPane.setDividerLocation(1.0);
+                btnProjectVisibility.setText("Tampilkan Proyek");
+            }
+            
+            splitPane.revalidate();
+            splitPane.repaint();
+        });
+    }
+
+    /**
+     * Membuat panel pencarian: kolom kata kunci, kolom rentang angka, dan pilihan urutan.
+     * Pencarian dijalankan SEARCH_DELAY_MS setelah pengguna berhenti mengetik.
+     */
+    private JPanel createSearchPanel(JTextField queryField, String[] rangeLabels, JTextField[] rangeFields,
+                                     SortBar<?> sortBar, Runnable search) {
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.setBorder(new EmptyBorder(5, 5, 5, 5));
+        panel.add(new JLabel("Cari:"), BorderLayout.WEST);
+        panel.add(queryField, BorderLayout.CENTER);
+        
+        JPanel rangePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        for (int i = 0; i < rangeFields.length; i++) {
+            rangePanel.add(new JLabel(rangeLabels[i] + ":"));
+            rangePanel.add(rangeFields[i]);
+        }
+        JPanel optionsPanel = new JPanel(new GridLayout(2, 1, 0, 5));
+        optionsPanel.add(rangePanel);
+        optionsPanel.add(sortBar);
+        panel.add(optionsPanel, BorderLayout.SOUTH);
+        
+        // Debounce: timer diulang dari awal setiap ada ketikan baru
+        Timer debounce = new Timer(SEARCH_DELAY_MS, (ActionEvent e) -> search.run());
+        debounce.setRepeats(false);
+        DocumentListener listener = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { debounce.restart(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { debounce.restart(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { debounce.restart(); }
+        };
+        queryField.getDocument().addDocumentListener(listener);
+        for (JTextField field : rangeFields) {
+            field.getDocument().addDocumentListener(listener);
+        }
+        
+        return panel;
+    }
+    
+    /**
+     * Menjalankan pencarian freelancer di server. Hasil query sebelumnya yang
+     * belum selesai diabaikan oleh PagedListModel.
+     */
+    private void searchFreelancers() {
+        FreelancerFilter filter = new FreelancerFilter(freelancerQueryField.getText(),
+                parseOptional(minRateField), parseOptional(maxRateField), parseOptional(minRatingField));
+        SortSpec<Freelancer> sort = freelancerSort.getSortSpec();
+        int searchId = ++freelancerSearchCount;
+        // Snapshot hanya menyimpan list lengkap dalam urutan asli
+        freelancerFiltered = !filter.isEmpty() || !sort.isNatural();
+        
+        runAsync(freelancerListModel.setSource(repository.freelancerPages(filter, sort)), "Mencari freelancer...",
+                count -> {
+            if (searchId == freelancerSearchCount && !filter.isEmpty()) {
+                lblStatus.setText(count + " freelancer ditemukan");
+            }
+        });
+    }
+    
+    private void searchProjects() {
+        ProjectFilter filter = new ProjectFilter(projectQueryField.getText(),
+                parseOptional(minBudgetField), parseOptional(maxBudgetField));
+        SortSpec<Project> sort = projectSort.getSortSpec();
+        int searchId = ++projectSearchCount;
+        projectFiltered = !filter.isEmpty() || !sort.isNatural();
+        
+        runAsync(projectListModel.setSource(repository.projectPages(filter, sort)), "Mencari proyek...",
+                count -> {
+            if (searchId == projectSearchCount && !filter.isEmpty()) {
+                lblStatus.setText(count + " proyek ditemukan");
+            }
+        });
+    }
+    
+    /**
+     * Angka dari kolom rentang, atau null jika kosong/tidak valid (kriteria diabaikan).
+     */
+    private static Double parseOptional(JTextField field) {
+        try {
+            String text = field.getText().trim();
+            return text.isEmpty() ? null : Double.valueOf(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Menampilkan freelancer dengan skor kecocokan tertinggi untuk proyek yang dipilih.
+     */
+    private void showMatchingFreelancers() {
+        Project project = selectedProject();
+        if (project == null) {
+            JOptionPane.showMessageDialog(this, "Pilih proyek terlebih dahulu.", "Cari Freelancer Cocok",
+                    JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        
+        CompletableFuture<List<MatchingEngine.Match>> matches = loadMatchingEngine()
+                .thenApplyAsync(engine -> engine.topMatches(project, TOP_MATCHES), Repositories.executor());
+        runAsync(matches, "Mencari freelancer cocok...", result -> {
+            DefaultListModel<String> rows = new DefaultListModel<>();
+            int rank = 1;
+            for (MatchingEngine.Match match : result) {
+                Freelancer f = match.getFreelancer();
+                rows.addElement(String.format("%d. %s (%s) - skor %.2f - Rp%.2f/jam - %.1f Bintang",
+                        rank++, f.getName(), f.getSkill(), match.getScore(), f.getRatePerHour(), f.getRating()));
+            }
+            if (rows.isEmpty()) {
+                rows.addElement("Belum ada freelancer.");
+            }
+            JList<String> list = new JList<>(rows);
+            JOptionPane.showMessageDialog(this, new JScrollPane(list),
+                    "Freelancer cocok untuk " + project.getTitle(), JOptionPane.PLAIN_MESSAGE);
+        });
+    }
+    
+    /**
+     * Membangun index pencocokan dari seluruh freelancer (sekali saja, di background).
+     * Setelah itu index diperbarui per baris lewat freelancerInserted/Updated/Removed.
+     */
+    private CompletableFuture<MatchingEngine> loadMatchingEngine() {
+        if (matchingEngineLoad == null) {
+            MatchingEngine engine = new MatchingEngine(MatchingEngine.Weights.defaults());
+            matchingEngineLoad = CompletableFuture.supplyAsync(() -> {
+                repository.forEachFreelancer(BulkTransfer.DEFAULT_BATCH_SIZE, engine::upsert);
+                return engine;
+            }, Repositories.executor());
+            matchingEngineLoad.whenCompleteAsync((result, error) -> {
+                if (error != null) {
+                    matchingEngineLoad = null; // coba lagi di permintaan berikutnya
+                } else {
+                    matchingEngine = result;
+                }
+            }, SwingUtilities::invokeLater);
+        }
+        return matchingEngineLoad;
+    }
+    
+    /**
+     * Menu "Data" untuk impor dan ekspor massal (CSV atau JSON-lines),
+     * dan menu "Statistik" untuk panel statistik.
+     */
+    private JMenuBar createMenuBar() {
+        JMenuBar menuBar = new JMenuBar();
+        JMenu dataMenu = new JMenu("Data");
+        
+        JMenuItem importFreelancers = new JMenuItem("Impor Freelancer...");
+        JMenuItem importProjects = new JMenuItem("Impor Proyek...");
+        JMenuItem exportFreelancers = new JMenuItem("Ekspor Freelancer...");
+        JMenuItem exportProjects = new JMenuItem("Ekspor Proyek...");
+        dataMenu.add(importFreelancers);
+        dataMenu.add(importProjects);
+        dataMenu.addSeparator();
+        dataMenu.add(exportFreelancers);
+        dataMenu.add(exportProjects);
+        menuBar.add(dataMenu);
+        
+        JMenu statisticsMenu = new JMenu("Statistik");
+        JMenuItem showStatistics = new JMenuItem("Tampilkan Statistik...");
+        statisticsMenu.add(showStatistics);
+        menuBar.add(statisticsMenu);
+        showStatistics.addActionListener((ActionEvent e) -> showStatistics());
+        
+        importFreelancers.addActionListener((ActionEvent e) -> {
+            Path file = chooseFile(false);
+            if (file != null) {
+                runAsync(supplyIO(() -> BulkTransfer.importFreelancers(repository, file, BulkTransfer.DEFAULT_BATCH_SIZE)),
+                        "Mengimpor freelancer...", report -> {
+                    showImportReport(report);
+                    refreshFreelancers();
+                });
+            }
+        });
+        
+        importProjects.addActionListener((ActionEvent e) -> {
+            Path file = chooseFile(false);
+            if (file != null) {
+                runAsync(supplyIO(() -> BulkTransfer.importProjects(repository, file, BulkTransfer.DEFAULT_BATCH_SIZE)),
+                        "Mengimpor proyek...", report -> {
+                    showImportReport(report);
+                    refreshProjects();
+                });
+            }
+        });
+        
+        exportFreelancers.addActionListener((ActionEvent e) -> {
+            Path file = chooseFile(true);
+            if (file != null) {
+                runAsync(supplyIO(() -> BulkTransfer.exportFreelancers(repository, file, BulkTransfer.DEFAULT_BATCH_SIZE)),
+                        "Mengekspor freelancer...", count -> lblStatus.setText(count + " freelancer diekspor"));
+            }
+        });
+        
+        exportProjects.addActionListener((ActionEvent e) -> {
+            Path file = chooseFile(true);
+            if (file != null) {
+                runAsync(supplyIO(() -> BulkTransfer.exportProjects(repository, file, BulkTransfer.DEFAULT_BATCH_SIZE)),
+                        "Mengekspor proyek...", count -> lblStatus.setText(count + " proyek diekspor"));
+            }
+        });
+        
+        return menuBar;
+    }
+    
+    /**
+     * Membuka panel statistik di jendela terpisah (non-modal) agar list tetap bisa dipakai.
+     */
+    private void showStatistics() {
+        if (!repository.isAvailable()) {
+            displayDatabaseError();
+            return;
+        }
+        StatisticsPanel panel = new StatisticsPanel(repository);
+        JDialog dialog = new JDialog(this, "Statistik Marketplace", false);
+        dialog.setContentPane(panel);
+        dialog.pack();
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+        panel.refresh();
+    }
+    
+    private Path chooseFile(boolean save) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV atau JSON-lines", "csv", "jsonl", "json"));
+        int result = save ? chooser.showSaveDialog(this) : chooser.showOpenDialog(this);
+        return result == JFileChooser.APPROVE_OPTION ? chooser.getSelectedFile().toPath() : null;
+    }
+    
+    private void showImportReport(BulkTransfer.ImportReport report) {
+        StringBuilder message = new StringBuilder(report.toString());
+        if (!report.getErrors().isEmpty()) {
+            message.append("\n\nKesalahan:");
+            for (String error : report.getErrors()) {
+                message.append("\n").append(error);
+            }
+        }
+        JTextArea text = new JTextArea(message.toString(), 12, 60);
+        text.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(text), "Hasil Impor",
+                report.getRejected() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+    }
+    
+    /**
+     * Operasi file yang melempar IOException, dijalankan di executor database.
+     */
+    private interface IOTask<T> {
+        T run() throws IOException;
+    }
+    
+    private static <T> CompletableFuture<T> supplyIO(IOTask<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, Repositories.executor());
+    }
+
+    /**
+     * Menampilkan dialog untuk mendaftarkan freelancer baru.
+     */
+    private void showRegisterFreelancerDialog(String type) {
+        // Buat panel kustom untuk dialog
+        JPanel panel = new JPanel(new GridLayout(4, 2, 5, 5));
+        JTextField nameField = new JTextField();
+        JTextField skillField = new JTextField();
+        JTextField rateField = new JTextField("0.0");
+        JTextField ratingField = new JTextField("5.0"); // Rating awal
+
+        panel.add(new JLabel("Nama:"));
+        panel.add(nameField);
+        panel.add(new JLabel("Skill Utama:"));
+        panel.add(skillField);
+        panel.add(new JLabel("Tarif per Jam (Rp):"));
+        panel.add(rateField);
+        panel.add(new JLabel("Rating Awal:"));
+        panel.add(ratingField);
+        
+        String dialogTitle = "";
+        Freelancer currentFreelancer = selectedFreelancer();
+        
+        if (type == "Add") {
+            dialogTitle = "Registrasi Freelancer";
+        } else if (type == "Update") {
+            if (currentFreelancer == null) {
+                return;
+            }
+            nameField.setText(currentFreelancer.getName());
+            skillField.setText(currentFreelancer.getSkill());
+            rateField.setText(Double.toString(currentFreelancer.getRatePerHour()));
+            ratingField.setText(Double.toString(currentFreelancer.getRating()));
+            dialogTitle = "Update Freelancer";
+        }
+
+        // Tampilkan dialog
+        int result = JOptionPane.showConfirmDialog(this, panel, dialogTitle,
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+
+        if (result == JOptionPane.OK_OPTION) {
+            try {
+                // Ambil data dari field
+                String name = nameField.getText();
+                String skill = skillField.getText();
+                double rate = Double.parseDouble(rateField.getText());
+                double rating = Double.parseDouble(ratingField.getText());
+
+                // Validasi input sederhana
+                if (name.isEmpty() || skill.isEmpty()) {
+                    JOptionPane.showMessageDialog(this, "Nama dan Skill tidak boleh kosong!", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                // Perubahan langsung ditampilkan; penyimpanan berjalan di belakang lewat antrean
+                if (type == "Add") {
+                    Freelancer freelancer = new Freelancer(name, skill, rate, rating);
+                    freelancerWrites.insert(freelancer);
+                    freelancerInserted(freelancer);
+                } else if (type == "Update") {
+                    if (name.equals(currentFreelancer.getName()) && skill.equals(currentFreelancer.getSkill())
+                            && rate == currentFreelancer.getRatePerHour() && rating == currentFreelancer.getRating()) {
+                        return; // Tidak ada yang berubah
+                    }
+                    Freelancer changed = new Freelancer(currentFreelancer.getId(), name, skill, rate, rating,
+                            currentFreelancer.getVersion(), System.currentTimeMillis());
+                    freelancerUpdated(freelancerWrites.update(currentFreelancer, changed));
+                }
+                
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Tarif dan Rating harus angka!", "Error", JOptionPane.ERROR_MESSAGE);
+            } catch (WriteQueueFullException ex) {
+                writeQueueFull(ex);
+            }
+        }
+    }
+
+    /**
+     * Menampilkan dialog untuk membuat proyek baru.
+     */
+    private void showPostProjectDialog(String type) {
+        // Buat panel kustom
+        JPanel panel = new JPanel(new GridLayout(4, 2, 5, 5));
+        JTextField titleField = new JTextField();
+        JTextField companyField = new JTextField();
+        JTextField descField = new JTextField();
+        JTextField budgetField = new JTextField("0.0");
+
+        panel.add(new JLabel("Judul Proyek:"));
+        panel.add(titleField);
+        panel.add(new JLabel("Nama Perusahaan:"));
+        panel.add(companyField);
+        panel.add(new JLabel("Deskripsi Singkat:"));
+        panel.add(descField);
+        panel.add(new JLabel("Budget (Rp):"));
+        panel.add(budgetField);
+
+        String dialogTitle = "";
+        Project currentProject = selectedProject();
+        
+        if (type == "Add") {
+            dialogTitle = "Buat Proyek Baru";
+        } else if (type == "Update") {
+            if (currentProject == null) {
+                return;
+            }
+            titleField.setText(currentProject.getTitle());
+            companyField.setText(currentProject.getCompanyName());
+            descField.setText(currentProject.getDescription());
+            budgetField.setText(Double.toString(currentProject.getBudget()));
+            dialogTitle = "Update Proyek";
+        }
+        
+        int result = JOptionPane.showConfirmDialog(this, panel, dialogTitle,
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+
+        if (result == JOptionPane.OK_OPTION) {
+            try {
+                String title = titleField.getText();
+                String company = companyField.getText();
+                String desc = descField.getText();
+                double budget = Double.parseDouble(budgetField.getText());
+
+                if (title.isEmpty() || company.isEmpty()) {
+                    JOptionPane.showMessageDialog(this, "Judul dan Perusahaan tidak boleh kosong!", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                
+                if (type == "Add") {
+                    Project project = new Project(title, desc, budget, company);
+                    projectWrites.insert(project);
+                    projectInserted(project);
+                } else if (type == "Update") {
+                    if (title.equals(currentProject.getTitle()) && company.equals(currentProject.getCompanyName())
+                            && desc.equals(currentProject.getDescription()) && budget == currentProject.getBudget()) {
+                        return;
+                    }
+                    Project changed = new Project(currentProject.getId(), title, desc, budget, company,
+                            currentProject.getVersion(), System.currentTimeMillis());
+                    projectUpdated(projectWrites.update(currentProject, changed));
+                }
+                
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Budget harus angka!", "Error", JOptionPane.ERROR_MESSAGE);
+            } catch (WriteQueueFullException ex) {
+                writeQueueFull(ex);
+            }
+        }
+    }
+    
+    private void showDeleteFreelancerConfirmation(ObjectId id, String name) {
+        int response = JOptionPane.showConfirmDialog(this,
+                "Hapus " + name + "?",
+                "Konfirmasi",
+                JOptionPane.YES_NO_OPTION
+        );
+
+        if (response == JOptionPane.YES_OPTION) {
+            try {
+                freelancerWrites.delete(id);
+                freelancerRemoved(id);
+            } catch (WriteQueueFullException ex) {
+                writeQueueFull(ex);
+            }
+        }
+    }
+    
+    private void showDeleteProjectConfirmation(ObjectId id, String title) {
+        int response = JOptionPane.showConfirmDialog(this,
+                "Hapus " + title + "?",
+                "Konfirmasi",
+                JOptionPane.YES_NO_OPTION
+        );
+
+        if (response == JOptionPane.YES_OPTION) {
+            try {
+                projectWrites.delete(id);
+                projectRemoved(id);
+            } catch (WriteQueueFullException ex) {
+                writeQueueFull(ex);
+            }
+        }
+    }
+    
+    /**
+     * Freelancer yang sedang dipilih, di-resolve lewat cache berdasarkan id
+     * (bukan posisi di list) agar yang dipakai selalu versi terbaru.
+     */
+    private Freelancer selectedFreelancer() {
+        Freelancer selected = jlistFreelancers.getSelectedValue();
+        if (selected == null) {
+            return null;
+        }
+        // Versi di list bisa lebih baru dari cache jika perubahannya masih antre
+        Freelancer cached = repository.peekFreelancer(selected.getId());
+        return cached != null && cached.getVersion() > selected.getVersion() ? cached : selected;
+    }
+    
+    private Project selectedProject() {
+        Project selected = jlistProjects.getSelectedValue();
+        if (selected == null) {
+            return null;
+        }
+        Project cached = repository.peekProject(selected.getId());
+        return cached != null && cached.getVersion() > selected.getVersion() ? cached : selected;
+    }
+    
+    /**
+     * Menambahkan satu freelancer ke list tanpa memuat ulang seluruh koleksi. Pada list yang
+     * difilter/diurutkan posisi (dan kecocokan) baris baru tidak diketahui, jadi list di-refresh.
+     */
+    public void freelancerInserted(Freelancer freelancer) {
+        localVersions.put(freelancer.getId(), freelancer.getVersion());
+        insert(freelancerListModel, freelancerFiltered, freelancer);
+        if (matchingEngine != null) {
+            matchingEngine.upsert(freelancer);
+        }
+    }
+    
+    /**
+     * Mengganti satu freelancer di list dengan versi terbaru dari database.
+     */
+    public void freelancerUpdated(Freelancer freelancer) {
+        localVersions.put(freelancer.getId(), freelancer.getVersion());
+        freelancerListModel.replace(freelancer);
+        if (matchingEngine != null) {
+            matchingEngine.upsert(freelancer);
+        }
+    }
+    
+    public void freelancerRemoved(ObjectId id) {
+        localVersions.put(id, DELETED);
+        freelancerListModel.remove(id);
+        if (matchingEngine != null) {
+            matchingEngine.remove(id);
+        }
+    }
+    
+    public void projectInserted(Project project) {
+        localVersions.put(project.getId(), project.getVersion());
+        insert(projectListModel, projectFiltered, project);
+    }
+    
+    private static <T> void insert(PagedListModel<T> model, boolean filtered, T row) {
+        if (filtered) {
+            model.requestRefresh();
+        } else {
+            // Urutan asli mengikuti _id, jadi dokumen baru berada di akhir list
+            model.append(row);
+        }
+    }
+    
+    public void projectUpdated(Project project) {
+        localVersions.put(project.getId(), project.getVersion());
+        projectListModel.replace(project);
+    }
+    
+    public void projectRemoved(ObjectId id) {
+        localVersions.put(id, DELETED);
+        projectListModel.remove(id);
+    }
+    
+    /**
+     * Perubahan freelancer dari change stream (sudah digabung per frame).
+     * Index pencocokan selalu diperbarui, list lewat applyChanges.
+     */
+    private void freelancersChanged(Collection<WriteOp<Freelancer>> changes) {
+        List<WriteOp<Freelancer>> applied = applyChanges(freelancerListModel, freelancerFiltered, changes,
+                Freelancer::getVersion);
+        if (matchingEngine != null) {
+            for (WriteOp<Freelancer> change : applied) {
+                if (change.getKind() == WriteOp.Kind.DELETE) {
+                    matchingEngine.remove(change.getId());
+                } else {
+                    matchingEngine.upsert(change.getEntity());
+                }
+            }
+        }
+    }
+    
+    private void projectsChanged(Collection<WriteOp<Project>> changes) {
+        applyChanges(projectListModel, projectFiltered, changes, Project::getVersion);
+    }
+    
+    /**
+     * Ada perubahan freelancer yang terlewat: list disinkronkan ulang dan index pencocokan
+     * dibangun lagi saat dipakai berikutnya.
+     */
+    private void freelancersResync() {
+        freelancerListModel.requestRefresh();
+        matchingEngine = null;
+        matchingEngineLoad = null;
+    }
+    
+    /**
+     * Menerapkan perubahan dari change stream ke list. Perubahan yang sudah tampil karena
+     * ditulis klien ini sendiri dilewati. Pada list yang difilter/diurutkan posisi baris baru
+     * tidak diketahui, begitu juga baris terhapus yang halamannya tidak sedang dimuat; keduanya
+     * diselesaikan dengan satu refresh. Mengembalikan perubahan yang benar-benar diterapkan.
+     */
+    private <T> List<WriteOp<T>> applyChanges(PagedListModel<T> model, boolean filtered,
+                                              Collection<WriteOp<T>> changes, ToLongFunction<T> versionOf) {
+        List<WriteOp<T>> applied = new ArrayList<>(changes.size());
+        boolean stale = false;
+        for (WriteOp<T> change : changes) {
+            Long local = localVersions.get(change.getId());
+            boolean deleted = change.getKind() == WriteOp.Kind.DELETE;
+            if (local != null && (deleted ? local == DELETED
+                    : local != DELETED && versionOf.applyAsLong(change.getEntity()) <= local)) {
+                continue;
+            }
+            applied.add(change);
+            if (filtered) {
+                stale = true;
+            } else if (deleted) {
+                if (model.indexOf(change.getId()) >= 0) {
+                    model.remove(change.getId());
+                } else {
+                    stale = true;
+                }
+            } else if (!model.replace(change.getEntity()) && change.getKind() == WriteOp.Kind.INSERT) {
+                // Urutan asli mengikuti _id, jadi dokumen baru berada di akhir list
+                model.append(change.getEntity());
+            }
+        }
+        if (stale) {
+            model.requestRefresh();
+        }
+        return applied;
+    }
+    
+    /**
+     * Memuat ulang seluruh koleksi freelancer. Hanya dipanggil jika diminta pengguna.
+     * Cache halaman dibuang dan jumlah dokumen dihitung ulang; isi halaman dimuat
+     * kembali sesuai baris yang terlihat.
+     */
+    public void refreshFreelancers() {
+        runAsync(freelancerListModel.reload(), "Memuat freelancer...", count -> {});
+    }
+    
+    public void refreshProjects() {
+        runAsync(projectListModel.reload(), "Memuat proyek...", count -> {});
+    }
+    
+    /**
+     * Menjalankan operasi database di background lalu memproses hasilnya di EDT.
+     * Selama operasi berjalan, status bar menampilkan indikator sibuk.
+     */
+    private <T> void runAsync(CompletableFuture<T> task, String message, Consumer<T> onSuccess) {
+        setBusy(message, 1);
+        task.whenCompleteAsync((result, error) -> {
+            setBusy("Memproses...", -1);
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof ConcurrentUpdateException conflict) {
+                    showUpdateConflict(List.of(conflict.getCurrent()));
+                    return;
+                }
+                JOptionPane.showMessageDialog(this,
+                        "Operasi database gagal:\n" + cause.getMessage(),
+                        "Kesalahan Database",
+                        JOptionPane.ERROR_MESSAGE);
+            } else {
+                onSuccess.accept(result);
+            }
+        }, SwingUtilities::invokeLater);
+    }
+    
+    /**
+     * Update ditolak karena data sudah diubah orang lain: tampilkan versi terbaru di list
+     * lalu beri tahu pengguna agar mengulangi perubahannya di atas data tersebut.
+     */
+    private void showUpdateConflict(List<?> currents) {
+        StringBuilder names = new StringBuilder();
+        for (Object current : currents) {
+            if (current instanceof Freelancer freelancer) {
+                freelancerUpdated(freelancer);
+                names.append("\n- ").append(freelancer.getName());
+            } else if (current instanceof Project project) {
+                projectUpdated(project);
+                names.append("\n- ").append(project.getTitle());
+            }
+        }
+        JOptionPane.showMessageDialog(this,
+                "Data berikut telah diubah oleh pengguna lain sejak Anda membukanya:" + names + "\n" +
+                "List sudah diperbarui dengan data terbaru, silakan ulangi perubahan Anda.",
+                "Konflik Perubahan",
+                JOptionPane.WARNING_MESSAGE);
+    }
+    
+    /**
+     * Dipanggil dari thread write-behind saat database menolak perubahan secara permanen.
+     * Perubahan itu dibuang, jadi pengguna perlu tahu.
+     */
+    private void writeRejected(RejectedWritesException error) {
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                "Perubahan tidak tersimpan ke database:\n" + error.getMessage() + "\n"
+                        + "Perubahan tersebut dibatalkan; muat ulang list untuk melihat data yang tersimpan.",
+                "Kesalahan Database",
+                JOptionPane.ERROR_MESSAGE));
+    }
+    
+    /**
+     * Antrean tanpa jurnal sudah penuh: perubahan tidak diterima dan list tidak diubah.
+     * Cukup diberi tahu di status bar, bukan dialog, karena pengguna bisa langsung mencoba lagi.
+     */
+    private void writeQueueFull(WriteQueueFullException error) {
+        Toolkit.getDefaultToolkit().beep();
+        lblStatus.setText(error.getMessage());
+    }
+    
+    /**
+     * Selama antrean tulis belum bisa dikirim (misalnya server tidak bisa dihubungi), status bar
+     * menampilkan jumlah perubahan yang menunggu; tidak ada dialog karena perubahan tetap aman
+     * di antrean/jurnal dan terkirim sendiri saat server kembali.
+     */
+    private void updateSyncStatus() {
+        if (freelancerWrites == null || projectWrites == null) {
+            return;
+        }
+        RuntimeException failure = freelancerWrites.syncFailure() != null
+                ? freelancerWrites.syncFailure()
+                : projectWrites.syncFailure();
+        if (failure == null) {
+            lblSync.setVisible(false);
+            return;
+        }
+        int waiting = freelancerWrites.pendingCount() + projectWrites.pendingCount();
+        lblSync.setText(waiting + " perubahan menunggu sinkronisasi");
+        lblSync.setToolTipText(failure.getMessage());
+        lblSync.setVisible(true);
+    }
+    
+    private void setBusy(String message, int delta) {
+        pendingOperations += delta;
+        boolean busy = pendingOperations > 0;
+        lblStatus.setText(busy ? message : "Siap");
+        busyIndicator.setVisible(busy);
+        setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
+    /**
+     * Memuat beberapa data contoh agar list tidak kosong saat aplikasi dimulai.
+     */
+    private void loadSampleData() {
+        // Data Freelancer Contoh
+        Freelancer f1 = new Freelancer("Budi Setiawan", "Programmer Java", 50, 4.8);
+        Freelancer f2 = new Freelancer("Ani Lestari", "Desainer UI/UX", 45, 4.9);
+        Freelancer f3 = new Freelancer("Rahmat Hidayat", "Penulis Konten", 30, 4.5);
+
+        freelancerListModel.setSource(new ListPageSource<>(List.of(f1, f2, f3)));
+
+        // Data Proyek Contoh
+        Project p1 = new Project("Sistem E-Commerce", "Membuat toko online", 5000, "Toko Maju Jaya");
+        Project p2 = new Project("Desain Logo", "Desain logo untuk startup baru", 500, "MulaiApps");
+
+        projectListModel.setSource(new ListPageSource<>(List.of(p1, p2)));
+    }
+    
+    public void displayDatabaseError() {
+        JOptionPane.showMessageDialog(this, 
+            "Terjadi kesalahan saat menghubungkan ke database.\n" +
+            "Harap periksa pengaturan koneksi (marketplace.mongo.uri di marketplace.properties\n" +
+            "atau environment variable MARKETPLACE_MONGO_URI).", 
+            "Kesalahan Koneksi Database", 
+            JOptionPane.ERROR_MESSAGE);
+    }
+}
+
+// =====================================================================
+// --- Kelas Renderer Kustom (View) ---
+// Kelas ini digunakan untuk membuat tampilan JList lebih cantik
+// daripada sekadar teks biasa.
+// =====================================================================
+
+/**
+ * Renderer dua baris (judul dan subjudul di kiri, detail di kanan) yang menggambar
+ * teks langsung tanpa JPanel/JLabel bersarang. Teks tampilan dihitung sekali per
+ * objek lalu disimpan; karena update selalu menghasilkan objek baru, cache lama
+ * otomatis tidak terpakai lagi (dan dibuang GC lewat WeakHashMap).
+ * Tinggi sel selalu sama sehingga JList tidak perlu mengukur tiap baris.
+ */
+abstract class TwoLineRenderer<T> extends JComponent implements ListCellRenderer<T> {
+    private static final int PADDING = 5;
+
+    /** Teks yang sudah siap digambar untuk satu baris. */
+    static final class Lines {
+        final String title;
+        final String subtitle;
+        final String detail;
+        final int detailWidth;
+
+        Lines(String title, String subtitle, String detail, FontMetrics detailMetrics) {
+            this.title = title == null ? "" : title;
+            this.subtitle = subtitle == null ? "" : subtitle;
+            this.detail = detail;
+            this.detailWidth = detailMetrics.stringWidth(detail);
+        }
+    }
+
+    private final Map<T, Lines> cache = new WeakHashMap<>();
+    private final Lines loading;
+    private final Font titleFont;
+    private final Font subtitleFont;
+    private final Font detailFont;
+    private final FontMetrics titleMetrics;
+    private final FontMetrics subtitleMetrics;
+    protected final FontMetrics detailMetrics;
+    private final int lineHeight;
+
+    private Lines lines;
+    private Color textColor;
+    private Color detailColor;
+    private Color normalDetailColor;
+
+    TwoLineRenderer(Font titleFont, Font subtitleFont, Font detailFont) {
+        this.titleFont = titleFont;
+        this.subtitleFont = subtitleFont;
+        this.detailFont = detailFont;
+        this.titleMetrics = getFontMetrics(titleFont);
+        this.subtitleMetrics = getFontMetrics(subtitleFont);
+        this.detailMetrics = getFontMetrics(detailFont);
+        this.lineHeight = Math.max(titleMetrics.getHeight(), subtitleMetrics.getHeight());
+        this.loading = new Lines("Memuat...", "", "", detailMetrics);
+        this.lines = loading;
+        setOpaque(true);
+    }
+
+    /**
+     * Membuat teks tampilan untuk satu objek. Hanya dipanggil saat objek belum ada di cache.
+     */
+    protected abstract Lines createLines(T value);
+
+    /**
+     * Warna teks detail saat baris tidak dipilih; null berarti sama dengan teks lain.
+     */
+    protected void setDetailColor(Color color) {
+        this.normalDetailColor = color;
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<? extends T> list, T value, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+        // Halaman untuk baris ini belum selesai dimuat
+        if (value == null) {
+            lines = loading;
+        } else {
+            lines = cache.get(value);
+            if (lines == null) {
+                lines = createLines(value);
+                cache.put(value, lines);
+            }
+        }
+
+        // Atur warna background saat item dipilih
+        if (isSelected) {
+            setBackground(list.getSelectionBackground());
+            textColor = list.getSelectionForeground();
+            detailColor = textColor;
+        } else {
+            setBackground(list.getBackground());
+            textColor = list.getForeground();
+            detailColor = normalDetailColor != null ? normalDetailColor : textColor;
+        }
+        return this;
+    }
+
+    /**
+     * Tinggi selalu sama untuk semua baris; lebar hanya dipakai JList lewat prototype cell value.
+     */
+    @Override
+    public Dimension getPreferredSize() {
+        int textWidth = Math.max(titleMetrics.stringWidth(lines.title), subtitleMetrics.stringWidth(lines.subtitle));
+        return new Dimension(3 * PADDING + textWidth + lines.detailWidth, 2 * lineHeight + 2 * PADDING);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int width = getWidth();
+        int height = getHeight();
+        g.setColor(getBackground());
+        g.fillRect(0, 0, width, height);
+
+        // Detail rata kanan dan di tengah secara vertikal
+        int detailX = width - PADDING - lines.detailWidth;
+        g.setFont(detailFont);
+        g.setColor(detailColor);
+        g.drawString(lines.detail, detailX,
+                (height - detailMetrics.getHeight()) / 2 + detailMetrics.getAscent());
+
+        // Judul dan subjudul dipotong agar tidak menimpa detail
+        g.clipRect(0, 0, detailX - PADDING, height);
+        g.setColor(textColor);
+        g.setFont(titleFont);
+        g.drawString(lines.title, PADDING, PADDING + titleMetrics.getAscent());
+        g.setFont(subtitleFont);
+        g.drawString(lines.subtitle, PADDING, PADDING + lineHeight + subtitleMetrics.getAscent());
+    }
+
+    // Sama seperti DefaultListCellRenderer: renderer hanya dipakai untuk menggambar,
+    // jadi method berikut dikosongkan agar tidak memicu layout/repaint yang sia-sia.
+    @Override
+    public void invalidate() {
+    }
+
+    @Override
+    public void validate() {
+    }
+
+    @Override
+    public void revalidate() {
+    }
+
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
+    }
+
+    @Override
+    public void repaint(Rectangle r) {
+    }
+
+    @Override
+    public void repaint() {
+    }
+
+    @Override
+    protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+    }
+}
+
+/**
+ * Custom Cell Renderer untuk JList Freelancer.
+ * Ini membuat tampilan list lebih informatif dan rapi.
+ */
+class FreelancerRenderer extends TwoLineRenderer<Freelancer> {
+
+    public FreelancerRenderer() {
+        super(new Font("Arial", Font.BOLD, 14),
+                new Font("Arial", Font.ITALIC, 12),
+                new Font("Arial", Font.PLAIN, 12));
+    }
+
+    @Override
+    protected Lines createLines(Freelancer freelancer) {
+        return new Lines(freelancer.getName(), freelancer.getSkill(),
+                String.format("Rp%.2f/jam | %.1f Bintang", freelancer.getRatePerHour(), freelancer.getRating()),
+                detailMetrics);
+    }
+}
+
+/**
+ * Custom Cell Renderer untuk JList Project.
+ */
+class ProjectRenderer extends TwoLineRenderer<Project> {
+
+    public ProjectRenderer() {
+        super(new Font("Arial", Font.BOLD, 14),
+                new Font("Arial", Font.ITALIC, 12),
+                new Font("Arial", Font.BOLD, 12));
+        setDetailColor(new Color(0, 100, 0)); // Warna hijau tua
+    }
+
+    @Override
+    protected Lines createLines(Project project) {
+        return new Lines(project.getTitle(), "oleh " + project.getCompanyName(),
+                String.format("Budget: Rp%.2f", project.getBudget()), detailMetrics);
+    }
+}
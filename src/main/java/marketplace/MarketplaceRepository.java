@@ -0,0 +1,27 @@
+package marketplace;
+
+/**
+ * Gabungan repository freelancer dan proyek yang dipakai GUI.
+ */
+public interface MarketplaceRepository extends FreelancerRepository, ProjectRepository {
+    /**
+     * false jika engine penyimpanan tidak bisa dipakai sama sekali (misalnya URI MongoDB belum diatur).
+     */
+    boolean isAvailable();
+
+    /**
+     * Mulai menerima perubahan dokumen dari semua klien, termasuk klien ini sendiri.
+     * Listener boleh null jika perubahan koleksi tersebut tidak diperlukan.
+     * Engine lokal hanya dipakai satu proses, jadi implementasi default tidak mengirim apa pun.
+     */
+    default ChangeFeed watchChanges(ChangeFeed.Listener<Freelancer> freelancers,
+                                    ChangeFeed.Listener<Project> projects) {
+        return ChangeFeed.NONE;
+    }
+
+    /**
+     * Menutup koneksi atau file. Dipanggil saat aplikasi berhenti.
+     */
+    default void close() {
+    }
+}
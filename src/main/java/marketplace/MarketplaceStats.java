@@ -0,0 +1,220 @@
+package marketplace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Angka ringkasan untuk panel statistik: rata-rata per skill, total dan median budget
+ * per perusahaan, serta sebaran rate dan budget. Terdiri dari dua bagian yang dihitung
+ * (dan di-cache) terpisah karena berasal dari koleksi yang berbeda.
+ */
+public final class MarketplaceStats {
+    /** Batas bawah setiap kelompok sebaran rate per jam; kelompok terakhir tidak punya batas atas. */
+    public static final double[] RATE_BOUNDARIES = {0, 10, 25, 50, 100, 200};
+    /** Batas bawah setiap kelompok sebaran budget proyek. */
+    public static final double[] BUDGET_BOUNDARIES = {0, 500, 1_000, 5_000, 10_000, 50_000};
+    /** Jumlah skill/perusahaan terbanyak yang ditampilkan. */
+    public static final int TOP_GROUPS = 20;
+
+    private final Freelancers freelancers;
+    private final Projects projects;
+
+    public MarketplaceStats(Freelancers freelancers, Projects projects) {
+        this.freelancers = freelancers;
+        this.projects = projects;
+    }
+
+    public Freelancers getFreelancers() { return freelancers; }
+    public Projects getProjects() { return projects; }
+
+    /**
+     * Statistik koleksi freelancer.
+     */
+    public static final class Freelancers {
+        private final long count;
+        private final List<SkillGroup> skills;
+        private final List<Bucket> rateDistribution;
+        private final long computedAt;
+
+        public Freelancers(long count, List<SkillGroup> skills, List<Bucket> rateDistribution) {
+            this.count = count;
+            this.skills = skills;
+            this.rateDistribution = rateDistribution;
+            this.computedAt = System.currentTimeMillis();
+        }
+
+        public long getCount() { return count; }
+        public List<SkillGroup> getSkills() { return skills; }
+        public List<Bucket> getRateDistribution() { return rateDistribution; }
+        public long getComputedAt() { return computedAt; }
+
+        /**
+         * Menghitung di sisi klien sambil membaca freelancer satu per satu. Dipakai engine
+         * yang tidak punya aggregation; hanya akumulator per skill yang disimpan di memori.
+         */
+        public static Freelancers compute(FreelancerRepository repository) {
+            // {jumlah, total rate, total rating}, dikelompokkan berdasarkan kode skill
+            StringDictionary.Groups<double[]> bySkill = StringDictionary.SKILLS.groups(key -> new double[3]);
+            long[] rates = new long[RATE_BOUNDARIES.length];
+            long count = repository.forEachFreelancer(BulkTransfer.DEFAULT_BATCH_SIZE, f -> {
+                double[] sums = bySkill.get(f.getSkill());
+                sums[0]++;
+                sums[1] += f.getRatePerHour();
+                sums[2] += f.getRating();
+                rates[bucketOf(RATE_BOUNDARIES, f.getRatePerHour())]++;
+            });
+
+            List<SkillGroup> skills = new ArrayList<>(bySkill.size());
+            bySkill.forEach((skill, sums) ->
+                    skills.add(new SkillGroup(skill, (long) sums[0], sums[1] / sums[0], sums[2] / sums[0])));
+            skills.sort(Comparator.comparingLong(SkillGroup::getCount).reversed()
+                    .thenComparing(SkillGroup::getSkill, Comparator.nullsFirst(Comparator.naturalOrder())));
+            return new Freelancers(count, top(skills), buckets(RATE_BOUNDARIES, rates));
+        }
+    }
+
+    /**
+     * Statistik koleksi proyek.
+     */
+    public static final class Projects {
+        private final long count;
+        private final List<CompanyGroup> companies;
+        private final List<Bucket> budgetDistribution;
+        private final long computedAt;
+
+        public Projects(long count, List<CompanyGroup> companies, List<Bucket> budgetDistribution) {
+            this.count = count;
+            this.companies = companies;
+            this.budgetDistribution = budgetDistribution;
+            this.computedAt = System.currentTimeMillis();
+        }
+
+        public long getCount() { return count; }
+        public List<CompanyGroup> getCompanies() { return companies; }
+        public List<Bucket> getBudgetDistribution() { return budgetDistribution; }
+        public long getComputedAt() { return computedAt; }
+
+        /**
+         * Sama seperti Freelancers.compute. Median membutuhkan semua budget per perusahaan,
+         * jadi hanya angka budget (bukan objek proyek) yang disimpan sementara.
+         */
+        public static Projects compute(ProjectRepository repository) {
+            StringDictionary.Groups<List<Double>> byCompany = StringDictionary.COMPANIES.groups(key -> new ArrayList<>());
+            long[] budgets = new long[BUDGET_BOUNDARIES.length];
+            long count = repository.forEachProject(BulkTransfer.DEFAULT_BATCH_SIZE, p -> {
+                byCompany.get(p.getCompanyName()).add(p.getBudget());
+                budgets[bucketOf(BUDGET_BOUNDARIES, p.getBudget())]++;
+            });
+
+            List<CompanyGroup> companies = new ArrayList<>(byCompany.size());
+            byCompany.forEach((company, values) -> {
+                Collections.sort(values);
+                double total = 0;
+                for (double value : values) {
+                    total += value;
+                }
+                int middle = values.size() / 2;
+                double median = values.size() % 2 == 1
+                        ? values.get(middle)
+                        : (values.get(middle - 1) + values.get(middle)) / 2;
+                companies.add(new CompanyGroup(company, values.size(), total, median));
+            });
+            companies.sort(Comparator.comparingDouble(CompanyGroup::getTotalBudget).reversed());
+            return new Projects(count, top(companies), buckets(BUDGET_BOUNDARIES, budgets));
+        }
+    }
+
+    /**
+     * Jumlah freelancer, rata-rata rate dan rating untuk satu skill.
+     */
+    public static final class SkillGroup {
+        private final String skill;
+        private final long count;
+        private final double averageRate;
+        private final double averageRating;
+
+        public SkillGroup(String skill, long count, double averageRate, double averageRating) {
+            this.skill = skill;
+            this.count = count;
+            this.averageRate = averageRate;
+            this.averageRating = averageRating;
+        }
+
+        public String getSkill() { return skill; }
+        public long getCount() { return count; }
+        public double getAverageRate() { return averageRate; }
+        public double getAverageRating() { return averageRating; }
+    }
+
+    /**
+     * Jumlah proyek, total dan median budget untuk satu perusahaan.
+     */
+    public static final class CompanyGroup {
+        private final String company;
+        private final long count;
+        private final double totalBudget;
+        private final double medianBudget;
+
+        public CompanyGroup(String company, long count, double totalBudget, double medianBudget) {
+            this.company = company;
+            this.count = count;
+            this.totalBudget = totalBudget;
+            this.medianBudget = medianBudget;
+        }
+
+        public String getCompany() { return company; }
+        public long getCount() { return count; }
+        public double getTotalBudget() { return totalBudget; }
+        public double getMedianBudget() { return medianBudget; }
+    }
+
+    /**
+     * Satu kelompok sebaran: nilai dalam [lower, upper). upper bernilai
+     * Double.POSITIVE_INFINITY untuk kelompok terakhir.
+     */
+    public static final class Bucket {
+        private final double lower;
+        private final double upper;
+        private final long count;
+
+        public Bucket(double lower, double upper, long count) {
+            this.lower = lower;
+            this.upper = upper;
+            this.count = count;
+        }
+
+        public double getLower() { return lower; }
+        public double getUpper() { return upper; }
+        public long getCount() { return count; }
+    }
+
+    /**
+     * Menyusun kelompok sebaran dari jumlah per batas bawah (urutan sama dengan boundaries).
+     */
+    static List<Bucket> buckets(double[] boundaries, long[] counts) {
+        List<Bucket> result = new ArrayList<>(boundaries.length);
+        for (int i = 0; i < boundaries.length; i++) {
+            double upper = i + 1 < boundaries.length ? boundaries[i + 1] : Double.POSITIVE_INFINITY;
+            result.add(new Bucket(boundaries[i], upper, counts[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Index kelompok untuk sebuah nilai. Nilai di bawah batas pertama ikut kelompok pertama.
+     */
+    static int bucketOf(double[] boundaries, double value) {
+        for (int i = boundaries.length - 1; i > 0; i--) {
+            if (value >= boundaries[i]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static <T> List<T> top(List<T> sorted) {
+        return new ArrayList<>(sorted.subList(0, Math.min(TOP_GROUPS, sorted.size())));
+    }
+}
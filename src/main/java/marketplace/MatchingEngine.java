@@ -0,0 +1,296 @@
+package marketplace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import org.bson.types.ObjectId;
+
+/**
+ * Mesin pencocokan freelancer untuk sebuah proyek.
+ *
+ * Skor setiap freelancer adalah kombinasi berbobot dari:
+ * - kecocokan skill: porsi token skill freelancer yang muncul di judul/deskripsi proyek,
+ * - keterjangkauan: berapa jam kerja yang bisa dibayar budget proyek dengan tarif freelancer,
+ * - rating (0-5).
+ *
+ * Token skill disimpan dalam inverted index (token -> nomor baris freelancer) sehingga
+ * kecocokan skill dihitung hanya dari posting list token proyek. Penilaian seluruh baris
+ * dibagi ke beberapa core, masing-masing dengan heap top-K sendiri, lalu digabung.
+ *
+ * Data freelancer disimpan di array per kolom dan bisa diperbarui satu per satu
+ * (upsert/remove) tanpa membangun ulang index.
+ */
+public class MatchingEngine {
+    private static final int CHUNK_SIZE = 16_384;
+
+    /**
+     * Bobot komponen skor. referenceHours adalah jumlah jam kerja yang dianggap
+     * "cukup" agar freelancer dinilai terjangkau penuh oleh budget proyek.
+     */
+    public static class Weights {
+        private final double skill;
+        private final double affordability;
+        private final double rating;
+        private final double referenceHours;
+
+        public Weights(double skill, double affordability, double rating, double referenceHours) {
+            this.skill = skill;
+            this.affordability = affordability;
+            this.rating = rating;
+            this.referenceHours = referenceHours;
+        }
+
+        public static Weights defaults() {
+            return new Weights(0.6, 0.25, 0.15, 40);
+        }
+    }
+
+    public static class Match {
+        private final Freelancer freelancer;
+        private final double score;
+
+        Match(Freelancer freelancer, double score) {
+            this.freelancer = freelancer;
+            this.score = score;
+        }
+
+        public Freelancer getFreelancer() { return freelancer; }
+        public double getScore() { return score; }
+    }
+
+    private final Weights weights;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Kolom data per baris; baris yang dihapus bernilai null di freelancers
+    private Freelancer[] freelancers = new Freelancer[1024];
+    private double[] rates = new double[1024];
+    private double[] ratings = new double[1024];
+    private int[] skillTokenCounts = new int[1024];
+    private int rowCount = 0;
+    private int removedCount = 0;
+    private final Map<ObjectId, Integer> rowOf = new HashMap<>();
+    private final Map<String, IntList> postings = new HashMap<>();
+    // Hanya diakses di bawah write lock
+    private final List<Set<String>> tokensBySkill = new ArrayList<>();
+
+    public MatchingEngine(Weights weights) {
+        this.weights = weights;
+    }
+
+    /**
+     * Menambah atau mengganti satu freelancer di index.
+     */
+    public void upsert(Freelancer freelancer) {
+        lock.writeLock().lock();
+        try {
+            removeRow(freelancer.getId());
+            addRow(freelancer);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(ObjectId id) {
+        lock.writeLock().lock();
+        try {
+            removeRow(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowCount - removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mengembalikan maksimal k freelancer dengan skor tertinggi untuk proyek ini,
+     * diurutkan dari skor terbesar.
+     */
+    public List<Match> topMatches(Project project, int k) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        Set<String> projectTokens = Tokenizer.tokens(project.getTitle() + " " + project.getDescription());
+
+        lock.readLock().lock();
+        try {
+            // Hitung jumlah token skill yang cocok per baris lewat posting list
+            int[] overlap = new int[rowCount];
+            for (String token : projectTokens) {
+                IntList rows = postings.get(token);
+                if (rows != null) {
+                    for (int i = 0; i < rows.size; i++) {
+                        overlap[rows.values[i]]++;
+                    }
+                }
+            }
+
+            double budget = project.getBudget();
+            int chunks = (rowCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            PriorityQueue<Match> best = IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> scoreChunk(chunk * CHUNK_SIZE,
+                            Math.min(rowCount, (chunk + 1) * CHUNK_SIZE), overlap, budget, k))
+                    .reduce(newHeap(k), (a, b) -> merge(a, b, k));
+
+            List<Match> result = new ArrayList<>(best);
+            result.sort(Comparator.comparingDouble(Match::getScore).reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PriorityQueue<Match> scoreChunk(int from, int to, int[] overlap, double budget, int k) {
+        PriorityQueue<Match> heap = newHeap(k);
+        for (int row = from; row < to; row++) {
+            Freelancer freelancer = freelancers[row];
+            if (freelancer == null) {
+                continue;
+            }
+
+            double skillScore = skillTokenCounts[row] == 0 ? 0 : (double) overlap[row] / skillTokenCounts[row];
+            double affordability = rates[row] <= 0
+                    ? 1.0
+                    : Math.min(1.0, budget / rates[row] / weights.referenceHours);
+            double score = weights.skill * skillScore
+                    + weights.affordability * affordability
+                    + weights.rating * Math.min(1.0, ratings[row] / 5.0);
+
+            if (heap.size() < k) {
+                heap.add(new Match(freelancer, score));
+            } else if (score > heap.peek().getScore()) {
+                heap.poll();
+                heap.add(new Match(freelancer, score));
+            }
+        }
+        return heap;
+    }
+
+    private static PriorityQueue<Match> newHeap(int k) {
+        return new PriorityQueue<>(Math.max(1, k), Comparator.comparingDouble(Match::getScore));
+    }
+
+    private static PriorityQueue<Match> merge(PriorityQueue<Match> a, PriorityQueue<Match> b, int k) {
+        PriorityQueue<Match> merged = newHeap(k);
+        for (PriorityQueue<Match> heap : List.of(a, b)) {
+            for (Match match : heap) {
+                if (merged.size() < k) {
+                    merged.add(match);
+                } else if (match.getScore() > merged.peek().getScore()) {
+                    merged.poll();
+                    merged.add(match);
+                }
+            }
+        }
+        return merged;
+    }
+
+    private void addRow(Freelancer freelancer) {
+        if (rowCount == freelancers.length) {
+            int capacity = rowCount * 2;
+            freelancers = Arrays.copyOf(freelancers, capacity);
+            rates = Arrays.copyOf(rates, capacity);
+            ratings = Arrays.copyOf(ratings, capacity);
+            skillTokenCounts = Arrays.copyOf(skillTokenCounts, capacity);
+        }
+
+        int row = rowCount++;
+        Set<String> tokens = skillTokens(freelancer.getSkill());
+        freelancers[row] = freelancer;
+        rates[row] = freelancer.getRatePerHour();
+        ratings[row] = freelancer.getRating();
+        skillTokenCounts[row] = tokens.size();
+        rowOf.put(freelancer.getId(), row);
+
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, t -> new IntList()).add(row);
+        }
+    }
+
+    /**
+     * Token skill, di-cache per kode StringDictionary: skill yang sama di ribuan freelancer
+     * cukup di-tokenize sekali. Set hasilnya dipakai bersama, jadi tidak boleh diubah.
+     */
+    private Set<String> skillTokens(String skill) {
+        int code = StringDictionary.SKILLS.code(skill);
+        if (code == StringDictionary.NO_CODE) {
+            return Tokenizer.tokens(skill);
+        }
+        while (tokensBySkill.size() <= code) {
+            tokensBySkill.add(null);
+        }
+        Set<String> tokens = tokensBySkill.get(code);
+        if (tokens == null) {
+            tokens = Tokenizer.tokens(skill);
+            tokensBySkill.set(code, tokens);
+        }
+        return tokens;
+    }
+
+    private void removeRow(ObjectId id) {
+        Integer row = rowOf.remove(id);
+        if (row != null) {
+            // Posting list lama tetap menunjuk ke baris ini, tapi baris null dilewati saat penilaian
+            freelancers[row] = null;
+            removedCount++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        // Baris lama hanya ditandai terhapus; padatkan jika sudah terlalu banyak
+        if (removedCount > 1024 && removedCount > rowCount / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Membangun ulang seluruh kolom dan posting list tanpa baris yang sudah dihapus.
+     */
+    private void compact() {
+        Freelancer[] live = new Freelancer[rowCount - removedCount];
+        int n = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (freelancers[row] != null) {
+                live[n++] = freelancers[row];
+            }
+        }
+
+        rowCount = 0;
+        removedCount = 0;
+        rowOf.clear();
+        postings.clear();
+        for (Freelancer freelancer : live) {
+            addRow(freelancer);
+        }
+    }
+
+    /**
+     * List int primitif yang bisa bertambah, untuk posting list.
+     */
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package marketplace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.bson.types.ObjectId;
+
+/**
+ * Table di memori, aman dipakai bersamaan dari beberapa thread.
+ */
+class MemoryTable<T> implements Table<T> {
+    private final ConcurrentSkipListMap<ObjectId, T> rows = new ConcurrentSkipListMap<>();
+    private final Function<T, ObjectId> idOf;
+
+    MemoryTable(Function<T, ObjectId> idOf) {
+        this.idOf = idOf;
+    }
+
+    @Override
+    public T get(ObjectId id) {
+        return rows.get(id);
+    }
+
+    @Override
+    public void put(T row) {
+        rows.put(idOf.apply(row), row);
+    }
+
+    @Override
+    public boolean remove(ObjectId id) {
+        return rows.remove(id) != null;
+    }
+
+    @Override
+    public List<T> scan(ObjectId after, Predicate<T> filter, int skip, int limit) {
+        NavigableMap<ObjectId, T> range = after == null ? rows : rows.tailMap(after, false);
+        List<T> result = new ArrayList<>(limit);
+        for (T row : range.values()) {
+            if (filter != null && !filter.test(row)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(row);
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int count(Predicate<T> filter) {
+        if (filter == null) {
+            return rows.size();
+        }
+        int count = 0;
+        for (T row : rows.values()) {
+            if (filter.test(row)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void forEach(Consumer<T> action) {
+        rows.values().forEach(action);
+    }
+}
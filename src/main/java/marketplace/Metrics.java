@@ -0,0 +1,138 @@
+package marketplace;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Kumpulan histogram latensi dan counter untuk seluruh aplikasi, diberi nama
+ * seperti "repository.getAllFreelancers", "mongo.find" atau "edt.dispatch".
+ *
+ * Isinya bisa dilihat lewat JMX (JConsole/VisualVM, MBean marketplace:type=Metrics)
+ * atau ditulis ke stderr secara berkala dengan -Dmarketplace.metrics.logIntervalSec=N.
+ */
+public final class Metrics {
+    private static final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final String OBJECT_NAME = "marketplace:type=Metrics";
+    private static boolean started = false;
+
+    private Metrics() {
+    }
+
+    public static LatencyHistogram latency(String name) {
+        LatencyHistogram histogram = latencies.get(name);
+        return histogram != null ? histogram : latencies.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    public static LongAdder counter(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Menjalankan action dan mencatat durasinya di histogram name.
+     * Exception dihitung di counter name + ".errors" lalu dilempar ulang.
+     */
+    public static <T> T time(String name, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            counter(name + ".errors").increment();
+            throw e;
+        } finally {
+            latency(name).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Semua histogram dan counter, diurutkan berdasarkan nama.
+     */
+    public static String report() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(latencies).entrySet()) {
+            out.append(entry.getKey()).append(": ").append(entry.getValue().snapshot()).append('\n');
+        }
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(counters).entrySet()) {
+            out.append(entry.getKey()).append(" = ").append(entry.getValue().sum()).append('\n');
+        }
+        return out.toString();
+    }
+
+    public static void reset() {
+        latencies.values().forEach(LatencyHistogram::reset);
+        counters.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Mendaftarkan MBean dan, jika diminta, log berkala. Aman dipanggil lebih dari sekali.
+     */
+    public static synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Gagal mendaftarkan MBean metrics: " + e.getMessage());
+        }
+
+        long interval = Long.getLong("marketplace.metrics.logIntervalSec", 0);
+        if (interval > 0) {
+            ScheduledExecutorService logger = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("metrics-log").daemon(true).factory());
+            logger.scheduleAtFixedRate(() -> System.err.print("--- metrics ---\n" + report()),
+                    interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Tampilan JMX. Atribut berbentuk map sehingga tampil sebagai tabel di JConsole.
+     */
+    public interface MetricsMXBean {
+        Map<String, LatencyHistogram.Snapshot> getLatencies();
+
+        Map<String, Long> getCounters();
+
+        String getReport();
+
+        void reset();
+    }
+
+    private static final class Bean implements MetricsMXBean {
+        @Override
+        public Map<String, LatencyHistogram.Snapshot> getLatencies() {
+            Map<String, LatencyHistogram.Snapshot> result = new TreeMap<>();
+            latencies.forEach((name, histogram) -> result.put(name, histogram.snapshot()));
+            return result;
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            Map<String, Long> result = new TreeMap<>();
+            counters.forEach((name, counter) -> result.put(name, counter.sum()));
+            return result;
+        }
+
+        @Override
+        public String getReport() {
+            return report();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
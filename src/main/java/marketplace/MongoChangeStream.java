@@ -0,0 +1,234 @@
+package marketplace;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.types.ObjectId;
+
+/**
+ * Change stream untuk satu koleksi, dibaca oleh satu thread daemon.
+ *
+ * Resume token disimpan setelah setiap event selesai diteruskan (dan setiap batch kosong),
+ * sehingga setelah koneksi putus stream dibuka lagi tepat setelah event terakhir tanpa ada yang
+ * terlewat atau terulang. Jika token sudah tidak berlaku (riwayat oplog habis, koleksi di-drop/rename),
+ * stream dimulai dari posisi sekarang dan listener diminta resync.
+ *
+ * Change stream hanya tersedia di replica set atau sharded cluster; di server standalone
+ * stream berhenti dengan pesan di stderr dan aplikasi tetap berjalan tanpa sinkronisasi.
+ */
+final class MongoChangeStream<T> implements ChangeFeed {
+    private static final long MAX_AWAIT_MS = 1000;
+    private static final long MIN_RETRY_MS = 500;
+    private static final long MAX_RETRY_MS = 30_000;
+    // "$changeStream stage is only supported on replica sets"
+    private static final int NOT_REPLICA_SET = 40573;
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final int CHANGE_STREAM_FATAL = 280;
+    private static final String NON_RESUMABLE = "NonResumableChangeStreamError";
+
+    private final String name;
+    private final Supplier<MongoCollection<T>> collection;
+    private final ChangeFeed.Listener<T> listener;
+    private final Thread thread;
+    private volatile boolean closed = false;
+
+    // Hanya diakses thread stream
+    private BsonDocument resumeToken;
+    private boolean needsResync = false;
+
+    MongoChangeStream(String name, Supplier<MongoCollection<T>> collection, ChangeFeed.Listener<T> listener) {
+        this.name = name;
+        this.collection = collection;
+        this.listener = listener;
+        this.thread = Thread.ofPlatform().name("change-stream-" + name).daemon(true).unstarted(this::run);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Thread berhenti paling lama MAX_AWAIT_MS kemudian, saat tryNext() kembali.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private void run() {
+        long retryDelay = MIN_RETRY_MS;
+        while (!closed) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<T>> cursor = open()) {
+                if (needsResync) {
+                    // Posisi lama tidak bisa dilanjutkan: ada perubahan yang mungkin terlewat
+                    needsResync = false;
+                    resync();
+                }
+                retryDelay = MIN_RETRY_MS;
+                while (!closed) {
+                    ChangeStreamDocument<T> event = cursor.tryNext();
+                    if (event != null && !deliver(event)) {
+                        break;
+                    }
+                    // Token baru disimpan setelah event diteruskan; saat tidak ada event token
+                    // tetap maju (postBatchResumeToken)
+                    BsonDocument token = cursor.getResumeToken();
+                    if (token != null) {
+                        resumeToken = token;
+                    }
+                }
+            } catch (MongoException e) {
+                if (closed) {
+                    return;
+                }
+                Metrics.counter("changeStream." + name + ".errors").increment();
+                if (e.getCode() == NOT_REPLICA_SET) {
+                    System.err.println("Change stream " + name + " tidak didukung server (butuh replica set); "
+                            + "perubahan dari klien lain tidak diterima otomatis");
+                    return;
+                }
+                if (!isResumable(e)) {
+                    resumeToken = null;
+                }
+                needsResync |= resumeToken == null;
+                System.err.println("Change stream " + name + " terputus, dicoba lagi dalam "
+                        + retryDelay + " ms: " + e.getMessage());
+                if (!sleep(retryDelay)) {
+                    return;
+                }
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_MS);
+            } catch (RuntimeException e) {
+                // Error di luar driver (mis. decode dokumen): token terakhir masih berlaku
+                if (closed) {
+                    return;
+                }
+                Metrics.counter("changeStream." + name + ".errors").increment();
+                System.err.println("Change stream " + name + " gagal, dicoba lagi dalam "
+                        + retryDelay + " ms: " + e);
+                if (!sleep(retryDelay)) {
+                    return;
+                }
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_MS);
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<T>> open() {
+        // updateDescription tidak dipakai karena dokumen lengkap ikut dikirim
+        var stream = collection.get()
+                .watch(List.of(Aggregates.project(Projections.exclude("updateDescription"))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(MAX_AWAIT_MS, TimeUnit.MILLISECONDS);
+        return (resumeToken != null ? stream.resumeAfter(resumeToken) : stream).cursor();
+    }
+
+    /**
+     * Seperti dispatch, tetapi error dari listener tidak menghentikan stream: event itu dilewati
+     * dan listener diminta resync agar isinya tidak tertinggal.
+     */
+    private boolean deliver(ChangeStreamDocument<T> event) {
+        try {
+            return dispatch(event);
+        } catch (MongoException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            Metrics.counter("changeStream." + name + ".errors").increment();
+            System.err.println("Event change stream " + name + " gagal diproses, resync: " + e);
+            try {
+                resync();
+            } catch (RuntimeException resyncError) {
+                System.err.println("Resync " + name + " gagal: " + resyncError);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Meneruskan satu event ke listener. Mengembalikan false jika stream harus dibuka ulang.
+     */
+    private boolean dispatch(ChangeStreamDocument<T> event) {
+        Metrics.counter("changeStream." + name + ".events").increment();
+        ObjectId id;
+        switch (event.getOperationType()) {
+            case INSERT:
+                if ((id = idOf(event)) != null) {
+                    listener.changed(WriteOp.insert(id, event.getFullDocument()));
+                }
+                return true;
+            case UPDATE:
+            case REPLACE:
+                // fullDocument null berarti dokumen sudah dihapus sebelum sempat dibaca
+                T current = event.getFullDocument();
+                if ((id = idOf(event)) != null) {
+                    listener.changed(current != null ? WriteOp.update(id, null, current) : WriteOp.delete(id));
+                }
+                return true;
+            case DELETE:
+                if ((id = idOf(event)) != null) {
+                    listener.changed(WriteOp.delete(id));
+                }
+                return true;
+            case DROP:
+            case RENAME:
+            case DROP_DATABASE:
+            case INVALIDATE:
+                // Stream lama berakhir; mulai lagi dari posisi sekarang
+                resumeToken = null;
+                resync();
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private void resync() {
+        Metrics.counter("changeStream." + name + ".resyncs").increment();
+        listener.resync();
+    }
+
+    /**
+     * null jika _id bukan ObjectId (dokumen yang tidak dibuat aplikasi ini); event-nya dilewati.
+     */
+    private ObjectId idOf(ChangeStreamDocument<?> event) {
+        BsonDocument key = event.getDocumentKey();
+        BsonValue id = key != null ? key.get("_id") : null;
+        if (id == null || !id.isObjectId()) {
+            Metrics.counter("changeStream." + name + ".skipped").increment();
+            return null;
+        }
+        return id.asObjectId().getValue();
+    }
+
+    /**
+     * Token yang tersimpan masih bisa dipakai setelah error ini, kecuali riwayatnya sudah hilang.
+     */
+    private static boolean isResumable(MongoException e) {
+        if (e.hasErrorLabel(NON_RESUMABLE)) {
+            return false;
+        }
+        return !(e instanceof MongoCommandException)
+                || (e.getCode() != CHANGE_STREAM_HISTORY_LOST && e.getCode() != CHANGE_STREAM_FATAL);
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return !closed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package marketplace;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mencatat waktu pulang-pergi setiap perintah ke server ("mongo.find", "mongo.insert", ...)
+ * beserta ukuran perintah dan jawabannya (counter "mongo.&lt;perintah&gt;.requestBytes"
+ * dan ".responseBytes"). Perintah yang gagal dihitung di "mongo.&lt;perintah&gt;.errors".
+ * Ukuran dokumen yang tidak berupa buffer hanya diukur sebagian (lihat sizeOf), jadi
+ * untuk perintah seperti insert dan update nilainya perkiraan.
+ */
+final class MongoCommandMetrics implements CommandListener {
+    private static final BsonDocumentCodec DOCUMENT_CODEC = new BsonDocumentCodec();
+    // Dari dokumen yang harus di-encode ulang, hanya satu dari sekian yang diukur
+    private static final int ENCODE_SAMPLE_RATE = 16;
+    private final AtomicLong unbuffered = new AtomicLong();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        Metrics.counter("mongo." + event.getCommandName() + ".requestBytes").add(sizeOf(event.getCommand()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String name = "mongo." + event.getCommandName();
+        Metrics.latency(name).record(event.getElapsedTime(TimeUnit.NANOSECONDS));
+        Metrics.counter(name + ".responseBytes").add(sizeOf(event.getResponse()));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        String name = "mongo." + event.getCommandName();
+        Metrics.latency(name).record(event.getElapsedTime(TimeUnit.NANOSECONDS));
+        Metrics.counter(name + ".errors").increment();
+    }
+
+    /**
+     * Ukuran dokumen dalam byte BSON. Dokumen yang masih berupa buffer dari jaringan
+     * cukup dibaca panjangnya di 4 byte pertama; dokumen lain (misalnya perintah yang
+     * digabung dengan daftar dokumen insert) harus di-encode ulang, yang bisa semahal
+     * mengirimnya, sehingga hanya satu dari ENCODE_SAMPLE_RATE yang di-encode dan
+     * hasilnya dikalikan ENCODE_SAMPLE_RATE.
+     */
+    private long sizeOf(BsonDocument document) {
+        if (document == null) {
+            return 0;
+        }
+        BsonReader reader = document.asBsonReader();
+        try {
+            if (reader instanceof BsonBinaryReader binary) {
+                return binary.getBsonInput().readInt32();
+            }
+        } finally {
+            reader.close();
+        }
+        if (unbuffered.getAndIncrement() % ENCODE_SAMPLE_RATE != 0) {
+            return 0;
+        }
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            DOCUMENT_CODEC.encode(writer, document, EncoderContext.builder().build());
+        }
+        return (long) buffer.getSize() * ENCODE_SAMPLE_RATE;
+    }
+}
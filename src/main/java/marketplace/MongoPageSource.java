@@ -0,0 +1,72 @@
+package marketplace;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+/**
+ * PageSource yang membaca satu koleksi MongoDB menurut sebuah SortSpec (default: _id).
+ * Jika halaman sebelumnya sudah dimuat, halaman berikutnya diambil dengan range query
+ * "setelah baris terakhir" (misalnya {_id: {$gt: idTerakhir}}) sehingga server tidak perlu melakukan skip.
+ */
+public class MongoPageSource<T> implements PageSource<T> {
+    private final Supplier<MongoCollection<T>> collection;
+    private final Bson filter;
+    private final SortSpec<T> sort;
+    private final Bson sortBson;
+    private final Consumer<List<T>> onLoad;
+    private final Function<T, ObjectId> idOf;
+
+    /**
+     * @param collection diminta saat query pertama dijalankan, sehingga koneksi baru dibuka di background
+     * @param onLoad dipanggil dengan setiap halaman yang selesai dimuat (misalnya untuk mengisi cache)
+     */
+    public MongoPageSource(Supplier<MongoCollection<T>> collection, Bson filter, SortSpec<T> sort,
+                           Consumer<List<T>> onLoad, Function<T, ObjectId> idOf) {
+        this.collection = collection;
+        this.filter = filter;
+        this.sort = sort;
+        this.sortBson = sort.toBson();
+        this.onLoad = onLoad;
+        this.idOf = idOf;
+    }
+
+    @Override
+    public int count() {
+        // Tanpa filter, jumlah dokumen diambil dari metadata koleksi (tanpa scan)
+        MongoCollection<T> coll = collection.get();
+        long count = filter == null
+                ? coll.estimatedDocumentCount()
+                : coll.countDocuments(filter);
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<T> fetchPage(int offset, int limit, T previous) {
+        MongoCollection<T> coll = collection.get();
+        FindIterable<T> cursor;
+        if (previous != null) {
+            Bson after = sort.after(previous, idOf.apply(previous));
+            cursor = coll.find(filter == null ? after : Filters.and(filter, after));
+        } else {
+            cursor = coll.find(filter == null ? new Document() : filter).skip(offset);
+        }
+
+        List<T> result = new ArrayList<>(limit);
+        for (T row : cursor.sort(sortBson).limit(limit).batchSize(limit)) {
+            result.add(row);
+        }
+        onLoad.accept(result);
+        return result;
+    }
+}
@@ -0,0 +1,26 @@
+package marketplace;
+
+import java.util.List;
+
+/**
+ * Sumber data per halaman untuk PagedListModel.
+ * Implementasi boleh melakukan akses jaringan; method ini tidak pernah dipanggil dari EDT.
+ */
+public interface PageSource<T> {
+    /**
+     * Jumlah seluruh baris yang tersedia.
+     */
+    int count();
+
+    /**
+     * Mengambil satu halaman data. Jika previous diisi, halaman dimulai tepat setelah baris
+     * tersebut dan offset diabaikan (pemanggil seperti ApiServer mengirim offset 0 bersama
+     * cursor); offset hanya dipakai jika previous null.
+     *
+     * @param offset   posisi baris pertama halaman
+     * @param limit    jumlah baris maksimum
+     * @param previous baris terakhir dari halaman sebelumnya jika sudah dimuat, atau null.
+     *                 Dapat dipakai untuk range query agar tidak perlu skip.
+     */
+    List<T> fetchPage(int offset, int limit, T previous);
+}
@@ -0,0 +1,358 @@
+package marketplace;
+
+import javax.swing.AbstractListModel;
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import org.bson.types.ObjectId;
+
+/**
+ * ListModel yang memuat data per halaman secara lazy dari sebuah PageSource.
+ *
+ * Hanya halaman yang diminta JList (baris yang terlihat di viewport) yang dimuat,
+ * dan hanya sejumlah halaman terakhir yang disimpan (cache LRU), sehingga
+ * pemakaian memori tetap konstan berapapun jumlah dokumennya.
+ * Baris yang halamannya belum dimuat dikembalikan sebagai null; renderer
+ * menampilkan placeholder sampai halaman tersebut selesai dimuat.
+ *
+ * Semua method harus dipanggil dari EDT.
+ */
+public class PagedListModel<T> extends AbstractListModel<T> {
+    private final int pageSize;
+    private final Executor executor;
+    private final Function<T, ObjectId> idOf;
+    private final Map<Integer, List<T>> pages;
+    private final Set<Integer> loading = new HashSet<>();
+
+    private PageSource<T> source;
+    private int size = 0;
+    // Dinaikkan setiap kali isi model tidak lagi valid, agar hasil fetch lama diabaikan
+    // (volatile karena juga dibaca worker untuk melewati fetch yang sudah tidak relevan)
+    private volatile int generation = 0;
+    private boolean refreshing = false;
+    private boolean refreshAgain = false;
+
+    public PagedListModel(PageSource<T> source, int pageSize, int maxCachedPages,
+                          Executor executor, Function<T, ObjectId> idOf) {
+        this.source = source;
+        this.pageSize = pageSize;
+        this.executor = executor;
+        this.idOf = idOf;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public T getElementAt(int index) {
+        int page = index / pageSize;
+        int offsetInPage = index % pageSize;
+
+        // Prefetch halaman berikutnya saat pengguna sudah melewati separuh halaman ini
+        if (offsetInPage >= pageSize / 2 && (page + 1) * pageSize < size) {
+            requestPage(page + 1);
+        }
+
+        List<T> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null;
+        }
+        return offsetInPage < rows.size() ? rows.get(offsetInPage) : null;
+    }
+
+    /**
+     * Mengganti sumber data (misalnya karena filter berubah) lalu memuat ulang.
+     */
+    public CompletableFuture<Integer> setSource(PageSource<T> source) {
+        this.source = source;
+        return reload();
+    }
+
+    /**
+     * Membuang seluruh cache lalu menghitung ulang jumlah baris di background.
+     * Halaman akan dimuat kembali saat JList memintanya.
+     */
+    public CompletableFuture<Integer> reload() {
+        int gen = invalidate();
+        PageSource<T> current = source;
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        CompletableFuture.supplyAsync(() -> gen == generation ? current.count() : 0, executor)
+                .whenCompleteAsync((count, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                        return;
+                    }
+                    if (gen == generation) {
+                        setSize(count);
+                    }
+                    result.complete(count);
+                }, SwingUtilities::invokeLater);
+
+        return result;
+    }
+
+    /**
+     * Mengisi model dengan baris awal yang sudah diketahui (misalnya dari snapshot lokal)
+     * tanpa menunggu PageSource. Hanya halaman penuh yang dipakai, kecuali halaman terakhir.
+     */
+    public void seed(int count, List<T> leadingRows) {
+        invalidate();
+        int rows = Math.min(leadingRows.size(), count);
+        for (int first = 0; first < rows; first += pageSize) {
+            int last = Math.min(first + pageSize, rows);
+            if (last - first < pageSize && last < count) {
+                break;
+            }
+            pages.put(first / pageSize, new ArrayList<>(leadingRows.subList(first, last)));
+        }
+        setSize(count);
+    }
+
+    /**
+     * Mencocokkan isi model dengan PageSource di background: jumlah baris dan semua halaman
+     * yang sedang di-cache diambil ulang, lalu ditukar sekaligus di EDT. Berbeda dengan
+     * reload(), baris lama tetap tampil (dan seleksi tidak hilang) selama proses berjalan.
+     */
+    public CompletableFuture<Integer> refresh() {
+        int gen = generation;
+        PageSource<T> current = source;
+        List<Integer> cached = new ArrayList<>(pages.keySet());
+        cached.sort(null);
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        CompletableFuture.supplyAsync(() -> {
+            Map<Integer, List<T>> fresh = new LinkedHashMap<>();
+            int count = current.count();
+            for (int page : cached) {
+                if (page * pageSize >= count) {
+                    break;
+                }
+                List<T> before = fresh.get(page - 1);
+                T previous = before != null && before.size() == pageSize ? before.get(pageSize - 1) : null;
+                fresh.put(page, new ArrayList<>(current.fetchPage(page * pageSize, pageSize, previous)));
+            }
+            return Map.entry(count, fresh);
+        }, executor).whenCompleteAsync((loaded, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            int count = loaded.getKey();
+            if (gen == generation) {
+                // Fetch lama yang masih berjalan tidak boleh menimpa halaman baru
+                generation++;
+                loading.clear();
+                pages.clear();
+                pages.putAll(loaded.getValue());
+                resize(count);
+            }
+            result.complete(count);
+        }, SwingUtilities::invokeLater);
+
+        return result;
+    }
+
+    /**
+     * Seperti refresh(), tetapi jika refresh sebelumnya masih berjalan hanya ditandai untuk
+     * diulang sekali setelah selesai. Dipakai untuk perubahan dari klien lain yang bisa
+     * datang terus-menerus, sehingga paling banyak satu refresh berjalan pada satu waktu.
+     */
+    public void requestRefresh() {
+        if (refreshing) {
+            refreshAgain = true;
+            return;
+        }
+        refreshing = true;
+        refresh().whenComplete((count, error) -> {
+            refreshing = false;
+            if (error != null) {
+                System.err.println("Gagal menyinkronkan list: " + error.getMessage());
+            }
+            if (refreshAgain) {
+                refreshAgain = false;
+                requestRefresh();
+            }
+        });
+    }
+
+    /**
+     * Baris berurutan mulai dari index 0 yang sedang ada di cache, paling banyak maxRows.
+     */
+    public List<T> leadingRows(int maxRows) {
+        List<T> result = new ArrayList<>();
+        for (int page = 0; result.size() < maxRows; page++) {
+            List<T> rows = pages.get(page);
+            if (rows == null) {
+                break;
+            }
+            result.addAll(rows.subList(0, Math.min(rows.size(), maxRows - result.size())));
+            if (rows.size() < pageSize) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Menambahkan satu baris di akhir list tanpa memuat ulang.
+     */
+    public void append(T item) {
+        int index = size;
+        size++;
+        List<T> rows = pages.get(index / pageSize);
+        if (rows != null && rows.size() == index % pageSize) {
+            rows.add(item);
+        }
+        fireIntervalAdded(this, index, index);
+    }
+
+    /**
+     * Mengganti baris dengan id yang sama jika halamannya sedang ada di cache.
+     */
+    public boolean replace(T item) {
+        int index = indexOf(idOf.apply(item));
+        if (index < 0) {
+            return false;
+        }
+        pages.get(index / pageSize).set(index % pageSize, item);
+        fireContentsChanged(this, index, index);
+        return true;
+    }
+
+    /**
+     * Menghapus baris dengan id tertentu. Halaman setelah baris tersebut ikut
+     * dibuang dari cache karena posisinya bergeser, begitu juga halaman baris itu sendiri
+     * jika masih ada baris sesudahnya (baris pertama halaman berikutnya pindah ke halaman ini).
+     * Jika halaman baris itu tidak di-cache, list disinkronkan lewat requestRefresh.
+     */
+    public void remove(ObjectId id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            // Baris tidak sedang dimuat, posisinya tidak diketahui; baris yang tampil tetap
+            // dipertahankan sampai refresh selesai
+            requestRefresh();
+            return;
+        }
+
+        int page = index / pageSize;
+        generation++;
+        loading.clear();
+        pages.keySet().removeIf(p -> p > page);
+        List<T> rows = pages.get(page);
+        rows.remove(index % pageSize);
+        if (rows.isEmpty() || (page + 1) * pageSize < size) {
+            pages.remove(page);
+        }
+        size--;
+        fireIntervalRemoved(this, index, index);
+    }
+
+    /**
+     * Posisi baris dengan id tertentu di antara halaman yang sedang di-cache, atau -1.
+     */
+    public int indexOf(ObjectId id) {
+        for (Map.Entry<Integer, List<T>> entry : pages.entrySet()) {
+            List<T> rows = entry.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                if (idOf.apply(rows.get(i)).equals(id)) {
+                    return entry.getKey() * pageSize + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void requestPage(int page) {
+        if (pages.containsKey(page) || !loading.add(page)) {
+            return;
+        }
+
+        int gen = generation;
+        PageSource<T> current = source;
+        T previous = lastRowOf(page - 1);
+
+        // Fetch yang masih antre saat isi model diganti (misalnya query pencarian baru) tidak dijalankan
+        CompletableFuture.supplyAsync(() -> gen == generation
+                        ? current.fetchPage(page * pageSize, pageSize, previous)
+                        : List.<T>of(), executor)
+                .whenCompleteAsync((rows, error) -> {
+                    if (gen != generation) {
+                        return;
+                    }
+                    loading.remove(page);
+                    if (error != null || page * pageSize >= size) {
+                        return;
+                    }
+                    pages.put(page, new ArrayList<>(rows));
+                    int first = page * pageSize;
+                    int last = Math.min(size, first + pageSize) - 1;
+                    fireContentsChanged(this, first, last);
+                }, SwingUtilities::invokeLater);
+    }
+
+    private T lastRowOf(int page) {
+        if (page < 0) {
+            return null;
+        }
+        // Iterasi langsung agar urutan LRU tidak berubah
+        for (Map.Entry<Integer, List<T>> entry : pages.entrySet()) {
+            if (entry.getKey() == page) {
+                List<T> rows = entry.getValue();
+                return rows.size() == pageSize ? rows.get(rows.size() - 1) : null;
+            }
+        }
+        return null;
+    }
+
+    private int invalidate() {
+        generation++;
+        pages.clear();
+        loading.clear();
+        return generation;
+    }
+
+    private void setSize(int newSize) {
+        int oldSize = size;
+        size = newSize;
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        if (newSize > 0) {
+            fireIntervalAdded(this, 0, newSize - 1);
+        }
+    }
+
+    /**
+     * Mengubah jumlah baris tanpa membuang seleksi JList: hanya selisihnya yang
+     * dilaporkan sebagai baris ditambah/dihapus, sisanya sebagai baris berubah.
+     */
+    private void resize(int newSize) {
+        int oldSize = size;
+        size = newSize;
+        if (newSize > oldSize) {
+            fireIntervalAdded(this, oldSize, newSize - 1);
+        } else if (newSize < oldSize) {
+            fireIntervalRemoved(this, newSize, oldSize - 1);
+        }
+        if (Math.min(oldSize, newSize) > 0) {
+            fireContentsChanged(this, 0, Math.min(oldSize, newSize) - 1);
+        }
+    }
+}
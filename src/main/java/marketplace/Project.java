@@ -1,3 +1,5 @@
+package marketplace;
+
 import org.bson.types.ObjectId;
 
 public class Project {
@@ -6,16 +8,29 @@ public class Project {
     private String description;
     private double budget;
     private String companyName;
+    // Versi dan waktu perubahan terakhir (epoch milidetik), lihat Freelancer
+    private long version;
+    private long updatedAt;
     
     public Project(ObjectId id, String title, String description, double budget, String companyName) {
+        this(id, title, description, budget, companyName, 0, 0);
+    }
+
+    public Project(ObjectId id, String title, String description, double budget, String companyName,
+                   long version, long updatedAt) {
         this.id = id;
         this.title = title;
         this.description = description;
         this.budget = budget;
         this.companyName = companyName;
+        this.version = version;
+        this.updatedAt = updatedAt;
     }
 
+    // Id dibuat di sisi klien (seperti Freelancer) agar proyek baru bisa dirujuk
+    // sebelum benar-benar tersimpan, misalnya saat masih antre di WriteBehindQueue
     public Project(String title, String description, double budget, String companyName) {
+        this.id = new ObjectId();
         this.title = title;
         this.description = description;
         this.budget = budget;
@@ -28,6 +43,15 @@ public class Project {
     public String getDescription() { return description; }
     public double getBudget() { return budget; }
     public String getCompanyName() { return companyName; }
+    public long getVersion() { return version; }
+    public long getUpdatedAt() { return updatedAt; }
+
+    /**
+     * Salinan dengan versi dan waktu perubahan yang lain.
+     */
+    public Project withVersion(long version, long updatedAt) {
+        return new Project(id, title, description, budget, companyName, version, updatedAt);
+    }
 
     @Override
     public String toString() {
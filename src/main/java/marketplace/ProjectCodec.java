@@ -0,0 +1,81 @@
+package marketplace;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+/**
+ * Codec yang membaca dokumen proyek langsung dari BsonReader menjadi Project.
+ * Nama perusahaan diambil dari StringDictionary, seperti skill di FreelancerCodec.
+ */
+public class ProjectCodec implements Codec<Project> {
+
+    @Override
+    public Project decode(BsonReader reader, DecoderContext decoderContext) {
+        ObjectId id = null;
+        String title = null;
+        String description = null;
+        double budget = 0.0;
+        String companyName = null;
+        long version = 0;
+        long updatedAt = 0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id":
+                    id = reader.readObjectId();
+                    break;
+                case "title":
+                    title = BsonFields.readString(reader);
+                    break;
+                case "description":
+                    description = BsonFields.readString(reader);
+                    break;
+                case "budget":
+                    budget = BsonFields.readDouble(reader);
+                    break;
+                case "companyName":
+                    companyName = StringDictionary.COMPANIES.intern(BsonFields.readString(reader));
+                    break;
+                case "version":
+                    version = BsonFields.readLong(reader);
+                    break;
+                case "updatedAt":
+                    updatedAt = BsonFields.readDateTime(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new Project(id, title, description, budget, companyName, version, updatedAt);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Project project, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        if (project.getId() != null) {
+            writer.writeObjectId("_id", project.getId());
+        }
+        BsonFields.writeString(writer, "title", project.getTitle());
+        BsonFields.writeString(writer, "description", project.getDescription());
+        writer.writeDouble("budget", project.getBudget());
+        BsonFields.writeString(writer, "companyName", project.getCompanyName());
+        writer.writeInt64("version", project.getVersion());
+        if (project.getUpdatedAt() != 0) {
+            writer.writeDateTime("updatedAt", project.getUpdatedAt());
+        }
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<Project> getEncoderClass() {
+        return Project.class;
+    }
+}
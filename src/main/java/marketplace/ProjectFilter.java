@@ -0,0 +1,66 @@
+package marketplace;
+
+import com.mongodb.client.model.Filters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.conversions.Bson;
+
+/**
+ * Kriteria pencarian proyek: kata kunci (text index pada title/description/companyName)
+ * dan rentang budget. Field yang null tidak dipakai.
+ */
+public class ProjectFilter {
+    private final String text;
+    private final Double minBudget;
+    private final Double maxBudget;
+
+    public ProjectFilter(String text, Double minBudget, Double maxBudget) {
+        this.text = text == null || text.isBlank() ? null : text.trim();
+        this.minBudget = minBudget;
+        this.maxBudget = maxBudget;
+    }
+
+    public String getText() { return text; }
+    public Double getMinBudget() { return minBudget; }
+    public Double getMaxBudget() { return maxBudget; }
+
+    public boolean isEmpty() {
+        return text == null && minBudget == null && maxBudget == null;
+    }
+
+    /**
+     * Filter MongoDB untuk kriteria ini, atau null jika tidak ada kriteria.
+     */
+    public Bson toBson() {
+        List<Bson> conditions = new ArrayList<>();
+        if (text != null) {
+            conditions.add(Filters.text(text));
+        }
+        if (minBudget != null) {
+            conditions.add(Filters.gte("budget", minBudget));
+        }
+        if (maxBudget != null) {
+            conditions.add(Filters.lte("budget", maxBudget));
+        }
+        if (conditions.isEmpty()) {
+            return null;
+        }
+        return conditions.size() == 1 ? conditions.get(0) : Filters.and(conditions);
+    }
+
+    /**
+     * Evaluasi kriteria yang sama di memori, untuk engine penyimpanan selain MongoDB.
+     */
+    public boolean matches(Project project) {
+        if (minBudget != null && project.getBudget() < minBudget) {
+            return false;
+        }
+        if (maxBudget != null && project.getBudget() > maxBudget) {
+            return false;
+        }
+        return text == null || Tokenizer.matchesAny(Tokenizer.tokens(text),
+                project.getTitle() + " " + project.getDescription() + " " + project.getCompanyName());
+    }
+}
@@ -0,0 +1,104 @@
+package marketplace;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.bson.types.ObjectId;
+
+/**
+ * Akses data proyek, tidak bergantung pada engine penyimpanan (MongoDB, memori, file).
+ * Semua method boleh melakukan I/O; versi *Async menjalankannya di Repositories.executor().
+ */
+public interface ProjectRepository {
+    List<Project> getAllProjects();
+
+    /**
+     * Mencari proyek berdasarkan id. Mengembalikan null jika tidak ditemukan.
+     */
+    Project findProjectById(ObjectId id);
+
+    /**
+     * Proyek dengan id tertentu jika bisa didapat tanpa akses jaringan
+     * (misalnya dari cache), atau null.
+     */
+    Project peekProject(ObjectId id);
+
+    /**
+     * Sumber data per halaman yang hanya berisi proyek sesuai filter (null = semua),
+     * dalam urutan asli.
+     */
+    default PageSource<Project> projectPages(ProjectFilter filter) {
+        return projectPages(filter, SortSpec.natural());
+    }
+
+    /**
+     * Sama seperti projectPages(filter), diurutkan menurut sort.
+     */
+    PageSource<Project> projectPages(ProjectFilter filter, SortSpec<Project> sort);
+
+    /**
+     * Menyimpan proyek baru dan mengembalikan objek dengan id yang tersimpan.
+     */
+    Project insertProject(Project project);
+
+    /**
+     * Menyimpan satu batch proyek sekaligus, mengembalikan jumlah yang tersimpan.
+     */
+    int insertProjectBatch(List<Project> batch);
+
+    /**
+     * Mengubah proyek dan mengembalikan versi setelah diubah, atau null jika sudah tidak ada.
+     * Hanya field yang berbeda dari objek yang diberikan yang ditulis. Jika versi yang
+     * tersimpan sudah berbeda dari getVersion() objek tersebut, ConcurrentUpdateException dilempar.
+     */
+    Project updateProject(Project project, String title, String company, String desc, double budget);
+
+    boolean deleteProject(ObjectId id);
+
+    /**
+     * Sama seperti applyFreelancerWrites, untuk proyek.
+     */
+    default List<Project> applyProjectWrites(List<WriteOp<Project>> ops) {
+        return WriteOp.applyEach(ops, this::insertProject,
+                (before, after) -> updateProject(before, after.getTitle(), after.getCompanyName(),
+                        after.getDescription(), after.getBudget()),
+                this::deleteProject);
+    }
+
+    /**
+     * Membaca seluruh proyek secara streaming tanpa menampungnya di memori.
+     * Mengembalikan jumlah proyek yang dibaca.
+     */
+    long forEachProject(int batchSize, Consumer<Project> action);
+
+    /**
+     * Sama seperti freelancerStatistics, untuk proyek.
+     */
+    default MarketplaceStats.Projects projectStatistics() {
+        return MarketplaceStats.Projects.compute(this);
+    }
+
+    // --- Versi async ---
+
+    default CompletableFuture<List<Project>> getAllProjectsAsync() {
+        return CompletableFuture.supplyAsync(this::getAllProjects, Repositories.executor());
+    }
+
+    default CompletableFuture<Project> findProjectByIdAsync(ObjectId id) {
+        return CompletableFuture.supplyAsync(() -> findProjectById(id), Repositories.executor());
+    }
+
+    default CompletableFuture<Project> insertProjectAsync(Project project) {
+        return CompletableFuture.supplyAsync(() -> insertProject(project), Repositories.executor());
+    }
+
+    default CompletableFuture<Project> updateProjectAsync(Project project, String title, String company,
+                                                         String desc, double budget) {
+        return CompletableFuture.supplyAsync(() -> updateProject(project, title, company, desc, budget),
+                Repositories.executor());
+    }
+
+    default CompletableFuture<Boolean> deleteProjectAsync(ObjectId id) {
+        return CompletableFuture.supplyAsync(() -> deleteProject(id), Repositories.executor());
+    }
+}
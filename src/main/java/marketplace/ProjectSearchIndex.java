@@ -0,0 +1,542 @@
+package marketplace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.bson.types.ObjectId;
+
+/**
+ * Index teks penuh di memori untuk judul, deskripsi dan nama perusahaan proyek,
+ * dengan peringkat BM25.
+ *
+ * Setiap proyek menempati satu baris. Posting list per token menyimpan pasangan
+ * (selisih nomor baris, frekuensi token) sebagai varint di array byte; karena baris baru
+ * selalu bernomor paling besar, posting cukup ditambahkan di akhir. Update menghapus baris
+ * lama dan menambah baris baru; baris yang dihapus hanya ditandai dan dilewati saat
+ * penilaian, lalu dipadatkan jika sudah lebih dari separuh (seperti MatchingEngine).
+ *
+ * Skor dihitung per baris (document-at-a-time) dengan menggabungkan posting list semua token
+ * query, dan k teratas disimpan di heap. Setelah heap penuh, token yang jumlah skor
+ * maksimalnya tidak mungkin menembus k teratas (MaxScore) hanya dibaca untuk baris yang
+ * ditemukan token lain, dengan melompati blok posting lewat tabel skip. Query dengan token
+ * yang sangat umum karena itu tidak perlu membaca seluruh posting list token tersebut.
+ */
+public class ProjectSearchIndex {
+    // Parameter BM25 yang umum dipakai
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    // Token di judul dihitung lebih dari sekali agar judul lebih menentukan daripada deskripsi
+    private static final int TITLE_BOOST = 2;
+    private static final int LOAD_BATCH = 1024;
+    private static final int SKIP_INTERVAL = 64;
+
+    public static class Hit {
+        private final Project project;
+        private final double score;
+
+        Hit(Project project, double score) {
+            this.project = project;
+            this.score = score;
+        }
+
+        public Project getProject() { return project; }
+        public double getScore() { return score; }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Kolom per baris; baris yang dihapus bernilai null di projects
+    private Project[] projects = new Project[1024];
+    private int[] lengths = new int[1024];
+    private int rowCount = 0;
+    private int removedCount = 0;
+    private long totalLength = 0;
+    private final Map<ObjectId, Integer> rowOf = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    // Id yang dihapus selama load() berjalan, agar tidak dimasukkan lagi oleh hasil scan yang lebih lama
+    private Set<ObjectId> removedWhileLoading;
+
+    /**
+     * Menambah atau mengganti satu proyek. Versi yang lebih lama dari isi index diabaikan,
+     * sehingga urutan datangnya perubahan (tulis sendiri, change stream, load) tidak penting.
+     */
+    public void upsert(Project project) {
+        lock.writeLock().lock();
+        try {
+            upsertRow(project);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(ObjectId id) {
+        lock.writeLock().lock();
+        try {
+            removeRow(id);
+            if (removedWhileLoading != null) {
+                removedWhileLoading.add(id);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            projects = new Project[1024];
+            lengths = new int[1024];
+            rowCount = 0;
+            removedCount = 0;
+            totalLength = 0;
+            rowOf.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mengisi index dari scan seluruh koleksi (misalnya forEachProject). upsert/remove dan
+     * pencarian tetap bisa berjalan selama scan; proyek yang dihapus di tengah scan tidak
+     * ikut dimasukkan.
+     */
+    public void load(Consumer<Consumer<Project>> scan) {
+        lock.writeLock().lock();
+        try {
+            removedWhileLoading = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Project> batch = new ArrayList<>(LOAD_BATCH);
+        try {
+            scan.accept(project -> {
+                batch.add(project);
+                if (batch.size() == LOAD_BATCH) {
+                    addLoaded(batch);
+                    batch.clear();
+                }
+            });
+            addLoaded(batch);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                removedWhileLoading = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void addLoaded(List<Project> batch) {
+        lock.writeLock().lock();
+        try {
+            for (Project project : batch) {
+                if (!removedWhileLoading.contains(project.getId())) {
+                    upsertRow(project);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowCount - removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Maksimal k proyek dengan skor BM25 tertinggi untuk query, dari skor terbesar.
+     * Proyek yang tidak memuat satu pun token query tidak ikut. filter boleh null.
+     * Skor sama diurutkan berdasarkan urutan masuk index, agar paging stabil.
+     */
+    public List<Hit> search(String query, int k, Predicate<Project> filter) {
+        Set<String> terms = Tokenizer.tokens(query);
+        if (k <= 0 || terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Cursor[] cursors = cursors(terms);
+            if (cursors.length == 0) {
+                return new ArrayList<>();
+            }
+            float averageLength = Math.max(1, (float) ((double) totalLength / (rowCount - removedCount)));
+            // Token diurutkan dari batas atas skor terkecil; bound[i] = jumlah batas atas token 0..i
+            Arrays.sort(cursors, Comparator.comparingDouble(c -> c.maxScore));
+            float[] bound = new float[cursors.length];
+            float sum = 0;
+            for (int i = 0; i < cursors.length; i++) {
+                sum += cursors[i].maxScore;
+                bound[i] = sum;
+            }
+
+            // Heap berisi k baris terbaik; puncaknya baris terburuk. Baris datang berurutan naik,
+            // jadi baris baru hanya masuk jika skornya lebih besar dari threshold (skor puncak).
+            PriorityQueue<Scored> best = new PriorityQueue<>(Math.min(k, 1024) + 1,
+                    Comparator.comparingDouble((Scored s) -> s.score).thenComparing(s -> -s.row));
+            float threshold = 0;
+            // cursors[0..essential-1] saja tidak bisa menembus threshold, jadi hanya dibaca
+            // untuk baris yang sudah ditemukan token lain
+            int essential = 0;
+            while (true) {
+                int row = Cursor.END;
+                for (int i = essential; i < cursors.length; i++) {
+                    row = Math.min(row, cursors[i].row);
+                }
+                if (row == Cursor.END) {
+                    break;
+                }
+
+                boolean alive = projects[row] != null;
+                float score = 0;
+                for (int i = essential; i < cursors.length; i++) {
+                    Cursor cursor = cursors[i];
+                    if (cursor.row == row) {
+                        if (alive) {
+                            score += cursor.score(lengths[row], averageLength);
+                        }
+                        cursor.next();
+                    }
+                }
+                if (!alive) {
+                    continue;
+                }
+                for (int i = essential - 1; i >= 0 && score + bound[i] > threshold; i--) {
+                    Cursor cursor = cursors[i];
+                    cursor.advance(row);
+                    if (cursor.row == row) {
+                        score += cursor.score(lengths[row], averageLength);
+                    }
+                }
+
+                if (best.size() == k && score <= threshold) {
+                    continue;
+                }
+                if (filter != null && !filter.test(projects[row])) {
+                    continue;
+                }
+                best.add(new Scored(row, score));
+                if (best.size() > k) {
+                    best.poll();
+                }
+                if (best.size() == k) {
+                    threshold = best.peek().score;
+                    while (essential < cursors.length && bound[essential] <= threshold) {
+                        essential++;
+                    }
+                }
+            }
+
+            Hit[] hits = new Hit[best.size()];
+            for (int i = hits.length - 1; i >= 0; i--) {
+                Scored scored = best.poll();
+                hits[i] = new Hit(projects[scored.row], scored.score);
+            }
+            return new ArrayList<>(Arrays.asList(hits));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Jumlah proyek yang memuat minimal satu token query dan lolos filter (boleh null).
+     */
+    public int count(String query, Predicate<Project> filter) {
+        Set<String> terms = Tokenizer.tokens(query);
+        if (terms.isEmpty()) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            Cursor[] cursors = cursors(terms);
+            if (cursors.length == 0) {
+                return 0;
+            }
+            if (cursors.length == 1 && filter == null) {
+                return cursors[0].list.live;
+            }
+
+            // Gabungan baris semua token sebagai bitset, agar baris yang memuat beberapa token dihitung sekali
+            long[] matched = new long[(rowCount + 63) >>> 6];
+            for (Cursor cursor : cursors) {
+                for (; cursor.row != Cursor.END; cursor.next()) {
+                    matched[cursor.row >>> 6] |= 1L << cursor.row;
+                }
+            }
+            int count = 0;
+            for (int word = 0; word < matched.length; word++) {
+                for (long bits = matched[word]; bits != 0; bits &= bits - 1) {
+                    Project project = projects[(word << 6) + Long.numberOfTrailingZeros(bits)];
+                    if (project != null && (filter == null || filter.test(project))) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cursor di posting pertama setiap token query yang ada di index. Harus memegang read lock.
+     */
+    private Cursor[] cursors(Set<String> terms) {
+        int live = rowCount - removedCount;
+        List<Cursor> cursors = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list != null && list.live > 0) {
+                float idf = (float) Math.log(1 + (live - list.live + 0.5) / (list.live + 0.5));
+                Cursor cursor = new Cursor(list, idf);
+                cursor.next();
+                cursors.add(cursor);
+            }
+        }
+        return cursors.toArray(new Cursor[0]);
+    }
+
+    private void upsertRow(Project project) {
+        Integer existing = rowOf.get(project.getId());
+        if (existing != null) {
+            if (projects[existing].getVersion() > project.getVersion()) {
+                return;
+            }
+            removeRow(project.getId());
+        }
+        addRow(project);
+    }
+
+    private void addRow(Project project) {
+        if (rowCount == projects.length) {
+            int capacity = rowCount * 2;
+            projects = Arrays.copyOf(projects, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+
+        int row = rowCount++;
+        Map<String, Integer> frequencies = frequencies(project);
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new Postings()).add(row, entry.getValue());
+            length += entry.getValue();
+        }
+        projects[row] = project;
+        lengths[row] = length;
+        totalLength += length;
+        rowOf.put(project.getId(), row);
+    }
+
+    private void removeRow(ObjectId id) {
+        Integer row = rowOf.remove(id);
+        if (row == null) {
+            return;
+        }
+        // Posting lama tetap ada tetapi dilewati; hanya jumlah dokumen per token yang dikurangi
+        for (String term : frequencies(projects[row]).keySet()) {
+            postings.get(term).live--;
+        }
+        totalLength -= lengths[row];
+        projects[row] = null;
+        removedCount++;
+    }
+
+    private static Map<String, Integer> frequencies(Project project) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : Tokenizer.terms(project.getTitle())) {
+            frequencies.merge(term, TITLE_BOOST, Integer::sum);
+        }
+        for (String term : Tokenizer.terms(project.getDescription())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        for (String term : Tokenizer.terms(project.getCompanyName())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private void compactIfNeeded() {
+        if (removedCount > 1024 && removedCount > rowCount / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Membangun ulang kolom dan posting list tanpa baris yang sudah dihapus.
+     */
+    private void compact() {
+        Project[] live = new Project[rowCount - removedCount];
+        int n = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (projects[row] != null) {
+                live[n++] = projects[row];
+            }
+        }
+
+        rowCount = 0;
+        removedCount = 0;
+        totalLength = 0;
+        rowOf.clear();
+        postings.clear();
+        projects = new Project[Math.max(1024, live.length)];
+        lengths = new int[projects.length];
+        for (Project project : live) {
+            addRow(project);
+        }
+    }
+
+    /**
+     * Posting list satu token: (selisih baris, frekuensi) sebagai varint berurutan,
+     * ditambah tabel skip setiap SKIP_INTERVAL posting agar cursor bisa melompati blok.
+     */
+    private static class Postings {
+        private byte[] data = new byte[8];
+        private int length = 0;
+        private int lastRow = -1;
+        private int count = 0;
+        // Jumlah baris hidup yang memuat token ini (document frequency untuk IDF)
+        private int live = 0;
+        private int maxFrequency = 0;
+        // Untuk blok b: baris posting sebelum blok (basis selisih) dan offset byte awal blok
+        private int[] skipRows = new int[1];
+        private int[] skipOffsets = new int[1];
+
+        void add(int row, int frequency) {
+            if (count % SKIP_INTERVAL == 0) {
+                int block = count / SKIP_INTERVAL;
+                if (block == skipRows.length) {
+                    skipRows = Arrays.copyOf(skipRows, block * 2);
+                    skipOffsets = Arrays.copyOf(skipOffsets, block * 2);
+                }
+                skipRows[block] = lastRow;
+                skipOffsets[block] = length;
+            }
+            if (data.length - length < 10) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            writeVarint(row - lastRow);
+            writeVarint(frequency);
+            lastRow = row;
+            count++;
+            live++;
+            maxFrequency = Math.max(maxFrequency, frequency);
+        }
+
+        private void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+    }
+
+    /**
+     * Posisi baca di satu posting list selama satu query.
+     */
+    private static class Cursor {
+        static final int END = Integer.MAX_VALUE;
+
+        final Postings list;
+        final float idf;
+        // Skor maksimal token ini untuk baris mana pun: frekuensi tertinggi dengan panjang dokumen nol
+        final float maxScore;
+        int row = -1;
+        int frequency;
+        private int position = 0;
+        // Jumlah posting yang sudah dibaca
+        private int read = 0;
+
+        Cursor(Postings list, float idf) {
+            this.list = list;
+            this.idf = idf;
+            this.maxScore = idf * list.maxFrequency * (K1 + 1) / (list.maxFrequency + K1 * (1 - B));
+        }
+
+        float score(int length, float averageLength) {
+            float norm = K1 * (1 - B + B * length / averageLength);
+            return idf * frequency * (K1 + 1) / (frequency + norm);
+        }
+
+        void next() {
+            if (position >= list.length) {
+                row = END;
+                return;
+            }
+            byte[] data = list.data;
+            // Varint: 7 bit per byte, bit tertinggi menandakan masih ada byte berikutnya
+            int delta = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            row += delta;
+            frequency = value;
+            read++;
+        }
+
+        /**
+         * Maju ke posting pertama dengan baris >= target.
+         */
+        void advance(int target) {
+            if (row >= target) {
+                return;
+            }
+            // Blok yang seluruh barisnya < target (basis blok berikutnya < target) dilewati tanpa dibaca
+            int block = read / SKIP_INTERVAL;
+            int blocks = (list.count + SKIP_INTERVAL - 1) / SKIP_INTERVAL;
+            int jump = block;
+            while (jump + 1 < blocks && list.skipRows[jump + 1] < target) {
+                jump++;
+            }
+            if (jump > block) {
+                position = list.skipOffsets[jump];
+                row = list.skipRows[jump];
+                read = jump * SKIP_INTERVAL;
+            }
+            do {
+                next();
+            } while (row < target);
+        }
+    }
+
+    private static class Scored {
+        final int row;
+        final float score;
+
+        Scored(int row, float score) {
+            this.row = row;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package marketplace;
+
+import java.util.List;
+import java.util.Set;
+import org.bson.types.ObjectId;
+
+/**
+ * Dilempar saat sebagian operasi dalam satu batch tulis ditolak database secara permanen
+ * (misalnya dokumen gagal validasi), sehingga tidak ada gunanya diulang. Operasi lain di
+ * batch yang sama sudah tersimpan.
+ */
+public class RejectedWritesException extends RuntimeException {
+    private final Set<ObjectId> rejected;
+    private final List<?> conflicts;
+
+    public RejectedWritesException(Set<ObjectId> rejected, List<?> conflicts, String reason) {
+        super(rejected.size() + " perubahan ditolak database: " + reason);
+        this.rejected = rejected;
+        this.conflicts = conflicts;
+    }
+
+    /**
+     * Id dokumen yang operasinya ditolak.
+     */
+    public Set<ObjectId> getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Versi terbaru dari update lain di batch yang konflik (seperti hasil applyWrites biasa).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getConflicts() {
+        return (List<T>) conflicts;
+    }
+}
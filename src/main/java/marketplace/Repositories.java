@@ -0,0 +1,92 @@
+package marketplace;
+
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Memilih engine penyimpanan dan menyediakan executor bersama untuk semua akses data.
+ *
+ * Engine dipilih lewat system property marketplace.store:
+ * - mongo (default): MongoDB lewat DatabaseManager,
+ * - memory: di memori, data hilang saat aplikasi ditutup,
+ * - file: satu file lokal (marketplace.store.file, default marketplace.db).
+ *
+ * Pencarian proyek berdasarkan kata kunci dijawab dari index di memori (lihat SearchIndexRepository),
+ * kecuali dengan -Dmarketplace.searchIndex=false. Filter rentang tanpa kata kunci dan sebaran
+ * rate/budget dijawab dari snapshot kolom di memori (lihat ColumnSnapshotRepository), kecuali dengan
+ * -Dmarketplace.columnSnapshot=false.
+ * Kedua lapisan itu dan GUI berlangganan perubahan lewat watchChanges; engine mongo membuka satu
+ * change stream per koleksi untuk semuanya (lihat DatabaseManager.watchChanges).
+ * Setiap method repository dicatat di Metrics, kecuali dengan -Dmarketplace.metrics=false.
+ */
+public final class Repositories {
+    // Semua akses data versi async dijalankan di pool ini, bukan di Event Dispatch Thread.
+    // Ukuran pool dibatasi agar tidak membanjiri server.
+    private static final int WORKER_THREADS = 4;
+    private static final ExecutorService executor = Executors.newFixedThreadPool(WORKER_THREADS,
+            Thread.ofPlatform().name("db-worker-", 1).daemon(true).factory());
+
+    private Repositories() {
+    }
+
+    public static MarketplaceRepository open() {
+        MarketplaceRepository repository = openStore();
+        boolean watchChanges = !"false".equals(System.getProperty("marketplace.changeStream"));
+        if (!"false".equals(System.getProperty("marketplace.columnSnapshot"))) {
+            repository = new ColumnSnapshotRepository(repository, watchChanges);
+        }
+        if (!"false".equals(System.getProperty("marketplace.searchIndex"))) {
+            repository = new SearchIndexRepository(repository, watchChanges);
+        }
+        return "false".equals(System.getProperty("marketplace.metrics"))
+                ? repository
+                : new InstrumentedRepository(repository);
+    }
+
+    private static MarketplaceRepository openStore() {
+        String store = System.getProperty("marketplace.store", "mongo");
+        switch (store) {
+            case "memory":
+                return LocalRepository.inMemory();
+            case "file":
+                return LocalRepository.embedded(storeFile());
+            case "mongo":
+                return new DatabaseManager();
+            default:
+                throw new IllegalArgumentException("Engine penyimpanan tidak dikenal: " + store);
+        }
+    }
+
+    /**
+     * Penanda engine yang dipilih, untuk file lokal yang isinya hanya berlaku bagi engine tersebut
+     * (snapshot list, jurnal tulis). Untuk mongo termasuk host dan nama database, sehingga
+     * file dari cluster/database lain tidak dipakai. null untuk engine memory, yang selalu mulai kosong.
+     */
+    static String source() {
+        String store = System.getProperty("marketplace.store", "mongo");
+        switch (store) {
+            case "memory":
+                return null;
+            case "file":
+                return "file:" + storeFile().toAbsolutePath();
+            case "mongo":
+                String deployment = DatabaseConfig.load().deployment();
+                return deployment != null ? "mongo:" + deployment : store;
+            default:
+                return store;
+        }
+    }
+
+    private static Path storeFile() {
+        return Path.of(System.getProperty("marketplace.store.file", "marketplace.db"));
+    }
+
+    /**
+     * Executor yang dipakai untuk semua akses data di background.
+     */
+    public static Executor executor() {
+        return executor;
+    }
+}
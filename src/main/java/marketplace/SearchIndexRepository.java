@@ -0,0 +1,315 @@
+package marketplace;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.bson.types.ObjectId;
+
+/**
+ * Membungkus repository lain dan menjawab pencarian proyek berdasarkan kata kunci dari
+ * ProjectSearchIndex di memori, diurutkan berdasarkan relevansi (BM25), tanpa query ke database.
+ *
+ * Index diisi di background saat pencarian teks pertama; sampai selesai, pencarian diteruskan
+ * ke repository asli. Setelah itu index diperbarui per dokumen dari setiap insert/update/delete
+ * lewat repository ini dan, untuk MongoDB, dari change stream (perubahan klien lain).
+ * Pencarian dengan urutan selain urutan asli tetap dijalankan oleh repository asli.
+ */
+final class SearchIndexRepository implements MarketplaceRepository {
+    private final MarketplaceRepository delegate;
+    private final ProjectSearchIndex index = new ProjectSearchIndex();
+    private final ChangeFeed changes;
+    private volatile boolean ready = false;
+    private boolean loading = false;
+    // Dinaikkan oleh reset(); pengisian yang dimulai sebelumnya tidak lengkap dan diulang
+    private int generation = 0;
+
+    SearchIndexRepository(MarketplaceRepository delegate, boolean watchChanges) {
+        this.delegate = delegate;
+        this.changes = watchChanges ? delegate.watchChanges(null, new ChangeFeed.Listener<>() {
+            @Override
+            public void changed(WriteOp<Project> change) {
+                if (change.getKind() == WriteOp.Kind.DELETE) {
+                    index.remove(change.getId());
+                } else {
+                    index.upsert(change.getEntity());
+                }
+            }
+
+            @Override
+            public void resync() {
+                reset();
+            }
+        }) : ChangeFeed.NONE;
+    }
+
+    /**
+     * true jika index sudah terisi penuh; jika belum, pengisian dimulai di background.
+     */
+    private boolean indexReady() {
+        if (ready) {
+            return true;
+        }
+        synchronized (this) {
+            if (!loading) {
+                loading = true;
+                Thread.ofPlatform().name("search-index").daemon(true).start(this::load);
+            }
+        }
+        return false;
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        try {
+            while (true) {
+                int started;
+                synchronized (this) {
+                    started = generation;
+                }
+                index.load(project -> delegate.forEachProject(BulkTransfer.DEFAULT_BATCH_SIZE, project));
+                synchronized (this) {
+                    if (started == generation) {
+                        ready = true;
+                        break;
+                    }
+                }
+                // reset() selama pengisian mengosongkan sebagian hasilnya
+                index.clear();
+            }
+            System.err.printf("Index pencarian proyek siap: %d proyek dalam %d ms%n", index.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Dicoba lagi pada pencarian berikutnya
+            System.err.println("Gagal mengisi index pencarian proyek: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                loading = false;
+            }
+        }
+    }
+
+    /**
+     * Perubahan mungkin ada yang terlewat: index dikosongkan dan diisi ulang saat dipakai lagi.
+     */
+    private void reset() {
+        synchronized (this) {
+            generation++;
+            ready = false;
+        }
+        index.clear();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return delegate.isAvailable();
+    }
+
+    @Override
+    public void close() {
+        changes.close();
+        delegate.close();
+    }
+
+    @Override
+    public ChangeFeed watchChanges(ChangeFeed.Listener<Freelancer> freelancers, ChangeFeed.Listener<Project> projects) {
+        return delegate.watchChanges(freelancers, projects);
+    }
+
+    @Override
+    public List<Freelancer> getAllFreelancers() {
+        return delegate.getAllFreelancers();
+    }
+
+    @Override
+    public Freelancer findFreelancerById(ObjectId id) {
+        return delegate.findFreelancerById(id);
+    }
+
+    @Override
+    public Freelancer peekFreelancer(ObjectId id) {
+        return delegate.peekFreelancer(id);
+    }
+
+    @Override
+    public PageSource<Freelancer> freelancerPages(FreelancerFilter filter, SortSpec<Freelancer> sort) {
+        return delegate.freelancerPages(filter, sort);
+    }
+
+    @Override
+    public Freelancer insertFreelancer(Freelancer freelancer) {
+        return delegate.insertFreelancer(freelancer);
+    }
+
+    @Override
+    public int insertFreelancerBatch(List<Freelancer> batch) {
+        return delegate.insertFreelancerBatch(batch);
+    }
+
+    @Override
+    public Freelancer updateFreelancer(Freelancer freelancer, String name, String skill, double rate, double rating) {
+        return delegate.updateFreelancer(freelancer, name, skill, rate, rating);
+    }
+
+    @Override
+    public boolean deleteFreelancer(ObjectId id) {
+        return delegate.deleteFreelancer(id);
+    }
+
+    @Override
+    public List<Freelancer> applyFreelancerWrites(List<WriteOp<Freelancer>> ops) {
+        return delegate.applyFreelancerWrites(ops);
+    }
+
+    @Override
+    public long forEachFreelancer(int batchSize, Consumer<Freelancer> action) {
+        return delegate.forEachFreelancer(batchSize, action);
+    }
+
+    @Override
+    public MarketplaceStats.Freelancers freelancerStatistics() {
+        return delegate.freelancerStatistics();
+    }
+
+    @Override
+    public List<Project> getAllProjects() {
+        return delegate.getAllProjects();
+    }
+
+    @Override
+    public Project findProjectById(ObjectId id) {
+        return delegate.findProjectById(id);
+    }
+
+    @Override
+    public Project peekProject(ObjectId id) {
+        return delegate.peekProject(id);
+    }
+
+    @Override
+    public PageSource<Project> projectPages(ProjectFilter filter, SortSpec<Project> sort) {
+        if (filter == null || filter.getText() == null || !sort.isNatural() || !indexReady()) {
+            return delegate.projectPages(filter, sort);
+        }
+        // Kata kunci sudah dicocokkan index; sisanya (rentang budget) dicek per hasil
+        ProjectFilter budget = new ProjectFilter(null, filter.getMinBudget(), filter.getMaxBudget());
+        String query = filter.getText();
+        return new PageSource<>() {
+            @Override
+            public int count() {
+                return index.count(query, budget.isEmpty() ? null : budget::matches);
+            }
+
+            /**
+             * Dengan previous, halaman dimulai setelah peringkat previous di hasil. Peringkatnya
+             * belum diketahui, jadi jumlah hasil yang diambil digandakan sampai previous ketemu;
+             * jika previous sudah tidak cocok dengan kata kunci, offset yang dipakai.
+             */
+            @Override
+            public List<Project> fetchPage(int offset, int limit, Project previous) {
+                int k = previous == null ? offset + limit : Math.max(2 * limit, 16);
+                while (true) {
+                    List<ProjectSearchIndex.Hit> hits = index.search(query, k, budget.isEmpty() ? null : budget::matches);
+                    boolean complete = hits.size() < k;
+                    int start = offset;
+                    if (previous != null) {
+                        int rank = rankOf(hits, previous.getId());
+                        if (rank < 0 && !complete) {
+                            k *= 2;
+                            continue;
+                        }
+                        start = rank < 0 ? offset : rank + 1;
+                    }
+                    if (start + limit > hits.size() && !complete) {
+                        k = start + limit;
+                        continue;
+                    }
+                    return hits.subList(Math.min(start, hits.size()), Math.min(start + limit, hits.size())).stream()
+                            .map(ProjectSearchIndex.Hit::getProject)
+                            .toList();
+                }
+            }
+        };
+    }
+
+    private static int rankOf(List<ProjectSearchIndex.Hit> hits, ObjectId id) {
+        for (int i = 0; i < hits.size(); i++) {
+            if (hits.get(i).getProject().getId().equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Project insertProject(Project project) {
+        Project inserted = delegate.insertProject(project);
+        index.upsert(inserted);
+        return inserted;
+    }
+
+    @Override
+    public int insertProjectBatch(List<Project> batch) {
+        int inserted = delegate.insertProjectBatch(batch);
+        batch.forEach(index::upsert);
+        return inserted;
+    }
+
+    @Override
+    public Project updateProject(Project project, String title, String company, String desc, double budget) {
+        try {
+            Project updated = delegate.updateProject(project, title, company, desc, budget);
+            index.upsert(updated);
+            return updated;
+        } catch (ConcurrentUpdateException e) {
+            index.upsert((Project) e.getCurrent());
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean deleteProject(ObjectId id) {
+        boolean deleted = delegate.deleteProject(id);
+        index.remove(id);
+        return deleted;
+    }
+
+    @Override
+    public List<Project> applyProjectWrites(List<WriteOp<Project>> ops) {
+        try {
+            List<Project> conflicts = delegate.applyProjectWrites(ops);
+            applied(ops, conflicts, Set.of());
+            return conflicts;
+        } catch (RejectedWritesException e) {
+            applied(ops, e.getConflicts(), e.getRejected());
+            throw e;
+        }
+    }
+
+    /**
+     * Menerapkan batch yang sudah dijalankan repository asli ke index, kecuali operasi yang ditolak.
+     */
+    private void applied(List<WriteOp<Project>> ops, List<Project> conflicts, Set<ObjectId> rejected) {
+        for (WriteOp<Project> op : ops) {
+            if (rejected.contains(op.getId())) {
+                continue;
+            }
+            if (op.getKind() == WriteOp.Kind.DELETE) {
+                index.remove(op.getId());
+            } else {
+                index.upsert(op.getEntity());
+            }
+        }
+        // Versi server dari update yang ditolak lebih baru, jadi menimpa isi update di atas
+        conflicts.forEach(index::upsert);
+    }
+
+    @Override
+    public long forEachProject(int batchSize, Consumer<Project> action) {
+        return delegate.forEachProject(batchSize, action);
+    }
+
+    @Override
+    public MarketplaceStats.Projects projectStatistics() {
+        return delegate.projectStatistics();
+    }
+}
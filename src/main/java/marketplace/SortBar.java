@@ -0,0 +1,76 @@
+package marketplace;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Pilihan urutan untuk satu list: field utama dan field kedua, masing-masing
+ * naik atau turun. Setiap perubahan memanggil onChange (biasanya menjalankan ulang pencarian).
+ */
+public class SortBar<T> extends JPanel {
+    private static final String NONE = "-";
+
+    private final JComboBox<Object> primary = new JComboBox<>();
+    private final JComboBox<Object> secondary = new JComboBox<>();
+    private final JToggleButton primaryDescending = directionButton();
+    private final JToggleButton secondaryDescending = directionButton();
+
+    public SortBar(List<SortSpec.Field<T>> fields, Runnable onChange) {
+        super(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        primary.addItem("Urutan asli");
+        secondary.addItem(NONE);
+        for (SortSpec.Field<T> field : fields) {
+            primary.addItem(field);
+            secondary.addItem(field);
+        }
+
+        add(new JLabel("Urutkan:"));
+        add(primary);
+        add(primaryDescending);
+        add(new JLabel("lalu"));
+        add(secondary);
+        add(secondaryDescending);
+        updateEnabled();
+
+        primary.addActionListener(e -> changed(onChange));
+        secondary.addActionListener(e -> changed(onChange));
+        primaryDescending.addActionListener(e -> changed(onChange));
+        secondaryDescending.addActionListener(e -> changed(onChange));
+    }
+
+    /**
+     * Urutan yang sedang dipilih.
+     */
+    @SuppressWarnings("unchecked")
+    public SortSpec<T> getSortSpec() {
+        SortSpec<T> sort = SortSpec.natural();
+        if (primary.getSelectedItem() instanceof SortSpec.Field<?> field) {
+            sort = sort.then((SortSpec.Field<T>) field, !primaryDescending.isSelected());
+            if (secondary.getSelectedItem() instanceof SortSpec.Field<?> next) {
+                sort = sort.then((SortSpec.Field<T>) next, !secondaryDescending.isSelected());
+            }
+        }
+        return sort;
+    }
+
+    private void changed(Runnable onChange) {
+        primaryDescending.setText(primaryDescending.isSelected() ? "Turun" : "Naik");
+        secondaryDescending.setText(secondaryDescending.isSelected() ? "Turun" : "Naik");
+        updateEnabled();
+        onChange.run();
+    }
+
+    private void updateEnabled() {
+        boolean sorted = primary.getSelectedItem() instanceof SortSpec.Field<?>;
+        primaryDescending.setEnabled(sorted);
+        secondary.setEnabled(sorted);
+        secondaryDescending.setEnabled(sorted && secondary.getSelectedItem() instanceof SortSpec.Field<?>);
+    }
+
+    private static JToggleButton directionButton() {
+        JToggleButton button = new JToggleButton("Naik");
+        button.setToolTipText("Klik untuk membalik arah urutan");
+        return button;
+    }
+}
@@ -0,0 +1,200 @@
+package marketplace;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+/**
+ * Urutan list: satu atau beberapa field, masing-masing naik atau turun, ditutup _id
+ * sebagai pemisah baris yang nilainya sama. Arah _id mengikuti field terakhir, sehingga
+ * satu compound index {field..., _id} bisa dipakai untuk kedua arah.
+ *
+ * Urutan yang sama dipakai untuk sort di MongoDB, perbandingan di memori, dan filter
+ * "setelah baris terakhir" untuk paging berbasis cursor tanpa skip.
+ */
+public final class SortSpec<T> {
+    /**
+     * Field yang boleh dipakai untuk mengurutkan.
+     */
+    public static final class Field<T> {
+        private final String name;
+        private final String label;
+        private final Function<T, Object> value;
+
+        private Field(String name, String label, Function<T, Object> value) {
+            this.name = name;
+            this.label = label;
+            this.value = value;
+        }
+
+        public String getName() { return name; }
+        public String getLabel() { return label; }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    public static final Field<Freelancer> FREELANCER_NAME = new Field<>("name", "Nama", Freelancer::getName);
+    public static final Field<Freelancer> FREELANCER_SKILL = new Field<>("skill", "Skill", Freelancer::getSkill);
+    public static final Field<Freelancer> FREELANCER_RATE = new Field<>("ratePerHour", "Tarif", Freelancer::getRatePerHour);
+    public static final Field<Freelancer> FREELANCER_RATING = new Field<>("rating", "Rating", Freelancer::getRating);
+    public static final List<Field<Freelancer>> FREELANCER_FIELDS =
+            List.of(FREELANCER_NAME, FREELANCER_SKILL, FREELANCER_RATE, FREELANCER_RATING);
+
+    public static final Field<Project> PROJECT_TITLE = new Field<>("title", "Judul", Project::getTitle);
+    public static final Field<Project> PROJECT_COMPANY = new Field<>("companyName", "Perusahaan", Project::getCompanyName);
+    public static final Field<Project> PROJECT_BUDGET = new Field<>("budget", "Budget", Project::getBudget);
+    public static final List<Field<Project>> PROJECT_FIELDS = List.of(PROJECT_TITLE, PROJECT_COMPANY, PROJECT_BUDGET);
+
+    private final List<Field<T>> fields;
+    private final List<Boolean> ascending;
+
+    private SortSpec(List<Field<T>> fields, List<Boolean> ascending) {
+        this.fields = fields;
+        this.ascending = ascending;
+    }
+
+    /**
+     * Urutan asli (berdasarkan _id, kurang lebih urutan dokumen dibuat).
+     */
+    public static <T> SortSpec<T> natural() {
+        return new SortSpec<>(List.of(), List.of());
+    }
+
+    /**
+     * Urutan baru dengan satu field tambahan di belakang field yang sudah ada.
+     * Field yang sudah ada di urutan ini diabaikan.
+     */
+    public SortSpec<T> then(Field<T> field, boolean ascending) {
+        if (fields.contains(field)) {
+            return this;
+        }
+        List<Field<T>> newFields = new ArrayList<>(fields);
+        List<Boolean> newAscending = new ArrayList<>(this.ascending);
+        newFields.add(field);
+        newAscending.add(ascending);
+        return new SortSpec<>(Collections.unmodifiableList(newFields), Collections.unmodifiableList(newAscending));
+    }
+
+    public boolean isNatural() {
+        return fields.isEmpty();
+    }
+
+    public List<Field<T>> getFields() { return fields; }
+
+    public boolean isAscending(int index) {
+        return ascending.get(index);
+    }
+
+    private boolean idAscending() {
+        return ascending.isEmpty() || ascending.get(ascending.size() - 1);
+    }
+
+    /**
+     * Sort MongoDB, termasuk _id di akhir.
+     */
+    public Bson toBson() {
+        List<Bson> sorts = new ArrayList<>(fields.size() + 1);
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).name;
+            sorts.add(ascending.get(i) ? Sorts.ascending(name) : Sorts.descending(name));
+        }
+        sorts.add(idAscending() ? Sorts.ascending("_id") : Sorts.descending("_id"));
+        return Sorts.orderBy(sorts);
+    }
+
+    /**
+     * Filter MongoDB untuk baris yang berada setelah previous dalam urutan ini:
+     * (k1 lewat v1) atau (k1 = v1 dan k2 lewat v2) ... atau (semua sama dan _id lewat id).
+     * Null diurutkan paling awal, seperti di MongoDB.
+     */
+    public Bson after(T previous, ObjectId previousId) {
+        List<Bson> branches = new ArrayList<>(fields.size() + 1);
+        List<Bson> equalSoFar = new ArrayList<>(fields.size() + 1);
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).name;
+            Object value = fields.get(i).value.apply(previous);
+            Bson beyond = beyond(name, value, ascending.get(i));
+            if (beyond != null) {
+                branches.add(and(equalSoFar, beyond));
+            }
+            equalSoFar.add(Filters.eq(name, value));
+        }
+        branches.add(and(equalSoFar, idAscending() ? Filters.gt("_id", previousId) : Filters.lt("_id", previousId)));
+        return branches.size() == 1 ? branches.get(0) : Filters.or(branches);
+    }
+
+    /**
+     * Kondisi "nilai field berada setelah value", atau null jika tidak ada nilai setelahnya.
+     */
+    private static Bson beyond(String name, Object value, boolean ascending) {
+        if (value == null) {
+            // Null paling awal: saat naik semua nilai non-null ada di belakangnya, saat turun tidak ada
+            return ascending ? Filters.ne(name, null) : null;
+        }
+        return ascending
+                ? Filters.gt(name, value)
+                : Filters.or(Filters.lt(name, value), Filters.eq(name, null));
+    }
+
+    private static Bson and(List<Bson> equalSoFar, Bson last) {
+        if (equalSoFar.isEmpty()) {
+            return last;
+        }
+        List<Bson> conditions = new ArrayList<>(equalSoFar);
+        conditions.add(last);
+        return Filters.and(conditions);
+    }
+
+    /**
+     * Urutan yang sama untuk engine penyimpanan lokal.
+     */
+    public Comparator<T> comparator(Function<T, ObjectId> idOf) {
+        Comparator<T> result = null;
+        for (int i = 0; i < fields.size(); i++) {
+            Function<T, Object> value = fields.get(i).value;
+            Comparator<T> byField = (a, b) -> compareValues(value.apply(a), value.apply(b));
+            if (!ascending.get(i)) {
+                byField = byField.reversed();
+            }
+            result = result == null ? byField : result.thenComparing(byField);
+        }
+        Comparator<T> byId = Comparator.comparing(idOf);
+        if (!idAscending()) {
+            byId = byId.reversed();
+        }
+        return result == null ? byId : result.thenComparing(byId);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        if (a instanceof Number x && b instanceof Number y) {
+            return Double.compare(x.doubleValue(), y.doubleValue());
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SortSpec<?> other && fields.equals(other.fields) && ascending.equals(other.ascending);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fields, ascending);
+    }
+}
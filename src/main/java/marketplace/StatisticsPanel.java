@@ -0,0 +1,120 @@
+package marketplace;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Panel statistik marketplace: rata-rata per skill, budget per perusahaan, dan sebaran
+ * rate/budget. Angka dihitung oleh repository (aggregation di server untuk MongoDB)
+ * di background, sehingga membuka atau memuat ulang panel tidak membekukan GUI.
+ */
+public class StatisticsPanel extends JPanel {
+    private final MarketplaceRepository repository;
+
+    private final JLabel lblSummary = new JLabel("Memuat statistik...");
+    private final JButton btnRefresh = new JButton("Muat Ulang");
+    private final DefaultTableModel skillTable = table("Skill", "Freelancer", "Rata-rata Rate", "Rata-rata Rating");
+    private final DefaultTableModel companyTable = table("Perusahaan", "Proyek", "Total Budget", "Median Budget");
+    private final DefaultTableModel rateTable = table("Rate per Jam", "Freelancer");
+    private final DefaultTableModel budgetTable = table("Budget", "Proyek");
+
+    public StatisticsPanel(MarketplaceRepository repository) {
+        super(new BorderLayout(5, 5));
+        this.repository = repository;
+        setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        JPanel header = new JPanel(new BorderLayout(5, 5));
+        header.add(lblSummary, BorderLayout.CENTER);
+        header.add(btnRefresh, BorderLayout.EAST);
+        add(header, BorderLayout.NORTH);
+
+        JPanel distributions = new JPanel(new GridLayout(1, 2, 10, 10));
+        distributions.add(new JScrollPane(new JTable(rateTable)));
+        distributions.add(new JScrollPane(new JTable(budgetTable)));
+
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Per Skill", new JScrollPane(new JTable(skillTable)));
+        tabs.addTab("Per Perusahaan", new JScrollPane(new JTable(companyTable)));
+        tabs.addTab("Sebaran", distributions);
+        add(tabs, BorderLayout.CENTER);
+
+        btnRefresh.addActionListener(e -> refresh());
+        setPreferredSize(new Dimension(640, 400));
+    }
+
+    /**
+     * Mengambil statistik terbaru di background lalu mengisi tabel di EDT.
+     */
+    public void refresh() {
+        btnRefresh.setEnabled(false);
+        lblSummary.setText("Memuat statistik...");
+        CompletableFuture<MarketplaceStats.Freelancers> freelancers =
+                CompletableFuture.supplyAsync(repository::freelancerStatistics, Repositories.executor());
+        CompletableFuture<MarketplaceStats.Projects> projects =
+                CompletableFuture.supplyAsync(repository::projectStatistics, Repositories.executor());
+
+        freelancers.thenCombine(projects, MarketplaceStats::new).whenCompleteAsync((stats, error) -> {
+            btnRefresh.setEnabled(true);
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                lblSummary.setText("Gagal memuat statistik: " + cause.getMessage());
+                return;
+            }
+            show(stats);
+        }, SwingUtilities::invokeLater);
+    }
+
+    private void show(MarketplaceStats stats) {
+        MarketplaceStats.Freelancers freelancers = stats.getFreelancers();
+        MarketplaceStats.Projects projects = stats.getProjects();
+        long computedAt = Math.min(freelancers.getComputedAt(), projects.getComputedAt());
+        lblSummary.setText(String.format("%d freelancer, %d proyek (dihitung %s)", freelancers.getCount(),
+                projects.getCount(), new SimpleDateFormat("HH:mm:ss").format(new Date(computedAt))));
+
+        skillTable.setRowCount(0);
+        for (MarketplaceStats.SkillGroup group : freelancers.getSkills()) {
+            skillTable.addRow(new Object[] {label(group.getSkill()), group.getCount(),
+                    String.format("Rp%.2f/jam", group.getAverageRate()),
+                    String.format("%.2f Bintang", group.getAverageRating())});
+        }
+
+        companyTable.setRowCount(0);
+        for (MarketplaceStats.CompanyGroup group : projects.getCompanies()) {
+            companyTable.addRow(new Object[] {label(group.getCompany()), group.getCount(),
+                    String.format("Rp%.2f", group.getTotalBudget()),
+                    String.format("Rp%.2f", group.getMedianBudget())});
+        }
+
+        fillDistribution(rateTable, freelancers.getRateDistribution());
+        fillDistribution(budgetTable, projects.getBudgetDistribution());
+    }
+
+    private static void fillDistribution(DefaultTableModel table, List<MarketplaceStats.Bucket> buckets) {
+        table.setRowCount(0);
+        for (MarketplaceStats.Bucket bucket : buckets) {
+            String range = Double.isInfinite(bucket.getUpper())
+                    ? String.format("Rp%.0f ke atas", bucket.getLower())
+                    : String.format("Rp%.0f - Rp%.0f", bucket.getLower(), bucket.getUpper());
+            table.addRow(new Object[] {range, bucket.getCount()});
+        }
+    }
+
+    private static String label(String value) {
+        return value == null || value.isEmpty() ? "(kosong)" : value;
+    }
+
+    private static DefaultTableModel table(String... columns) {
+        return new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package marketplace;
+
+import com.mongodb.MongoException;
+
+/**
+ * Dilempar saat server database tidak bisa dihubungi (setelah semua percobaan koneksi gagal,
+ * atau selama jeda sebelum boleh mencoba lagi). Keadaan ini sementara: operasi yang sama bisa
+ * berhasil setelah server kembali, jadi antrean tulis menyimpannya dan mencoba lagi nanti.
+ */
+public class StoreUnavailableException extends MongoException {
+    public StoreUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
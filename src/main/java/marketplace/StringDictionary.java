@@ -0,0 +1,164 @@
+package marketplace;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Kamus global untuk string yang nilainya sedikit tetapi berulang di banyak dokumen
+ * (skill freelancer, nama perusahaan proyek).
+ *
+ * Setiap nilai berbeda mendapat satu instance String bersama dan kode int yang tetap selama
+ * aplikasi berjalan. Codec memakai instance bersama saat membaca dokumen, sehingga ratusan
+ * ribu baris hanya menyimpan referensi, dan pengelompokan bisa memakai kode sebagai index array.
+ *
+ * Jumlah entri dibatasi (marketplace.dictionary.maxEntries) agar isian bebas yang hampir
+ * selalu berbeda tidak membuat kamus tumbuh tanpa batas; setelah penuh, nilai baru dipakai
+ * apa adanya dan tidak punya kode.
+ */
+final class StringDictionary {
+    /** Kode untuk null dan untuk nilai yang tidak masuk kamus. */
+    static final int NO_CODE = -1;
+    private static final int MAX_ENTRIES = Integer.getInteger("marketplace.dictionary.maxEntries", 65_536);
+
+    static final StringDictionary SKILLS = new StringDictionary(MAX_ENTRIES);
+    static final StringDictionary COMPANIES = new StringDictionary(MAX_ENTRIES);
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // values[kode] = instance bersama; hanya ditambah di add() (synchronized)
+    private volatile String[] values = new String[64];
+    private volatile int size = 0;
+
+    private static final class Entry {
+        private final String value;
+        private final int code;
+
+        Entry(String value, int code) {
+            this.value = value;
+            this.code = code;
+        }
+    }
+
+    StringDictionary(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Instance bersama untuk nilai yang sama, atau value itu sendiri jika kamus sudah penuh.
+     */
+    String intern(String value) {
+        Entry entry = lookup(value);
+        return entry != null ? entry.value : value;
+    }
+
+    /**
+     * Kode untuk nilai ini (ditambahkan ke kamus jika belum ada), atau NO_CODE.
+     */
+    int code(String value) {
+        Entry entry = lookup(value);
+        return entry != null ? entry.code : NO_CODE;
+    }
+
+    /**
+     * Nilai untuk kode dari code().
+     */
+    String value(int code) {
+        return values[code];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Kelompok baru yang dikunci oleh nilai dari kamus ini.
+     */
+    <V> Groups<V> groups(Function<String, V> create) {
+        return new Groups<>(this, create);
+    }
+
+    private Entry lookup(String value) {
+        if (value == null) {
+            return null;
+        }
+        Entry entry = entries.get(value);
+        if (entry != null || size >= maxEntries) {
+            return entry;
+        }
+        return add(value);
+    }
+
+    private synchronized Entry add(String value) {
+        Entry entry = entries.get(value);
+        if (entry != null || size >= maxEntries) {
+            return entry;
+        }
+        int code = size;
+        if (code == values.length) {
+            values = Arrays.copyOf(values, code * 2);
+        }
+        // Diisi sebelum entry terlihat di map, sehingga value(code) selalu menemukan nilainya
+        values[code] = value;
+        entry = new Entry(value, code);
+        entries.put(value, entry);
+        size = code + 1;
+        return entry;
+    }
+
+    /**
+     * Akumulator per nilai untuk pengelompokan (misalnya statistik per skill). Nilai yang
+     * punya kode disimpan di array berdasarkan kode, tanpa hashing dan perbandingan string;
+     * null dan nilai di luar kamus disimpan di map biasa. Tidak thread-safe.
+     */
+    static final class Groups<V> {
+        private final StringDictionary dictionary;
+        private final Function<String, V> create;
+        private Object[] byCode = new Object[16];
+        private final Map<String, V> others = new HashMap<>();
+        private int size = 0;
+
+        private Groups(StringDictionary dictionary, Function<String, V> create) {
+            this.dictionary = dictionary;
+            this.create = create;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(String key) {
+            int code = dictionary.code(key);
+            if (code == NO_CODE) {
+                return others.computeIfAbsent(key, k -> {
+                    size++;
+                    return create.apply(k);
+                });
+            }
+            if (code >= byCode.length) {
+                byCode = Arrays.copyOf(byCode, Math.max(code + 1, byCode.length * 2));
+            }
+            V group = (V) byCode[code];
+            if (group == null) {
+                group = create.apply(key);
+                byCode[code] = group;
+                size++;
+            }
+            return group;
+        }
+
+        int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEach(BiConsumer<String, V> action) {
+            for (int code = 0; code < byCode.length; code++) {
+                if (byCode[code] != null) {
+                    action.accept(dictionary.value(code), (V) byCode[code]);
+                }
+            }
+            others.forEach(action);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package marketplace;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.bson.types.ObjectId;
+
+/**
+ * Satu koleksi entitas yang diurutkan berdasarkan _id, untuk engine penyimpanan lokal.
+ */
+interface Table<T> {
+    T get(ObjectId id);
+
+    void put(T row);
+
+    boolean remove(ObjectId id);
+
+    /**
+     * Baris yang lolos filter dengan _id lebih besar dari after (null = dari awal),
+     * berurutan menurut _id. skip baris pertama dilewati, lalu diambil maksimal limit baris.
+     * Filter null berarti semua baris.
+     */
+    List<T> scan(ObjectId after, Predicate<T> filter, int skip, int limit);
+
+    int count(Predicate<T> filter);
+
+    void forEach(Consumer<T> action);
+}
@@ -0,0 +1,54 @@
+package marketplace;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Memecah teks bebas (skill, judul, deskripsi) menjadi token huruf kecil.
+ */
+final class Tokenizer {
+    private static final Set<String> STOP_WORDS = Set.of(
+            "dan", "yang", "untuk", "di", "ke", "dari", "dengan", "atau", "the", "and", "for", "of", "a", "an");
+
+    private Tokenizer() {
+    }
+
+    static Set<String> tokens(String text) {
+        return new HashSet<>(terms(text));
+    }
+
+    /**
+     * Semua token sesuai urutan di teks, termasuk yang berulang (untuk menghitung frekuensi).
+     */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#]+")) {
+            if (token.length() >= 2 && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * true jika minimal satu token query muncul di teks (seperti $text di MongoDB).
+     */
+    static boolean matchesAny(Set<String> queryTokens, String text) {
+        if (queryTokens.isEmpty()) {
+            return true;
+        }
+        Set<String> textTokens = tokens(text);
+        for (String token : queryTokens) {
+            if (textTokens.contains(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
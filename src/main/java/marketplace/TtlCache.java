@@ -0,0 +1,68 @@
+package marketplace;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Satu nilai hasil perhitungan mahal yang disimpan selama ttl, atau sampai invalidate() dipanggil.
+ *
+ * Jika beberapa thread meminta nilai yang sudah kedaluwarsa bersamaan, hanya satu yang
+ * menghitung ulang; yang lain menunggu lalu memakai hasilnya. invalidate() tidak pernah
+ * menunggu perhitungan yang sedang berjalan, sehingga aman dipanggil dari jalur tulis.
+ */
+final class TtlCache<T> {
+    private final long ttlNanos;
+    private final Supplier<T> loader;
+    private final Object loadLock = new Object();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Entry<T> entry;
+
+    private static final class Entry<T> {
+        final T value;
+        final long expiresAt;
+        final long generation;
+
+        Entry(T value, long expiresAt, long generation) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.generation = generation;
+        }
+    }
+
+    TtlCache(long ttl, TimeUnit unit, Supplier<T> loader) {
+        this.ttlNanos = unit.toNanos(ttl);
+        this.loader = loader;
+    }
+
+    T get() {
+        T cached = fresh();
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (loadLock) {
+            cached = fresh();
+            if (cached != null) {
+                return cached;
+            }
+            // Jika ada tulis selama perhitungan, hasilnya tetap dikembalikan tetapi tidak dianggap segar
+            long gen = generation.get();
+            T value = loader.get();
+            entry = new Entry<>(value, System.nanoTime() + ttlNanos, gen);
+            return value;
+        }
+    }
+
+    void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private T fresh() {
+        Entry<T> current = entry;
+        if (current == null || current.generation != generation.get()
+                || System.nanoTime() - current.expiresAt >= 0) {
+            return null;
+        }
+        return current.value;
+    }
+}
@@ -0,0 +1,510 @@
+package marketplace;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import org.bson.codecs.Codec;
+import org.bson.types.ObjectId;
+
+/**
+ * Antrean tulis di antara GUI dan repository. Operasi langsung kembali ke pemanggil
+ * (GUI menampilkan hasilnya secara optimis) dan dikirim ke repository belakangan
+ * dalam batch, lewat satu thread "write-behind".
+ *
+ * Operasi pada dokumen yang sama digabung selama belum dikirim (lihat WriteOp.then),
+ * misalnya insert lalu update menjadi satu insert dan update lalu delete menjadi delete.
+ * Batch dikirim saat jumlah operasi mencapai batchSize atau flushDelayMs setelah operasi
+ * pertama masuk. Pemanggil (EDT) tidak pernah ditahan: jika antrean penuh (capacity dokumen,
+ * termasuk batch yang sedang atau akan dikirim ulang) dan tidak ada jurnal, operasi baru ditolak
+ * dengan WriteQueueFullException; dengan jurnal, kelebihannya tetap diterima karena sudah aman
+ * di disk.
+ * Gangguan sementara (jaringan/timeout/I/O) dicoba ulang; jika tetap gagal, operasi
+ * dikembalikan ke antrean dan dicoba lagi pada flush berikutnya. Selama itu antrean dianggap
+ * belum tersinkron (syncFailure) dan onSyncChanged dipanggil, tanpa menganggapnya error:
+ * perubahan sudah diterima dan akan terkirim sendiri saat server kembali. Operasi yang ditolak
+ * permanen oleh database (RejectedWritesException) dibuang dan dilaporkan lewat onRejected.
+ *
+ * Jika memakai WriteJournal, setiap operasi juga ditulis ke jurnal lokal sebelum kembali ke
+ * pemanggil, sehingga operasi yang belum terkirim tidak hilang saat server tidak bisa dihubungi
+ * atau aplikasi mati. Saat antrean dibuat, isinya dipulihkan dari jurnal; batch yang sedang
+ * dikirim saat aplikasi berhenti dikirim ulang lebih dulu. Mengirim ulang aman: insert dengan id
+ * yang sudah ada dianggap tersimpan, update bersyarat versi yang sudah diterapkan tidak dianggap
+ * konflik, dan delete tidak berubah hasilnya.
+ */
+public class WriteBehindQueue<T> implements AutoCloseable {
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long RETRY_DELAY_MS = 200;
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+    private static final String RETRYABLE_WRITE_ERROR = "RetryableWriteError";
+
+    // Default untuk antrean GUI, bisa diatur lewat -Dmarketplace.writeBehind.*
+    private static final int DEFAULT_BATCH_SIZE = Integer.getInteger("marketplace.writeBehind.batchSize", 500);
+    private static final long DEFAULT_FLUSH_DELAY_MS = Long.getLong("marketplace.writeBehind.flushDelayMs", 250);
+    private static final int DEFAULT_CAPACITY = Integer.getInteger("marketplace.writeBehind.capacity", 10_000);
+    // Jurnal antrean GUI (-Dmarketplace.journal=false untuk mematikan)
+    private static final boolean JOURNAL_ENABLED = !"false".equals(System.getProperty("marketplace.journal"));
+    private static final Path JOURNAL_DIR = Path.of(System.getProperty("marketplace.journal.dir", "."));
+
+    private final String name;
+    private final Function<List<WriteOp<T>>, List<T>> writer;
+    private final Function<T, ObjectId> idOf;
+    private final ToLongFunction<T> versionOf;
+    private final BiFunction<T, Long, T> withVersion;
+    private final int batchSize;
+    private final long flushDelayMs;
+    private final int capacity;
+    private final Consumer<List<T>> onConflict;
+    private final Consumer<RejectedWritesException> onRejected;
+    private final Runnable onSyncChanged;
+    private final WriteJournal<T> journal;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private LinkedHashMap<ObjectId, WriteOp<T>> pending = new LinkedHashMap<>();
+    // Batch dari jurnal yang dikirim ulang apa adanya sebelum pending
+    private List<WriteOp<T>> replay = List.of();
+    private int inFlight = 0;
+    private ScheduledFuture<?> scheduled;
+    private boolean closed = false;
+    // Error batch terakhir jika batch itu dikembalikan ke antrean; null setelah batch berhasil
+    private volatile RuntimeException syncFailure;
+
+    private final ScheduledExecutorService flusher;
+    private final Thread shutdownHook;
+
+    /**
+     * @param writer menjalankan satu batch dan mengembalikan versi terbaru dari update yang konflik
+     * @param withVersion membuat salinan entitas dengan versi lain (untuk hasil optimis update)
+     * @param onConflict dipanggil dari thread write-behind dengan versi terbaru dokumen yang konflik
+     * @param onRejected dipanggil dari thread write-behind jika operasi ditolak permanen dan dibuang
+     * @param onSyncChanged dipanggil saat syncFailure berubah dan, selama belum tersinkron, setiap
+     *                      kali operasi baru masuk antrean (untuk indikator jumlah yang menunggu)
+     * @param journal jurnal lokal untuk operasi yang belum terkirim, atau null
+     */
+    WriteBehindQueue(String name, Function<List<WriteOp<T>>, List<T>> writer, Function<T, ObjectId> idOf,
+                     ToLongFunction<T> versionOf, BiFunction<T, Long, T> withVersion,
+                     int batchSize, long flushDelayMs, int capacity, Consumer<List<T>> onConflict,
+                     Consumer<RejectedWritesException> onRejected, Runnable onSyncChanged, WriteJournal<T> journal) {
+        this.name = name;
+        this.writer = writer;
+        this.idOf = idOf;
+        this.versionOf = versionOf;
+        this.withVersion = withVersion;
+        this.batchSize = batchSize;
+        this.flushDelayMs = flushDelayMs;
+        this.capacity = Math.max(capacity, batchSize);
+        this.onConflict = onConflict;
+        this.onRejected = onRejected;
+        this.onSyncChanged = onSyncChanged;
+        this.journal = journal;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("write-behind-" + name).daemon(true).factory());
+
+        // Operasi yang masih antre tetap dikirim jika aplikasi dihentikan tanpa menutup jendela
+        this.shutdownHook = new Thread(this::close, "write-behind-" + name + "-exit");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        if (journal != null && journal.recoveredCount() > 0) {
+            System.err.println(journal.recoveredCount() + " perubahan " + name + " dari jurnal akan dikirim ulang");
+            lock.lock();
+            try {
+                replay = journal.recoveredBatch();
+                pending = journal.recoveredPending();
+                schedule(0);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public static WriteBehindQueue<Freelancer> forFreelancers(FreelancerRepository repository,
+                                                              Consumer<List<Freelancer>> onConflict,
+                                                              Consumer<RejectedWritesException> onRejected,
+                                                              Runnable onSyncChanged) {
+        return new WriteBehindQueue<>("freelancers", repository::applyFreelancerWrites, Freelancer::getId,
+                Freelancer::getVersion, (freelancer, version) -> freelancer.withVersion(version, freelancer.getUpdatedAt()),
+                DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_DELAY_MS, DEFAULT_CAPACITY, onConflict, onRejected, onSyncChanged,
+                openJournal("freelancers", new FreelancerCodec()));
+    }
+
+    public static WriteBehindQueue<Project> forProjects(ProjectRepository repository,
+                                                        Consumer<List<Project>> onConflict,
+                                                        Consumer<RejectedWritesException> onRejected,
+                                                        Runnable onSyncChanged) {
+        return new WriteBehindQueue<>("projects", repository::applyProjectWrites, Project::getId,
+                Project::getVersion, (project, version) -> project.withVersion(version, project.getUpdatedAt()),
+                DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_DELAY_MS, DEFAULT_CAPACITY, onConflict, onRejected, onSyncChanged,
+                openJournal("projects", new ProjectCodec()));
+    }
+
+    /**
+     * Jurnal untuk antrean GUI, atau null jika dimatikan, engine-nya memory (data selalu mulai
+     * kosong), atau file jurnal tidak bisa dibuka.
+     */
+    private static <T> WriteJournal<T> openJournal(String name, Codec<T> codec) {
+        String source = Repositories.source();
+        if (!JOURNAL_ENABLED || source == null) {
+            return null;
+        }
+        Path path = JOURNAL_DIR.resolve("marketplace-" + name + ".journal");
+        try {
+            return new WriteJournal<>(path, source, codec);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Gagal membuka jurnal " + path + ", perubahan hanya diantrekan di memori: " + e);
+            return null;
+        }
+    }
+
+    public void insert(T entity) {
+        submit(WriteOp.insert(idOf.apply(entity), entity), null);
+    }
+
+    /**
+     * Mengantrekan perubahan dari current (data yang sedang ditampilkan) menjadi changed,
+     * lalu mengembalikan changed dengan versi yang akan dimiliki dokumen setelah tersimpan.
+     */
+    public T update(T current, T changed) {
+        return submit(WriteOp.update(idOf.apply(current), current, changed), changed);
+    }
+
+    public void delete(ObjectId id) {
+        submit(WriteOp.delete(id), null);
+    }
+
+    /**
+     * Jumlah dokumen yang perubahannya belum terkirim.
+     */
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size() + replay.size() + inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Error yang membuat batch terakhir dikembalikan ke antrean (misalnya server tidak bisa
+     * dihubungi), atau null jika batch terakhir berhasil terkirim.
+     */
+    public RuntimeException syncFailure() {
+        return syncFailure;
+    }
+
+    private T submit(WriteOp<T> op, T changed) {
+        T result;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Antrean " + name + " sudah ditutup");
+            }
+            // Backpressure: operasi untuk dokumen yang sudah antre tidak menambah isi antrean
+            int waiting = pending.size() + replay.size() + inFlight;
+            if (journal == null && waiting >= capacity && !pending.containsKey(op.getId())) {
+                schedule(0);
+                throw new WriteQueueFullException(name, waiting);
+            }
+            if (journal != null) {
+                journalWrite(() -> journal.append(op));
+            }
+
+            WriteOp<T> merged = merge(pending, op);
+
+            if (pending.size() >= batchSize) {
+                schedule(0);
+            } else if (!pending.isEmpty()) {
+                schedule(flushDelayMs);
+            }
+            result = changed == null ? null : optimistic(merged, changed);
+        } finally {
+            lock.unlock();
+        }
+        if (syncFailure != null) {
+            onSyncChanged.run();
+        }
+        return result;
+    }
+
+    /**
+     * Versi dokumen setelah operasi gabungan tersimpan: insert tetap menyimpan versi awal,
+     * sedangkan update (berapapun yang digabung) menaikkan versi sekali dari versi di server.
+     */
+    private T optimistic(WriteOp<T> merged, T changed) {
+        if (merged.getKind() == WriteOp.Kind.UPDATE) {
+            return withVersion.apply(changed, versionOf.applyAsLong(merged.getBefore()) + 1);
+        }
+        return merged.getEntity();
+    }
+
+    /**
+     * Menjadwalkan flush; jadwal yang lebih cepat menggantikan jadwal yang sudah ada.
+     */
+    private void schedule(long delayMs) {
+        if (scheduled != null && !scheduled.isDone()) {
+            if (delayMs > 0 || scheduled.getDelay(TimeUnit.MILLISECONDS) <= 0) {
+                return;
+            }
+            scheduled.cancel(false);
+        }
+        scheduled = flusher.schedule(this::flush, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Mengirim satu batch. Selalu berjalan di thread write-behind.
+     */
+    private void flush() {
+        List<WriteOp<T>> batch = takeBatch();
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            if (journal != null) {
+                // Operasi yang sudah dikembalikan ke GUI dipastikan ada di disk, tidak hanya di page cache
+                journal.force();
+            }
+            List<T> conflicts = writeWithRetry(batch);
+            if (!conflicts.isEmpty()) {
+                onConflict.accept(conflicts);
+            }
+            finishBatch(null);
+            setSyncFailure(null);
+        } catch (RejectedWritesException e) {
+            // Operasi yang ditolak permanen dibuang agar tidak menahan antrean; sisanya sudah tersimpan
+            List<T> conflicts = e.getConflicts();
+            if (!conflicts.isEmpty()) {
+                onConflict.accept(conflicts);
+            }
+            finishBatch(null);
+            setSyncFailure(null);
+            onRejected.accept(e);
+        } catch (RuntimeException e) {
+            finishBatch(batch);
+            setSyncFailure(e);
+        }
+    }
+
+    /**
+     * Perubahan status hanya dilaporkan (dan dicatat di stderr) saat berpindah antara
+     * tersinkron dan belum, bukan pada setiap percobaan ulang.
+     */
+    private void setSyncFailure(RuntimeException failure) {
+        boolean changed = (syncFailure == null) != (failure == null);
+        syncFailure = failure;
+        if (changed) {
+            System.err.println(failure != null
+                    ? "Antrean " + name + " belum bisa dikirim, dicoba lagi otomatis: " + failure.getMessage()
+                    : "Antrean " + name + " tersinkron kembali");
+            onSyncChanged.run();
+        }
+    }
+
+    private List<WriteOp<T>> takeBatch() {
+        lock.lock();
+        try {
+            // Operasi yang masuk selama batch ini dikirim menjadwalkan flush baru
+            scheduled = null;
+            List<WriteOp<T>> batch;
+            if (!replay.isEmpty()) {
+                // Sudah tercatat di jurnal sebagai batch yang sedang dikirim
+                batch = replay;
+                replay = List.of();
+            } else {
+                batch = take(pending, batchSize);
+                int taken = batch.size();
+                if (journal != null && taken > 0) {
+                    journalWrite(() -> journal.taken(taken));
+                }
+            }
+            inFlight = batch.size();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param failed batch yang gagal dikirim; dikembalikan ke depan antrean dan digabung
+     *               dengan operasi yang masuk selama batch tersebut dikirim
+     */
+    private void finishBatch(List<WriteOp<T>> failed) {
+        lock.lock();
+        try {
+            inFlight = 0;
+            if (failed != null) {
+                pending = requeue(failed, pending);
+            }
+            if (journal != null) {
+                journalWrite(() -> {
+                    journal.finished(failed == null);
+                    journal.checkpoint(pending.values());
+                });
+            }
+            if (!pending.isEmpty() && !closed) {
+                // Setelah gagal, tunggu sebelum mencoba lagi agar server tidak dibanjiri
+                schedule(failed != null ? Math.max(flushDelayMs, RETRY_DELAY_MS * MAX_ATTEMPTS)
+                        : pending.size() >= batchSize ? 0 : flushDelayMs);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Menggabungkan op ke antrean dan mengembalikan hasil gabungannya (null jika saling meniadakan).
+     * Dipakai juga oleh WriteJournal saat memulihkan antrean, sehingga hasilnya selalu sama.
+     */
+    static <T> WriteOp<T> merge(LinkedHashMap<ObjectId, WriteOp<T>> pending, WriteOp<T> op) {
+        WriteOp<T> previous = pending.remove(op.getId());
+        WriteOp<T> merged = previous == null ? op : previous.then(op);
+        if (merged != null) {
+            pending.put(op.getId(), merged);
+        }
+        return merged;
+    }
+
+    /**
+     * Mengambil paling banyak count operasi terdepan dari antrean.
+     */
+    static <T> List<WriteOp<T>> take(LinkedHashMap<ObjectId, WriteOp<T>> pending, int count) {
+        List<WriteOp<T>> batch = new ArrayList<>(Math.min(count, pending.size()));
+        Iterator<WriteOp<T>> it = pending.values().iterator();
+        while (it.hasNext() && batch.size() < count) {
+            batch.add(it.next());
+            it.remove();
+        }
+        return batch;
+    }
+
+    /**
+     * Antrean baru dengan batch yang gagal di depan, digabung dengan operasi yang masuk
+     * selama batch tersebut dikirim.
+     */
+    static <T> LinkedHashMap<ObjectId, WriteOp<T>> requeue(List<WriteOp<T>> failed,
+                                                            LinkedHashMap<ObjectId, WriteOp<T>> pending) {
+        LinkedHashMap<ObjectId, WriteOp<T>> requeued = new LinkedHashMap<>();
+        for (WriteOp<T> op : failed) {
+            requeued.put(op.getId(), op);
+        }
+        for (WriteOp<T> op : pending.values()) {
+            merge(requeued, op);
+        }
+        return requeued;
+    }
+
+    /**
+     * Kegagalan jurnal (I/O atau entity yang tidak bisa di-encode) tidak menggagalkan antrean;
+     * operasi tetap dikirim, hanya tidak bertahan jika aplikasi mati.
+     */
+    private void journalWrite(Runnable write) {
+        try {
+            write.run();
+        } catch (RuntimeException e) {
+            System.err.println("Gagal menulis jurnal " + name + ": " + e.getMessage());
+        }
+    }
+
+    private List<T> writeWithRetry(List<WriteOp<T>> batch) {
+        long delay = RETRY_DELAY_MS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return writer.apply(batch);
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS || !isTransient(e)) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                delay *= 2;
+            }
+        }
+    }
+
+    /**
+     * Gangguan yang layak dicoba ulang segera. StoreUnavailableException tidak termasuk: server
+     * yang tidak bisa dihubungi tidak kembali dalam beberapa detik, jadi batch langsung
+     * dikembalikan ke antrean dan dicoba lagi pada flush berikutnya.
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof MongoSocketException
+                || e instanceof MongoTimeoutException
+                || (e instanceof MongoException mongo && mongo.hasErrorLabel(RETRYABLE_WRITE_ERROR))
+                || e instanceof UncheckedIOException;
+    }
+
+    /**
+     * Mengirim semua operasi yang masih antre lalu menghentikan thread write-behind.
+     * Dipanggil saat aplikasi ditutup; operasi yang tetap gagal dicatat di stderr dan, jika
+     * memakai jurnal, dikirim ulang saat aplikasi dibuka lagi.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            flusher.submit(() -> {
+                while (pendingCount() > 0) {
+                    int before = pendingCount();
+                    flush();
+                    if (pendingCount() >= before) {
+                        break; // Batch gagal dan dikembalikan ke antrean, jangan diulang terus
+                    }
+                }
+            }).get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("Gagal mengirim antrean " + name + ": " + e);
+        } finally {
+            flusher.shutdown();
+        }
+        if (journal != null) {
+            // Operasi yang belum terkirim tetap di jurnal dan dikirim ulang saat aplikasi dibuka lagi
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Gagal menutup jurnal " + name + ": " + e.getMessage());
+            }
+        }
+
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // JVM sedang berhenti, hook sudah berjalan
+            }
+        }
+    }
+}
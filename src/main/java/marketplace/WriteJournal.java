@@ -0,0 +1,285 @@
+package marketplace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+
+/**
+ * Jurnal lokal untuk operasi WriteBehindQueue yang belum dikonfirmasi repository
+ * (file log yang di-memory-map, lihat MappedLog).
+ *
+ * Setiap operasi ditulis ke jurnal sebelum kembali ke GUI, sehingga tetap ada walaupun
+ * aplikasi mati atau server tidak bisa dihubungi. Selain operasi, jurnal mencatat kapan batch
+ * diambil dan apakah batch itu berhasil atau dikembalikan ke antrean; saat dibuka, record
+ * diputar ulang dengan aturan penggabungan yang sama seperti antrean, sehingga hasilnya persis
+ * isi antrean saat aplikasi berhenti (termasuk batch yang mungkin sudah sempat tersimpan).
+ *
+ * Record pertama berisi penanda engine (Repositories.source); operasi hanya diputar ulang ke
+ * engine yang sama. Setelah semua operasi terkirim jurnal dikosongkan, dan selama masih ada yang
+ * antre jurnal dipadatkan menjadi isi antrean saat itu jika record lamanya sudah jauh lebih besar.
+ */
+final class WriteJournal<T> implements Closeable {
+    private static final byte HEADER = 0;
+    private static final byte INSERT = 1;
+    private static final byte UPDATE = 2;
+    private static final byte DELETE = 3;
+    private static final byte TAKEN = 4;
+    private static final byte SUCCEEDED = 5;
+    private static final byte FAILED = 6;
+    private static final long MIN_COMPACTION_BYTES = 1 << 20;
+
+    private final Path path;
+    private final String source;
+    private final Codec<T> codec;
+    private MappedLog log;
+    private final List<WriteOp<T>> recoveredBatch = new ArrayList<>();
+    private LinkedHashMap<ObjectId, WriteOp<T>> recoveredPending = new LinkedHashMap<>();
+    // Jumlah record (selain penanda engine) dan ukuran jurnal sejak dikosongkan/dipadatkan terakhir
+    private int operations;
+    private long compactedSize;
+    private boolean closed = false;
+
+    WriteJournal(Path path, String source, Codec<T> codec) throws IOException {
+        this.path = path;
+        this.source = source;
+        this.codec = codec;
+        this.log = new MappedLog(path);
+
+        List<byte[]> records = new ArrayList<>();
+        log.scan((offset, payload) -> records.add(payload));
+        if (!records.isEmpty() && !isHeader(records.get(0))) {
+            // Jurnal dari engine lain: disisihkan, bukan diputar ulang ke engine ini
+            log.close();
+            Path aside = path.resolveSibling(path.getFileName() + ".orphan");
+            Files.move(path, aside, StandardCopyOption.REPLACE_EXISTING);
+            System.err.println("Jurnal " + path + " berasal dari engine lain, disimpan sebagai " + aside);
+            log = new MappedLog(path);
+            log.scan((offset, payload) -> { });
+            records.clear();
+        }
+        for (int i = 1; i < records.size(); i++) {
+            recover(records.get(i));
+        }
+        if (records.isEmpty()) {
+            log.append(header());
+        }
+        operations = Math.max(records.size() - 1, 0);
+        compactedSize = log.size();
+    }
+
+    private void recover(byte[] payload) {
+        switch (payload[0]) {
+            case TAKEN:
+                recoveredBatch.addAll(WriteBehindQueue.take(recoveredPending, ByteBuffer.wrap(payload, 1, 4).getInt()));
+                break;
+            case SUCCEEDED:
+                recoveredBatch.clear();
+                break;
+            case FAILED:
+                recoveredPending = WriteBehindQueue.requeue(recoveredBatch, recoveredPending);
+                recoveredBatch.clear();
+                break;
+            default:
+                WriteBehindQueue.merge(recoveredPending, decode(payload));
+        }
+    }
+
+    /**
+     * Batch yang sedang dikirim saat aplikasi terakhir berhenti. Mungkin sudah tersimpan
+     * sebagian atau seluruhnya, jadi harus dikirim ulang apa adanya sebelum operasi lain.
+     */
+    List<WriteOp<T>> recoveredBatch() {
+        return recoveredBatch;
+    }
+
+    /**
+     * Operasi yang masih antre (sudah digabung) saat aplikasi terakhir berhenti.
+     */
+    LinkedHashMap<ObjectId, WriteOp<T>> recoveredPending() {
+        return recoveredPending;
+    }
+
+    int recoveredCount() {
+        return recoveredBatch.size() + recoveredPending.size();
+    }
+
+    synchronized void append(WriteOp<T> op) {
+        write(encode(op));
+    }
+
+    /**
+     * count operasi pertama dari antrean diambil sebagai batch.
+     */
+    synchronized void taken(int count) {
+        write(ByteBuffer.allocate(5).put(TAKEN).putInt(count).array());
+    }
+
+    /**
+     * Batch yang diambil terakhir selesai: tersimpan, atau gagal dan dikembalikan ke antrean.
+     */
+    synchronized void finished(boolean succeeded) {
+        write(new byte[] { succeeded ? SUCCEEDED : FAILED });
+    }
+
+    private void write(byte[] record) {
+        if (closed) {
+            return;
+        }
+        try {
+            log.append(record);
+            operations++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Memastikan semua record sudah tertulis ke disk, bukan hanya ke page cache.
+     */
+    synchronized void force() {
+        if (!closed) {
+            log.force();
+        }
+    }
+
+    /**
+     * Dipanggil setelah batch selesai (tidak ada yang sedang dikirim) dengan isi antrean saat itu.
+     */
+    synchronized void checkpoint(Collection<WriteOp<T>> pending) {
+        if (closed) {
+            return;
+        }
+        try {
+            if (pending.isEmpty()) {
+                if (operations > 0) {
+                    log.clear();
+                    log.append(header());
+                    operations = 0;
+                    compactedSize = log.size();
+                }
+            } else if (log.size() - compactedSize > Math.max(compactedSize, MIN_COMPACTION_BYTES)) {
+                compact(pending);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Menulis ulang hanya operasi yang masih antre ke file baru, lalu mengganti file lama.
+     */
+    private void compact(Collection<WriteOp<T>> pending) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".compact");
+        Files.deleteIfExists(temp);
+        try (MappedLog target = new MappedLog(temp)) {
+            target.append(header());
+            for (WriteOp<T> op : pending) {
+                target.append(encode(op));
+            }
+        }
+
+        log.close();
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // File lama masih utuh; dibuka lagi supaya jurnal tetap bisa ditulis
+            log = new MappedLog(path);
+            log.scan((offset, payload) -> { });
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        log = new MappedLog(path);
+        log.scan((offset, payload) -> { });
+        operations = pending.size();
+        compactedSize = log.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            log.close();
+        }
+    }
+
+    private byte[] header() {
+        byte[] name = source.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(1 + name.length).put(HEADER).put(name).array();
+    }
+
+    private boolean isHeader(byte[] payload) {
+        return payload[0] == HEADER
+                && source.equals(new String(payload, 1, payload.length - 1, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * [jenis][id 12 byte], lalu untuk update [panjang before][before BSON][entity BSON],
+     * untuk insert [entity BSON].
+     */
+    private byte[] encode(WriteOp<T> op) {
+        byte[] before = op.getKind() == WriteOp.Kind.UPDATE ? toBson(op.getBefore()) : new byte[0];
+        byte[] entity = op.getKind() == WriteOp.Kind.DELETE ? new byte[0] : toBson(op.getEntity());
+        ByteBuffer record = ByteBuffer.allocate(1 + 12 + (before.length > 0 ? 4 : 0) + before.length + entity.length);
+        record.put(switch (op.getKind()) {
+            case INSERT -> INSERT;
+            case UPDATE -> UPDATE;
+            case DELETE -> DELETE;
+        });
+        op.getId().putToByteBuffer(record);
+        if (before.length > 0) {
+            record.putInt(before.length).put(before);
+        }
+        record.put(entity);
+        return record.array();
+    }
+
+    private WriteOp<T> decode(byte[] payload) {
+        ByteBuffer record = ByteBuffer.wrap(payload);
+        byte type = record.get();
+        byte[] id = new byte[12];
+        record.get(id);
+        ObjectId objectId = new ObjectId(id);
+        switch (type) {
+            case INSERT:
+                return WriteOp.insert(objectId, fromBson(record));
+            case UPDATE:
+                int length = record.getInt();
+                T before = fromBson(record.slice(record.position(), length));
+                record.position(record.position() + length);
+                return WriteOp.update(objectId, before, fromBson(record));
+            default:
+                return WriteOp.delete(objectId);
+        }
+    }
+
+    private byte[] toBson(T entity) {
+        BasicOutputBuffer output = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(output)) {
+            codec.encode(writer, entity, EncoderContext.builder().build());
+        }
+        return output.toByteArray();
+    }
+
+    private T fromBson(ByteBuffer document) {
+        try (BsonBinaryReader reader = new BsonBinaryReader(document.slice())) {
+            return codec.decode(reader, DecoderContext.builder().build());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package marketplace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.bson.types.ObjectId;
+
+/**
+ * Satu operasi tulis untuk satu dokumen, hasil penggabungan di WriteBehindQueue.
+ * Bentuk yang sama dipakai untuk perubahan dari klien lain (lihat ChangeFeed).
+ * - INSERT: entity berisi dokumen lengkap yang akan disimpan.
+ * - UPDATE: before adalah isi yang terakhir diketahui ada di server (versinya dipakai
+ *   sebagai syarat), entity adalah isi baru; hanya field yang berbeda yang dikirim.
+ * - DELETE: hanya id yang dipakai.
+ */
+public final class WriteOp<T> {
+    public enum Kind { INSERT, UPDATE, DELETE }
+
+    private final Kind kind;
+    private final ObjectId id;
+    private final T before;
+    private final T entity;
+
+    private WriteOp(Kind kind, ObjectId id, T before, T entity) {
+        this.kind = kind;
+        this.id = id;
+        this.before = before;
+        this.entity = entity;
+    }
+
+    public static <T> WriteOp<T> insert(ObjectId id, T entity) {
+        return new WriteOp<>(Kind.INSERT, id, null, entity);
+    }
+
+    public static <T> WriteOp<T> update(ObjectId id, T before, T after) {
+        return new WriteOp<>(Kind.UPDATE, id, before, after);
+    }
+
+    public static <T> WriteOp<T> delete(ObjectId id) {
+        return new WriteOp<>(Kind.DELETE, id, null, null);
+    }
+
+    public Kind getKind() { return kind; }
+    public ObjectId getId() { return id; }
+    public T getBefore() { return before; }
+    public T getEntity() { return entity; }
+
+    /**
+     * Menggabungkan operasi ini dengan operasi berikutnya pada dokumen yang sama.
+     * Mengembalikan null jika keduanya saling meniadakan (insert lalu delete).
+     */
+    public WriteOp<T> then(WriteOp<T> next) {
+        switch (kind) {
+            case INSERT:
+                if (next.kind == Kind.DELETE) {
+                    return null;
+                }
+                // Update atas dokumen yang belum tersimpan cukup mengganti isi insert-nya
+                return insert(id, next.entity);
+            case UPDATE:
+                if (next.kind == Kind.UPDATE) {
+                    // Syarat versi tetap dari update pertama, isi dari update terakhir
+                    return update(id, before, next.entity);
+                }
+                return next;
+            default:
+                // Dokumen yang sudah dihapus tidak diubah lagi oleh GUI; operasi berikutnya menang
+                return next;
+        }
+    }
+
+    /**
+     * Menjalankan operasi satu per satu. Dipakai engine yang tidak punya operasi batch.
+     * Mengembalikan versi terbaru dari dokumen yang update-nya ditolak karena konflik.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<T> applyEach(List<WriteOp<T>> ops, Consumer<T> insert, BiConsumer<T, T> update,
+                                 Consumer<ObjectId> delete) {
+        List<T> conflicts = new ArrayList<>();
+        for (WriteOp<T> op : ops) {
+            switch (op.kind) {
+                case INSERT:
+                    insert.accept(op.entity);
+                    break;
+                case UPDATE:
+                    try {
+                        update.accept(op.before, op.entity);
+                    } catch (ConcurrentUpdateException e) {
+                        conflicts.add((T) e.getCurrent());
+                    }
+                    break;
+                case DELETE:
+                    delete.accept(op.id);
+                    break;
+            }
+        }
+        return conflicts;
+    }
+}
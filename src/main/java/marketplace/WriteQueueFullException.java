@@ -0,0 +1,11 @@
+package marketplace;
+
+/**
+ * Dilempar WriteBehindQueue tanpa jurnal saat antrean sudah berisi capacity dokumen yang belum
+ * terkirim. Operasinya tidak diterima; pemanggil (GUI) tidak ditahan menunggu antrean kosong.
+ */
+public class WriteQueueFullException extends RuntimeException {
+    public WriteQueueFullException(String queue, int waiting) {
+        super("Antrean " + queue + " penuh (" + waiting + " perubahan menunggu sinkronisasi), perubahan tidak disimpan");
+    }
+}